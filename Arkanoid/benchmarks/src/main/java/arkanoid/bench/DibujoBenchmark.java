@@ -0,0 +1,72 @@
+package arkanoid.bench;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import arkanoid.Instantanea;
+import arkanoid.Motor;
+import arkanoid.Renderizador;
+
+// Dibujo de un frame completo en una BufferedImage, sin ventana
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class DibujoBenchmark {
+    @Param({"1", "10"})
+    public int nivel;
+    
+    @Param({"1", "500"})
+    public int pelotas;
+    
+    @Param({"java2d", "raster"})
+    public String render;
+    
+    private Renderizador escena;
+    private Instantanea estado;
+    private BufferedImage imagen;
+    private Graphics2D g;
+    
+    @Setup
+    public void preparar() {
+        Motor motor = new Motor(1, pelotas);
+        motor.cargarNivel(nivel);
+        motor.iniciar();
+        // Unos ticks para que las pelotas se separen del punto de saque
+        for (int i = 0; i < 30; i++) {
+            motor.update();
+        }
+        estado = new Instantanea();
+        estado.capturar(motor, 0);
+        escena = Renderizador.crear(render, null);
+        imagen = new BufferedImage(Motor.WIDTH, Motor.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        g = imagen.createGraphics();
+    }
+    
+    @TearDown
+    public void cerrar() {
+        g.dispose();
+    }
+    
+    @Benchmark
+    public BufferedImage draw() {
+        escena.draw(g, estado);
+        return imagen;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package arkanoid.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Punto de entrada de benchmarks.jar: acepta las opciones normales de JMH
+// y agrega siempre el perfilador de GC (tasa de asignación) y la salida en JSON.
+//   java -jar target/benchmarks.jar [filtro] [opciones JMH]
+public class EjecutarBenchmarks {
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options opciones = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result("target/jmh-result.json")
+            .build();
+        new Runner(opciones).run();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package arkanoid.bench;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import arkanoid.EntornoLote;
+
+// Un paso de EntornoLote para todas las partidas, observaciones incluidas, sin protocolo.
+// Las acciones son fijas: lo que se mide es el costo del entorno, no el de un bot.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EntornoBenchmark {
+    @Param({"256", "1024"})
+    public int partidas;
+
+    private EntornoLote entorno;
+    private ByteBuffer acciones;
+
+    @Setup
+    public void preparar() {
+        entorno = new EntornoLote(partidas, 60 * 60, false);
+        entorno.reiniciar(1);
+        acciones = ByteBuffer.allocateDirect(partidas);
+        for (int g = 0; g < partidas; g++) {
+            acciones.put(g, (byte) (g % 3));
+        }
+    }
+
+    @Benchmark
+    public ByteBuffer paso() {
+        return entorno.paso(acciones);
+    }
+}
\ No newline at end of file
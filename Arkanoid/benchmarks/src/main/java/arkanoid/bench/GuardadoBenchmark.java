@@ -0,0 +1,68 @@
+package arkanoid.bench;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import arkanoid.Guardado;
+import arkanoid.Motor;
+import arkanoid.Rebobinado;
+
+// Escribir y leer el estado completo de un nivel, y el costo por tick del rebobinado
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GuardadoBenchmark {
+    @Param({"1", "10"})
+    public int nivel;
+    
+    private Motor motor;
+    private ByteBuffer buffer;
+    private Rebobinado rebobinado;
+    
+    @Setup(Level.Trial)
+    public void preparar() {
+        motor = new Motor(1);
+        motor.cargarNivel(nivel);
+        motor.iniciar();
+        buffer = ByteBuffer.allocate(Guardado.tamano(motor));
+        Guardado.escribir(motor, buffer);
+        rebobinado = new Rebobinado(600);
+    }
+    
+    @Benchmark
+    public ByteBuffer escribir() {
+        buffer.clear();
+        Guardado.escribir(motor, buffer);
+        return buffer;
+    }
+    
+    @Benchmark
+    public Motor leer() throws IOException {
+        buffer.rewind();
+        Guardado.leer(buffer, motor);
+        return motor;
+    }
+    
+    @Benchmark
+    public Rebobinado guardarTick() {
+        rebobinado.guardar(motor);
+        return rebobinado;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package arkanoid.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import arkanoid.Entrada;
+import arkanoid.Motor;
+import arkanoid.MotorLote;
+
+// Los primeros TICKS de muchas partidas a la vez: MotorLote (escalar y con la Vector API)
+// contra un Motor por partida, con el mismo jugador y las mismas semillas.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class LoteBenchmark {
+    private static final int TICKS = 2000;
+    
+    @Param({"1024"})
+    public int juegos;
+    
+    @Param({"false", "true"})
+    public boolean vectorial;
+    
+    @Benchmark
+    public MotorLote lote() {
+        long[] semillas = new long[juegos];
+        for (int g = 0; g < juegos; g++) {
+            semillas[g] = g;
+        }
+        MotorLote lote = new MotorLote(semillas, vectorial);
+        int[] entradas = new int[juegos];
+        for (int tick = 0; tick < TICKS; tick++) {
+            for (int g = 0; g < juegos; g++) {
+                entradas[g] = MotorLote.seguir(lote.getPaletaX(g), lote.getPelotaX(g), g, tick);
+            }
+            if (tick == 0) {
+                for (int g = 0; g < juegos; g++) {
+                    entradas[g] |= Entrada.INICIAR;
+                }
+            }
+            lote.paso(entradas);
+        }
+        return lote;
+    }
+    
+    // Referencia; no depende de "vectorial"
+    @Benchmark
+    public Motor[] motores() {
+        Motor[] motores = new Motor[juegos];
+        for (int g = 0; g < juegos; g++) {
+            motores[g] = new Motor(g);
+        }
+        for (int tick = 0; tick < TICKS; tick++) {
+            for (int g = 0; g < juegos; g++) {
+                Motor motor = motores[g];
+                int entrada = MotorLote.seguir(motor.getPaleta().getX(), motor.getPelota().getX(), g, tick);
+                motor.paso(tick == 0 ? entrada | Entrada.INICIAR : entrada);
+            }
+        }
+        return motores;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package arkanoid.bench;
+
+import java.awt.Color;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import arkanoid.Motor;
+
+// Tick completo del Motor con muchas pelotas a la vez contra un campo denso de bloques.
+// Las pelotas que caen se reponen para que la cantidad no baje durante la medición.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MultibolaBenchmark {
+    private static final int RESISTENCIA_INFINITA = 1_000_000;
+    
+    @Param({"1", "100", "500"})
+    public int pelotas;
+    
+    private Motor motor;
+    
+    @Setup(Level.Trial)
+    public void preparar() {
+        motor = new Motor(1, pelotas);
+        motor.limpiarBloques();
+        for (int fila = 0; fila < 15; fila++) {
+            for (int col = 0; col < 40; col++) {
+                motor.agregarBloque(col * 20, 40 + fila * 12, 18, 10, Color.RED, 0, RESISTENCIA_INFINITA);
+            }
+        }
+        motor.iniciar();
+    }
+    
+    @Benchmark
+    public Motor tick() {
+        motor.update();
+        while (motor.getPelotas().size() < pelotas) {
+            motor.agregarPelota();
+        }
+        return motor;
+    }
+}
\ No newline at end of file
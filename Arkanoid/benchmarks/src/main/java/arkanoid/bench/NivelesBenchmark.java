@@ -0,0 +1,42 @@
+package arkanoid.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import arkanoid.Motor;
+
+// Armado de cada uno de los diez niveles generados (cargarNivel)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NivelesBenchmark {
+    @Param({"1", "2", "3", "4", "5", "6", "7", "8", "9", "10"})
+    public int nivel;
+    
+    private Motor motor;
+    
+    @Setup
+    public void preparar() {
+        motor = new Motor();
+    }
+    
+    @Benchmark
+    public int crearNivel() {
+        motor.cargarNivel(nivel);
+        return motor.getBloques().size();
+    }
+}
\ No newline at end of file
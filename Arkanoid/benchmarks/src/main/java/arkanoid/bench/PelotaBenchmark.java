@@ -0,0 +1,72 @@
+package arkanoid.bench;
+
+import java.awt.Color;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import arkanoid.Golpes;
+import arkanoid.Motor;
+import arkanoid.Pelota;
+
+// Costo de un tick de Pelota.update contra campos de bloques densos y dispersos.
+// Los bloques tienen resistencia enorme para que el campo no cambie durante la medición.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PelotaBenchmark {
+    private static final int RESISTENCIA_INFINITA = 1_000_000;
+    
+    @Param({"densa", "dispersa"})
+    public String distribucion;
+    
+    private Motor motor;
+    private final Golpes golpes = new Golpes();
+    
+    @Setup(Level.Trial)
+    public void preparar() {
+        motor = new Motor();
+        motor.limpiarBloques();
+        
+        if (distribucion.equals("densa")) {
+            // Campo completo de bloques chicos: 40 x 25 celdas de 20x12
+            for (int fila = 0; fila < 25; fila++) {
+                for (int col = 0; col < 40; col++) {
+                    motor.agregarBloque(col * 20, 40 + fila * 12, 18, 10, Color.RED, 0, RESISTENCIA_INFINITA);
+                }
+            }
+        } else {
+            // Pocos bloques desparramados
+            for (int i = 0; i < 12; i++) {
+                motor.agregarBloque(35 + (i % 6) * 125, 60 + (i / 6) * 120, 70, 25, Color.GREEN, 0, RESISTENCIA_INFINITA);
+            }
+        }
+        motor.iniciar();
+    }
+    
+    // La pelota que se cae vuelve a sacarse acá: Motor ya no lo hace cuando se terminan las
+    // vidas, y sin esto casi toda la medición sería la salida temprana de una pelota caída
+    @Benchmark
+    public Pelota update() {
+        Pelota pelota = motor.getPelota();
+        if (pelota.update(motor.getPaleta(), motor.getBloques(), motor.getGrilla(), golpes, 0)) {
+            pelota.reset();
+        }
+        golpes.aplicar(motor);
+        return pelota;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package arkanoid;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// OperacionesLote con la Vector API (módulo incubado jdk.incubator.vector). Está en un
+// directorio aparte porque solo compila y corre con --add-modules jdk.incubator.vector;
+// MotorLote la carga por reflexión y si no está usa OperacionesEscalares.
+// Las cuentas son las mismas operaciones IEEE, una por lano, así que el resultado es idéntico.
+// MotorLote redondea los arreglos a 16; si el vector es más ancho el resto va por la versión escalar.
+// Con la API incubada de JDK 17 sale más lenta que OperacionesEscalares (cuyos bucles el JIT ya
+// vectoriza solo), así que no es la opción por defecto: se usa solo si se pide con --vectorial.
+class OperacionesVectoriales implements OperacionesLote {
+    private final OperacionesEscalares resto = new OperacionesEscalares();
+    private static final VectorSpecies<Double> DOBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> ENTEROS = IntVector.SPECIES_PREFERRED;
+    private static final double R = MotorLote.RADIO;
+
+    public void marcarLibres(MotorLote m, boolean[] libre) {
+        double paletaArriba = MotorLote.PALETA_Y;
+        double paletaAbajo = MotorLote.PALETA_Y + MotorLote.PALETA_ALTO;
+        int g;
+        for (g = 0; g < DOBLES.loopBound(m.capacidadJuegos); g += DOBLES.length()) {
+            VectorMask<Double> mover = VectorMask.fromArray(DOBLES, m.mover, g);
+            DoubleVector cx = DoubleVector.fromArray(DOBLES, m.pelotaX, g).add(R);
+            DoubleVector cy = DoubleVector.fromArray(DOBLES, m.pelotaY, g).add(R);
+            DoubleVector rapidez = DoubleVector.fromArray(DOBLES, m.pelotaRapidez, g);
+            DoubleVector nx = cx.add(DoubleVector.fromArray(DOBLES, m.pelotaVelX, g).mul(rapidez));
+            DoubleVector ny = cy.add(DoubleVector.fromArray(DOBLES, m.pelotaVelY, g).mul(rapidez));
+            DoubleVector minX = cx.min(nx).sub(MotorLote.MARGEN);
+            DoubleVector maxX = cx.max(nx).add(MotorLote.MARGEN);
+            DoubleVector minY = cy.min(ny).sub(MotorLote.MARGEN);
+            DoubleVector maxY = cy.max(ny).add(MotorLote.MARGEN);
+
+            // Distancia con signo a cada pared y a la paleta (negativa o cero si la toca), para
+            // juntar todo con min/max y comparar una sola vez
+            DoubleVector pared = minX.min(minY)
+                .min(maxX.neg().add(Motor.WIDTH))
+                .min(maxY.neg().add(Motor.HEIGHT));
+            DoubleVector paletaX = DoubleVector.fromArray(DOBLES, m.paletaX, g);
+            DoubleVector paleta = minX.sub(paletaX.add(MotorLote.PALETA_ANCHO))
+                .max(paletaX.sub(maxX))
+                .max(minY.sub(paletaAbajo))
+                .max(maxY.neg().add(paletaArriba));
+            pared.min(paleta).compare(VectorOperators.GT, 0).and(mover).intoArray(libre, g);
+        }
+        resto.marcarLibres(m, libre, g);
+    }
+
+    public int candidatos(MotorLote m, int base, int minX, int minY, int maxX, int maxY, int[] salida) {
+        int n = 0;
+        int i;
+        for (i = 0; i < ENTEROS.loopBound(m.bloquesPorJuego); i += ENTEROS.length()) {
+            int k = base + i;
+            // Un solo compare por vector: cada resta es negativa si falla una condición, así que
+            // el OR tiene el bit de signo en cero solo si el bloque está vivo y toca la caja
+            IntVector fuera = IntVector.fromArray(ENTEROS, m.vivo, k).sub(1)
+                .or(IntVector.broadcast(ENTEROS, maxX).sub(IntVector.fromArray(ENTEROS, m.bloqueX, k)))
+                .or(IntVector.fromArray(ENTEROS, m.bloqueXMax, k).sub(minX))
+                .or(IntVector.broadcast(ENTEROS, maxY).sub(IntVector.fromArray(ENTEROS, m.bloqueY, k)))
+                .or(IntVector.fromArray(ENTEROS, m.bloqueYMax, k).sub(minY));
+            VectorMask<Integer> toca = fuera.compare(VectorOperators.GE, 0);
+            if (!toca.anyTrue()) {
+                continue; // Lo más común: ningún bloque de este vector cerca de la pelota
+            }
+            long bits = toca.toLong();
+            // Los bits en orden dan los ids en orden, igual que la versión escalar
+            while (bits != 0) {
+                salida[n++] = i + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return resto.candidatos(m, base, minX, minY, maxX, maxY, salida, i, n);
+    }
+
+    public void avanzarLibres(MotorLote m, boolean[] libre) {
+        int g;
+        for (g = 0; g < DOBLES.loopBound(m.capacidadJuegos); g += DOBLES.length()) {
+            VectorMask<Double> mascara = VectorMask.fromArray(DOBLES, libre, g);
+            if (!mascara.anyTrue()) {
+                continue;
+            }
+            DoubleVector rapidez = DoubleVector.fromArray(DOBLES, m.pelotaRapidez, g);
+            DoubleVector x = DoubleVector.fromArray(DOBLES, m.pelotaX, g);
+            DoubleVector y = DoubleVector.fromArray(DOBLES, m.pelotaY, g);
+            x.add(DoubleVector.fromArray(DOBLES, m.pelotaVelX, g).mul(rapidez)).intoArray(m.pelotaX, g, mascara);
+            y.add(DoubleVector.fromArray(DOBLES, m.pelotaVelY, g).mul(rapidez)).intoArray(m.pelotaY, g, mascara);
+        }
+        resto.avanzarLibres(m, libre, g);
+    }
+
+    public void moverPaletas(MotorLote m, boolean[] actualizar) {
+        int g;
+        for (g = 0; g < DOBLES.loopBound(m.capacidadJuegos); g += DOBLES.length()) {
+            VectorMask<Double> mascara = VectorMask.fromArray(DOBLES, actualizar, g);
+            DoubleVector x = DoubleVector.fromArray(DOBLES, m.paletaX, g);
+            x.add(DoubleVector.fromArray(DOBLES, m.paletaVel, g))
+                .max(0).min(MotorLote.PALETA_X_MAXIMA)
+                .intoArray(m.paletaX, g, mascara);
+        }
+        resto.moverPaletas(m, actualizar, g);
+    }
+}
\ No newline at end of file
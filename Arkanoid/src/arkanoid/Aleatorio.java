@@ -0,0 +1,38 @@
+package arkanoid;
+
+import java.util.Random;
+
+// Mismos números que java.util.Random con la misma semilla, pero con el estado a la vista
+// para poder guardarlo y restaurarlo (ver Guardado). El juego solo usa nextDouble().
+class Aleatorio extends Random {
+    private static final long serialVersionUID = 1L;
+    private static final long MULTIPLICADOR = 0x5DEECE66DL;
+    private static final long SUMANDO = 0xBL;
+    private static final long MASCARA = (1L << 48) - 1;
+    
+    // Sin inicializador: Random(long) llama a setSeed antes de que corran los de esta clase
+    private long estado;
+    
+    Aleatorio(long semilla) {
+        super(semilla);
+    }
+    
+    @Override
+    public void setSeed(long semilla) {
+        estado = (semilla ^ MULTIPLICADOR) & MASCARA;
+    }
+    
+    @Override
+    protected int next(int bits) {
+        estado = (estado * MULTIPLICADOR + SUMANDO) & MASCARA;
+        return (int) (estado >>> (48 - bits));
+    }
+    
+    long getEstado() {
+        return estado;
+    }
+    
+    void setEstado(long estado) {
+        this.estado = estado & MASCARA;
+    }
+}
\ No newline at end of file
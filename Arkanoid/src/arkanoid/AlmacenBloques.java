@@ -0,0 +1,227 @@
+package arkanoid;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+// Bloques guardados como arreglos paralelos de primitivos.
+// Cada bloque se identifica por su índice (id), que no cambia mientras viva el nivel;
+// eliminar solo apaga su bit en "vivos" (tombstone), sin mover nada.
+public class AlmacenBloques {
+    private static final int CAPACIDAD_INICIAL = 128;
+    
+    public int[] x, y;
+    public int[] width, height;
+    public int[] tipo;
+    public int[] resistencia;
+    public int[] resistenciaMaxima;
+    public int[] colorOriginal;
+    public int[] grupoColor;
+    
+    private final TablaColores tablaColores = new TablaColores();
+    
+    private long[] vivos;
+    private int cantidad;   // ids asignados (vivos o no)
+    private int cantidadVivos;
+    
+    // Cambia cada vez que se altera la distribución (limpiar, agregar, setResistencia);
+    // los golpes y eliminaciones no la cambian
+    private int version;
+    // Suma de todos los desplazar(). Bajar el campo entero no cambia la versión: con la
+    // misma versión, cada y es la de entonces más lo que cambió desde entonces este valor
+    private int desplazamiento;
+    
+    public AlmacenBloques() {
+        this(CAPACIDAD_INICIAL);
+    }
+    
+    public AlmacenBloques(int capacidad) {
+        x = new int[capacidad];
+        y = new int[capacidad];
+        width = new int[capacidad];
+        height = new int[capacidad];
+        tipo = new int[capacidad];
+        resistencia = new int[capacidad];
+        resistenciaMaxima = new int[capacidad];
+        colorOriginal = new int[capacidad];
+        grupoColor = new int[capacidad];
+        vivos = new long[(capacidad + 63) >>> 6];
+    }
+    
+    public void limpiar() {
+        Arrays.fill(vivos, 0L);
+        tablaColores.limpiar();
+        cantidad = 0;
+        cantidadVivos = 0;
+        version++;
+    }
+    
+    // Copia el estado de otro almacén. Si la distribución no cambió desde la última
+    // copia, solo se copian resistencias y vivos.
+    public void copiarDe(AlmacenBloques otro) {
+        int n = otro.cantidad;
+        if (n > x.length) {
+            crecer(Math.max(n, x.length * 2));
+        }
+        if (version != otro.version) {
+            System.arraycopy(otro.x, 0, x, 0, n);
+            System.arraycopy(otro.y, 0, y, 0, n);
+            System.arraycopy(otro.width, 0, width, 0, n);
+            System.arraycopy(otro.height, 0, height, 0, n);
+            System.arraycopy(otro.tipo, 0, tipo, 0, n);
+            System.arraycopy(otro.resistenciaMaxima, 0, resistenciaMaxima, 0, n);
+            System.arraycopy(otro.colorOriginal, 0, colorOriginal, 0, n);
+            System.arraycopy(otro.grupoColor, 0, grupoColor, 0, n);
+            tablaColores.copiarDe(otro.tablaColores);
+            version = otro.version;
+        } else if (desplazamiento != otro.desplazamiento) {
+            System.arraycopy(otro.y, 0, y, 0, n);
+        }
+        desplazamiento = otro.desplazamiento;
+        System.arraycopy(otro.resistencia, 0, resistencia, 0, n);
+        System.arraycopy(otro.vivos, 0, vivos, 0, (n + 63) >>> 6);
+        cantidad = n;
+        cantidadVivos = otro.cantidadVivos;
+    }
+    
+    public int agregar(int x, int y, int width, int height, Color color, int tipo) {
+        if (cantidad == this.x.length) {
+            crecer(cantidad * 2);
+        }
+        
+        int id = cantidad++;
+        this.x[id] = x;
+        this.y[id] = y;
+        this.width[id] = width;
+        this.height[id] = height;
+        this.tipo[id] = tipo;
+        this.colorOriginal[id] = color.getRGB() & 0xFFFFFF;
+        this.resistencia[id] = Bloque.resistenciaInicial(tipo);
+        this.resistenciaMaxima[id] = this.resistencia[id];
+        this.grupoColor[id] = tablaColores.registrar(colorOriginal[id], resistenciaMaxima[id]);
+        
+        vivos[id >>> 6] |= 1L << id;
+        cantidadVivos++;
+        version++;
+        return id;
+    }
+    
+    // Reutiliza un id ya asignado (vivo o no) para un bloque nuevo; el modo infinito recicla
+    // así los ids en vez de pedir siempre uno más
+    public void reemplazar(int id, int x, int y, int width, int height, Color color, int tipo, int resistencia) {
+        this.x[id] = x;
+        this.y[id] = y;
+        this.width[id] = width;
+        this.height[id] = height;
+        this.tipo[id] = tipo;
+        this.colorOriginal[id] = color.getRGB() & 0xFFFFFF;
+        this.resistencia[id] = resistencia;
+        this.resistenciaMaxima[id] = resistencia;
+        this.grupoColor[id] = tablaColores.registrar(colorOriginal[id], resistencia);
+        if (!estaVivo(id)) {
+            vivos[id >>> 6] |= 1L << id;
+            cantidadVivos++;
+        }
+        version++;
+    }
+    
+    // Mueve en vertical todos los ids asignados
+    public void desplazar(int dy) {
+        for (int id = 0; id < cantidad; id++) {
+            y[id] += dy;
+        }
+        desplazamiento += dy;
+    }
+    
+    public void setResistencia(int id, int resistencia) {
+        this.resistencia[id] = resistencia;
+        this.resistenciaMaxima[id] = resistencia;
+        this.grupoColor[id] = tablaColores.registrar(colorOriginal[id], resistencia);
+        version++;
+    }
+    
+    // Mismo comportamiento que Bloque.golpear: true si el bloque se rompió
+    public boolean golpear(int id) {
+        resistencia[id]--;
+        return resistencia[id] <= 0;
+    }
+    
+    public int getPuntos(int id) {
+        return Bloque.puntos(tipo[id], resistenciaMaxima[id]);
+    }
+    
+    // Color según la resistencia restante, tomado de la tabla del nivel
+    public Color color(int id) {
+        // La resistencia puede venir de afuera (EstadoRed): fuera del rango leería otro grupo
+        int restante = Math.max(Math.min(resistencia[id], resistenciaMaxima[id]), 0);
+        return tablaColores.get(grupoColor[id], restante, resistenciaMaxima[id]);
+    }
+    
+    public void eliminar(int id) {
+        long mascara = 1L << id;
+        if ((vivos[id >>> 6] & mascara) != 0) {
+            vivos[id >>> 6] &= ~mascara;
+            cantidadVivos--;
+        }
+    }
+    
+    public boolean estaVivo(int id) {
+        return (vivos[id >>> 6] & (1L << id)) != 0;
+    }
+    
+    // Primer id vivo >= desde, o -1 si no hay más
+    public int siguienteVivo(int desde) {
+        return siguiente(vivos, desde);
+    }
+    
+    private int siguiente(long[] bitset, int desde) {
+        if (desde >= cantidad) {
+            return -1;
+        }
+        int palabra = desde >>> 6;
+        long bits = bitset[palabra] & (-1L << desde);
+        while (true) {
+            if (bits != 0) {
+                int id = (palabra << 6) + Long.numberOfTrailingZeros(bits);
+                return id < cantidad ? id : -1;
+            }
+            if (++palabra >= bitset.length) {
+                return -1;
+            }
+            bits = bitset[palabra];
+        }
+    }
+    
+    public boolean isEmpty() {
+        return cantidadVivos == 0;
+    }
+    
+    public int size() {
+        return cantidadVivos;
+    }
+    
+    // Cantidad de ids asignados; sirve de tope para recorrer los arreglos
+    public int capacidadUsada() {
+        return cantidad;
+    }
+    
+    public int getVersion() {
+        return version;
+    }
+    
+    public int getDesplazamiento() {
+        return desplazamiento;
+    }
+    
+    private void crecer(int capacidad) {
+        x = Arrays.copyOf(x, capacidad);
+        y = Arrays.copyOf(y, capacidad);
+        width = Arrays.copyOf(width, capacidad);
+        height = Arrays.copyOf(height, capacidad);
+        tipo = Arrays.copyOf(tipo, capacidad);
+        resistencia = Arrays.copyOf(resistencia, capacidad);
+        resistenciaMaxima = Arrays.copyOf(resistenciaMaxima, capacidad);
+        colorOriginal = Arrays.copyOf(colorOriginal, capacidad);
+        grupoColor = Arrays.copyOf(grupoColor, capacidad);
+        vivos = Arrays.copyOf(vivos, (capacidad + 63) >>> 6);
+    }
+}
\ No newline at end of file
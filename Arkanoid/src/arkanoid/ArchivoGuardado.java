@@ -0,0 +1,68 @@
+package arkanoid;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+// Guardado rápido: un estado de Guardado en un archivo mapeado en memoria que queda abierto
+// toda la partida. Guardar y cargar son copias de memoria; el sistema operativo lo baja a
+// disco por su cuenta y close() lo fuerza.
+public class ArchivoGuardado implements Closeable {
+    private static final int TAMANO_INICIAL = 64 * 1024;
+    
+    private final FileChannel canal;
+    private MappedByteBuffer mapa;
+    
+    public ArchivoGuardado(String archivo) throws IOException {
+        Path ruta = Paths.get(archivo);
+        canal = FileChannel.open(ruta, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        mapear((int) Math.max(canal.size(), TAMANO_INICIAL));
+    }
+    
+    private void mapear(int tamano) throws IOException {
+        mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamano);
+    }
+    
+    public void guardar(Motor motor) throws IOException {
+        int tamano = Guardado.tamano(motor);
+        if (tamano > mapa.capacity()) {
+            mapear(Math.max(tamano, mapa.capacity() * 2));
+        }
+        // La marca va al final: si algo corta la escritura el archivo queda como vacío
+        mapa.putInt(0, 0);
+        mapa.position(0);
+        Guardado.escribir(motor, mapa);
+        mapa.putInt(0, Guardado.MAGIA);
+    }
+    
+    // false si el archivo todavía no tiene nada guardado
+    public boolean cargar(Motor motor) throws IOException {
+        if (!hayGuardado()) {
+            return false;
+        }
+        mapa.position(0);
+        Guardado.leer(mapa, motor);
+        return true;
+    }
+    
+    public boolean hayGuardado() {
+        return mapa.getInt(0) == Guardado.MAGIA;
+    }
+    
+    // Una partida nueva desde el archivo, sin dejarlo abierto
+    public static Motor leer(String archivo, FuenteNiveles niveles) throws IOException {
+        try (FileChannel canal = FileChannel.open(Paths.get(archivo), StandardOpenOption.READ)) {
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            return Guardado.leer(mapa, niveles);
+        }
+    }
+    
+    public void close() throws IOException {
+        mapa.force();
+        canal.close();
+    }
+}
\ No newline at end of file
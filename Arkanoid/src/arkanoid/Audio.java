@@ -0,0 +1,151 @@
+package arkanoid;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+import javax.sound.sampled.LineUnavailableException;
+
+// Sonido del juego. La simulación llama a procesar() después de cada paso: convierte los
+// eventos nuevos del Motor en pedidos a la ColaSonidos y vuelve enseguida; el Mezclador
+// hace el resto en su propio hilo.
+//   -Darkanoid.audio=linea (por defecto), nula, wav:<archivo> o no
+public class Audio implements Closeable {
+    private static final int CAPACIDAD_COLA = 1024;
+    // La línea guarda unos pocos bloques; más es latencia, menos son cortes
+    private static final int FRAMES_LINEA = Mezclador.FRAMES_POR_BLOQUE * 4;
+    
+    private final ColaSonidos cola = new ColaSonidos(CAPACIDAD_COLA);
+    private final Mezclador mezclador;
+    private long eventosLeidos;
+    private long descartados;
+    
+    public Audio(SalidaAudio salida, boolean tiempoReal) {
+        mezclador = new Mezclador(new BancoSonidos(), cola, salida, tiempoReal);
+        mezclador.iniciar();
+    }
+    
+    // null si la configuración es "no" o si no hay placa de sonido
+    public static Audio crear(String configuracion) throws IOException {
+        if (configuracion.equals("no")) {
+            return null;
+        }
+        if (configuracion.equals("nula")) {
+            return new Audio(new SalidaNula(), true);
+        }
+        if (configuracion.startsWith("wav:")) {
+            return new Audio(new SalidaWav(configuracion.substring(4)), true);
+        }
+        if (!configuracion.equals("linea")) {
+            throw new IllegalArgumentException("Salida de audio desconocida: " + configuracion);
+        }
+        try {
+            return new Audio(new SalidaLinea(FRAMES_LINEA), true);
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            System.err.println("Sin audio: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    // Solo el hilo de simulación
+    public void procesar(RegistroEventos eventos) {
+        if (eventos.getTotal() < eventosLeidos) {
+            eventosLeidos = 0;
+        }
+        long ahora = System.nanoTime();
+        for (long n = Math.max(eventosLeidos, eventos.primero()); n < eventos.getTotal(); n++) {
+            int i = RegistroEventos.indice(n);
+            int efecto = efecto(eventos.tipo[i]);
+            int centro = eventos.x[i] + eventos.width[i] / 2;
+            int pan = Math.min(Math.max(centro * 255 / Motor.WIDTH, 0), 255);
+            if (!cola.publicar(efecto | pan << 8, ahora)) {
+                descartados++;
+            }
+        }
+        eventosLeidos = eventos.getTotal();
+    }
+    
+    private static int efecto(int tipoEvento) {
+        switch (tipoEvento) {
+            case RegistroEventos.ROTURA: return BancoSonidos.ROTURA;
+            case RegistroEventos.REBOTE_PARED: return BancoSonidos.PARED;
+            case RegistroEventos.REBOTE_PALETA: return BancoSonidos.PALETA;
+            default: return BancoSonidos.GOLPE;
+        }
+    }
+    
+    public Mezclador getMezclador() {
+        return mezclador;
+    }
+    
+    public long getDescartados() {
+        return descartados;
+    }
+    
+    public void close() throws IOException {
+        mezclador.detener();
+    }
+    
+    // Prueba sin juego: un hilo publica efectos al azar a un ritmo fijo y al final se
+    // resume la latencia y cuánto más rápido que el tiempo real mezcla.
+    // Opciones: --segundos <n>, --eventos <por segundo>, --salida nula|wav:<archivo>|linea,
+    // --tiempo-real (si no, la salida nula o wav se llena tan rápido como se pueda)
+    public static void main(String[] args) throws IOException, LineUnavailableException {
+        double segundos = 10;
+        int eventosPorSegundo = 200;
+        String configuracion = "nula";
+        boolean tiempoReal = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--segundos": segundos = Double.parseDouble(args[++i]); break;
+                case "--eventos": eventosPorSegundo = Integer.parseInt(args[++i]); break;
+                case "--salida": configuracion = args[++i]; break;
+                case "--tiempo-real": tiempoReal = true; break;
+                default:
+            }
+        }
+        
+        SalidaAudio salida;
+        if (configuracion.equals("linea")) {
+            salida = new SalidaLinea(FRAMES_LINEA);
+        } else if (configuracion.startsWith("wav:")) {
+            salida = new SalidaWav(configuracion.substring(4));
+        } else {
+            salida = new SalidaNula();
+        }
+        Audio audio = new Audio(salida, tiempoReal);
+        
+        SplittableRandom azar = new SplittableRandom(1);
+        long periodo = 1_000_000_000L / eventosPorSegundo;
+        long inicio = System.nanoTime();
+        long fin = inicio + (long) (segundos * 1e9);
+        long siguiente = inicio;
+        long publicados = 0;
+        while (siguiente < fin) {
+            long falta = siguiente - System.nanoTime();
+            if (falta > 0) {
+                LockSupport.parkNanos(falta);
+            }
+            int codigo = azar.nextInt(BancoSonidos.CANTIDAD) | azar.nextInt(256) << 8;
+            if (audio.cola.publicar(codigo, System.nanoTime())) {
+                publicados++;
+            } else {
+                audio.descartados++;
+            }
+            siguiente += periodo;
+        }
+        double real = (System.nanoTime() - inicio) / 1e9;
+        audio.close();
+        
+        Mezclador m = audio.mezclador;
+        Histograma latencia = m.getLatencia();
+        double audioSegundos = m.getFramesEscritos() / (double) FormatoAudio.FRECUENCIA;
+        System.out.printf(Locale.ROOT, "%d eventos (%d descartados), %d voces pisadas%n",
+            publicados, audio.descartados, m.getVocesPisadas());
+        System.out.printf(Locale.ROOT, "%.1fs de audio en %.1fs; mezcla %.0fx más rápida que el tiempo real%n",
+            audioSegundos, real, audioSegundos / (m.getNanosMezclando() / 1e9));
+        System.out.printf(Locale.ROOT, "latencia p50 %.2f ms, p99 %.2f ms, máxima %.2f ms%n",
+            latencia.percentil(0.50) / 1e6, latencia.percentil(0.99) / 1e6, latencia.getMaximo() / 1e6);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package arkanoid;
+
+// Muestras PCM de cada efecto, generadas una sola vez al arrancar (el juego no trae
+// archivos de audio). Mono, en float de -1 a 1, a la frecuencia de FormatoAudio.
+public final class BancoSonidos {
+    public static final int PALETA = 0;
+    public static final int PARED = 1;
+    public static final int GOLPE = 2;
+    public static final int ROTURA = 3;
+    public static final int CANTIDAD = 4;
+    
+    private final float[][] muestras = new float[CANTIDAD][];
+    
+    public BancoSonidos() {
+        muestras[PALETA] = tono(220, 0.07, 0.5, true);
+        muestras[PARED] = tono(440, 0.035, 0.3, true);
+        muestras[GOLPE] = tono(880, 0.05, 0.35, false);
+        muestras[ROTURA] = rotura(0.14, 0.45);
+    }
+    
+    public float[] get(int efecto) {
+        return muestras[efecto];
+    }
+    
+    // Onda cuadrada suavizada o triangular, con envolvente exponencial que cae a cero
+    private static float[] tono(double frecuencia, double segundos, double volumen, boolean cuadrada) {
+        int n = (int) (segundos * FormatoAudio.FRECUENCIA);
+        float[] salida = new float[n];
+        for (int i = 0; i < n; i++) {
+            double fase = (i * frecuencia / FormatoAudio.FRECUENCIA) % 1.0;
+            double onda = cuadrada
+                ? Math.tanh(6 * Math.sin(2 * Math.PI * fase)) // cuadrada sin bordes duros
+                : 1 - 4 * Math.abs(fase - 0.5);
+            salida[i] = (float) (onda * volumen * envolvente(i, n));
+        }
+        return salida;
+    }
+    
+    // Ruido que baja de tono más un barrido descendente
+    private static float[] rotura(double segundos, double volumen) {
+        int n = (int) (segundos * FormatoAudio.FRECUENCIA);
+        float[] salida = new float[n];
+        int semilla = 12345;
+        double ruido = 0;
+        double fase = 0;
+        for (int i = 0; i < n; i++) {
+            semilla = semilla * 1103515245 + 12345;
+            double blanco = ((semilla >>> 16) & 0x7FFF) / 16384.0 - 1;
+            double progreso = i / (double) n;
+            ruido += (blanco - ruido) * (0.6 - 0.5 * progreso); // pasabajos que se cierra
+            fase += (900 - 600 * progreso) / FormatoAudio.FRECUENCIA;
+            double barrido = Math.sin(2 * Math.PI * fase);
+            salida[i] = (float) ((0.7 * ruido + 0.3 * barrido) * volumen * envolvente(i, n));
+        }
+        return salida;
+    }
+    
+    // Ataque de 2 ms para que no haga clic, después caída exponencial
+    private static double envolvente(int i, int n) {
+        int ataque = FormatoAudio.FRECUENCIA / 500;
+        double subida = Math.min(1.0, i / (double) ataque);
+        return subida * Math.exp(-5.0 * i / n) * (1 - i / (double) n);
+    }
+}
\ No newline at end of file
@@ -1,86 +1,32 @@
 package arkanoid;
 
 import java.awt.Color;
-import java.awt.Font;
 import java.awt.Graphics;
 
-public class Bloque {
-    public int x, y;
-    public int width, height;
-    public Color color;
-    private int tipo;
-    private int resistencia;
-    private int resistenciaMaxima;
-    private Color colorOriginal;
+// Reglas y dibujo de un bloque. Los datos de cada bloque viven en AlmacenBloques.
+public final class Bloque {
     
-    public Bloque(int x, int y, int width, int height, Color color, int tipo) {
-        this.x = x;
-        this.y = y;
-        this.width = width;
-        this.height = height;
-        this.color = color;
-        this.colorOriginal = color;
-        this.tipo = tipo;
-        
-        switch (tipo) {
-            case 1: 
-                resistencia = 3;
-                resistenciaMaxima = 3;
-                break;
-            case 2: 
-                resistencia = 1;
-                resistenciaMaxima = 1;
-                break;
-            default: 
-                resistencia = 2;
-                resistenciaMaxima = 2;
-        }
-    }
-    
-    public void setResistencia(int resistencia) {
-        this.resistencia = resistencia;
-        this.resistenciaMaxima = resistencia;
-        actualizarColor();
-    }
-    
-    private void actualizarColor() {
-        if (resistenciaMaxima > 1) {
-            float factor = (float) resistencia / resistenciaMaxima;
-            int r = (int) (colorOriginal.getRed() * factor + 50 * (1 - factor));
-            int g = (int) (colorOriginal.getGreen() * factor + 50 * (1 - factor));
-            int b = (int) (colorOriginal.getBlue() * factor + 50 * (1 - factor));
-            this.color = new Color(
-                Math.min(r, 255),
-                Math.min(g, 255),
-                Math.min(b, 255)
-            );
-        }
+    private Bloque() {
     }
     
-    public void draw(Graphics g) {
-        g.setColor(color);
-        g.fillRect(x, y, width, height);
-        
-        g.setColor(Color.BLACK);
-        g.drawRect(x, y, width, height);
-        
-        // Mostrar número de resistencia si es mayor a 1
-        if (resistenciaMaxima > 1) {
-            g.setColor(resistencia > 1 ? Color.BLACK : Color.BLACK);
-            g.setFont(new Font("Arial", Font.BOLD, 14));
-            String resistenciaStr = String.valueOf(resistencia);
-            int strWidth = g.getFontMetrics().stringWidth(resistenciaStr);
-            g.drawString(resistenciaStr, x + width/2 - strWidth/2, y + height/2 + 5);
+    public static int resistenciaInicial(int tipo) {
+        switch (tipo) {
+            case 1: return 3;
+            case 2: return 1;
+            default: return 2;
         }
     }
     
-    public boolean golpear() {
-        resistencia--;
-        actualizarColor();
-        return resistencia <= 0;
+    // Mezcla el color original con gris oscuro según la resistencia que queda
+    public static int colorDanado(int rgbOriginal, int resistencia, int resistenciaMaxima) {
+        float factor = (float) resistencia / resistenciaMaxima;
+        int r = (int) (((rgbOriginal >> 16) & 0xFF) * factor + 50 * (1 - factor));
+        int g = (int) (((rgbOriginal >> 8) & 0xFF) * factor + 50 * (1 - factor));
+        int b = (int) ((rgbOriginal & 0xFF) * factor + 50 * (1 - factor));
+        return (Math.min(r, 255) << 16) | (Math.min(g, 255) << 8) | Math.min(b, 255);
     }
     
-    public int getPuntos() {
+    public static int puntos(int tipo, int resistenciaMaxima) {
         int puntosBase;
         switch (tipo) {
             case 1: puntosBase = 30; break;
@@ -90,7 +36,21 @@ public class Bloque {
         return puntosBase * resistenciaMaxima; // Más puntos por bloques resistentes
     }
     
-    public int getResistencia() {
-        return resistencia;
+    public static void draw(Graphics g, AlmacenBloques bloques, int id) {
+        int x = bloques.x[id];
+        int y = bloques.y[id];
+        int width = bloques.width[id];
+        int height = bloques.height[id];
+        
+        g.setColor(bloques.color(id));
+        g.fillRect(x, y, width, height);
+        
+        g.setColor(Color.BLACK);
+        g.drawRect(x, y, width, height);
+        
+        // Mostrar número de resistencia si es mayor a 1
+        if (bloques.resistenciaMaxima[id] > 1) {
+            Glifos.dibujarNumero(g, bloques.resistencia[id], x + width/2, y + height/2 + 5);
+        }
     }
 }
\ No newline at end of file
@@ -4,41 +4,59 @@ import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 
 public class Botones extends KeyAdapter {
-    private Paleta paleta;
+    private Entrada entrada;
+    private Metricas metricas;
     private boolean left = false;
     private boolean right = false;
-    private Game game;
     
-    public Botones(Game game, Paleta paleta) {
-        this.game = game;
-        this.paleta = paleta;
+    // Corre en el hilo de AWT: no toca el Motor, solo deja la entrada para el próximo tick
+    public Botones(Entrada entrada, Metricas metricas) {
+        this.entrada = entrada;
+        this.metricas = metricas;
     }
 
     public void keyPressed(KeyEvent e) {
         int key = e.getKeyCode();
 
-        if (!game.isgameStarted && key == KeyEvent.VK_SPACE) {
-            game.isgameStarted = true; 
+        if (key == KeyEvent.VK_F3) {
+            metricas.alternarOverlay();
         }
         
-        if (game.isgameStarted) {
-            if (key == KeyEvent.VK_LEFT || key == KeyEvent.VK_A) {
-                paleta.switchDirections(-1);
-                left = true;
-            }
-            if (key == KeyEvent.VK_RIGHT || key == KeyEvent.VK_D) {
-                paleta.switchDirections(1);
-                right = true;
-            }
-            if (key == KeyEvent.VK_ESCAPE) {
-                System.exit(0);
-            }
+        // El Motor ignora el pedido de inicio si la partida ya está en juego
+        if (key == KeyEvent.VK_SPACE) {
+            entrada.pedirInicio(); 
+        }
+        
+        // R rebobina mientras está apretada; F5 guarda y F9 carga el guardado rápido
+        if (key == KeyEvent.VK_R) {
+            entrada.setRebobinar(true);
+        }
+        if (key == KeyEvent.VK_F5) {
+            entrada.pedirGuardado();
+        }
+        if (key == KeyEvent.VK_F9) {
+            entrada.pedirCarga();
+        }
+        
+        if (key == KeyEvent.VK_LEFT || key == KeyEvent.VK_A) {
+            entrada.setDireccion(-1);
+            left = true;
+        }
+        if (key == KeyEvent.VK_RIGHT || key == KeyEvent.VK_D) {
+            entrada.setDireccion(1);
+            right = true;
+        }
+        if (key == KeyEvent.VK_ESCAPE) {
+            System.exit(0);
         }
     }
     
     public void keyReleased(KeyEvent e) {
         int key = e.getKeyCode();
 
+        if (key == KeyEvent.VK_R) {
+            entrada.setRebobinar(false);
+        }
         if (key == KeyEvent.VK_LEFT || key == KeyEvent.VK_A) {
             left = false;
         }
@@ -47,7 +65,7 @@ public class Botones extends KeyAdapter {
         }
 
         if (!left && !right) {
-            paleta.stop();
+            entrada.setDireccion(0);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,177 @@
+package arkanoid;
+
+import java.awt.Color;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Modo infinito: el campo de bloques baja sin parar y se arma por franjas de
+// FILAS_POR_FRANJA filas, generadas a partir de la semilla y el número de franja. Hay
+// siempre FRANJAS a la vez y cada una es dueña de un rango fijo de ids del AlmacenBloques:
+// la que pasa la altura de la paleta se recicla arriba, fuera de la pantalla, con la
+// franja siguiente. Solo existen (y se indexan y dibujan) los bloques de la pantalla y la
+// franja que está por entrar, así que la memoria y el costo por tick no crecen con la
+// distancia recorrida.
+class CampoInfinito {
+    private static final int COLUMNAS = 10;
+    private static final int FILAS_POR_FRANJA = 4;
+    private static final int BLOQUES_POR_FRANJA = COLUMNAS * FILAS_POR_FRANJA;
+    private static final int BLOQUE_ANCHO = 70;
+    private static final int BLOQUE_ALTO = 25;
+    private static final int ESPACIO = 5;
+    private static final int ALTO_FILA = BLOQUE_ALTO + ESPACIO;
+    private static final int ALTO_FRANJA = ALTO_FILA * FILAS_POR_FRANJA;
+    // Los bloques que bajan hasta acá desaparecen: no se meten en la zona de la paleta
+    private static final int LIMITE = Motor.HEIGHT - 120;
+    // Franjas que entran desde arriba del todo hasta el límite, más la que espera afuera
+    static final int FRANJAS = (LIMITE + ALTO_FRANJA - 1) / ALTO_FRANJA + 2;
+    // Al empezar el campo llega hasta acá
+    private static final int FONDO_INICIAL = 290;
+    private static final int FRANJAS_POR_NIVEL = 8;
+    private static final Color[] COLORES = {Color.RED, Color.ORANGE, Color.YELLOW, Color.GREEN, Color.CYAN, Color.MAGENTA};
+    
+    static final int TAMANO_GUARDADO = 8 + 4 + 8 + FRANJAS * (8 + 4);
+    
+    private final long semilla;
+    private final long[] numero = new long[FRANJAS]; // -1: libre
+    private final int[] arriba = new int[FRANJAS];   // y del borde superior de la franja
+    private long siguiente;  // número de la próxima franja a generar
+    private int ticksParaBajar;
+    private long generados;  // bloques generados desde el inicio, solo informativo
+    
+    CampoInfinito(long semilla) {
+        this.semilla = semilla;
+    }
+    
+    // Campo inicial. Los ids de todas las franjas se reservan una vez y después se reciclan.
+    void reiniciar(Motor motor) {
+        motor.limpiarBloques();
+        for (int id = 0; id < FRANJAS * BLOQUES_POR_FRANJA; id++) {
+            motor.agregarBloque(0, 0, BLOQUE_ANCHO, BLOQUE_ALTO, COLORES[0], 0, 1);
+            motor.eliminarBloque(id);
+        }
+        Arrays.fill(numero, -1);
+        siguiente = 0;
+        generados = 0;
+        ticksParaBajar = ticksPorPixel(1);
+        for (int y = FONDO_INICIAL - ALTO_FRANJA; y + ALTO_FRANJA > 0; y -= ALTO_FRANJA) {
+            generar(motor, libre(), y);
+        }
+        generar(motor, libre(), menorArriba() - ALTO_FRANJA);
+        motor.setNivelActual(1);
+    }
+    
+    // Una vez por tick, antes de mover las pelotas
+    void avanzar(Motor motor) {
+        if (--ticksParaBajar > 0) {
+            return;
+        }
+        int nivel = motor.getNivelActual();
+        ticksParaBajar = ticksPorPixel(nivel);
+        motor.bajarBloques(1);
+        
+        AlmacenBloques bloques = motor.getBloques();
+        for (int f = 0; f < FRANJAS; f++) {
+            if (numero[f] < 0) {
+                continue;
+            }
+            arriba[f]++;
+            // Una fila entera cruza el límite a la vez
+            int base = f * BLOQUES_POR_FRANJA;
+            for (int i = 0; i < BLOQUES_POR_FRANJA; i++) {
+                int id = base + i;
+                if (bloques.estaVivo(id) && bloques.y[id] + BLOQUE_ALTO > LIMITE) {
+                    motor.eliminarBloque(id);
+                }
+            }
+            if (arriba[f] >= LIMITE) {
+                numero[f] = -1;
+            }
+        }
+        // La de arriba terminó de entrar: se prepara la siguiente afuera de la pantalla
+        if (menorArriba() >= 0) {
+            generar(motor, libre(), menorArriba() - ALTO_FRANJA);
+            motor.setNivelActual(1 + (int) (siguiente / FRANJAS_POR_NIVEL));
+        }
+    }
+    
+    // Cada franja sale siempre igual para la misma semilla, sin importar cuándo se genere
+    private void generar(Motor motor, int f, int y) {
+        long n = siguiente++;
+        numero[f] = n;
+        arriba[f] = y;
+        int nivel = 1 + (int) (n / FRANJAS_POR_NIVEL);
+        SplittableRandom azar = new SplittableRandom(semilla * 0x9E3779B97F4A7C15L + n);
+        int base = f * BLOQUES_POR_FRANJA;
+        for (int fila = 0; fila < FILAS_POR_FRANJA; fila++) {
+            Color color = COLORES[(int) Math.floorMod(n * FILAS_POR_FRANJA + fila, (long) COLORES.length)];
+            for (int col = 0; col < COLUMNAS; col++) {
+                int id = base + fila * COLUMNAS + col;
+                if (azar.nextInt(100) >= 55) {
+                    if (motor.getBloques().estaVivo(id)) {
+                        motor.eliminarBloque(id);
+                    }
+                    continue;
+                }
+                int tipo = azar.nextInt(10) == 0 ? 2 : azar.nextInt(6) == 0 ? 1 : 0;
+                int resistencia = Math.min(1 + azar.nextInt(1 + Math.min(nivel, 4)), 5);
+                motor.reemplazarBloque(id, col * (BLOQUE_ANCHO + ESPACIO) + ESPACIO, y + fila * ALTO_FILA + ESPACIO,
+                                       BLOQUE_ANCHO, BLOQUE_ALTO, color, tipo, resistencia);
+                generados++;
+            }
+        }
+    }
+    
+    private int libre() {
+        for (int f = 0; f < FRANJAS; f++) {
+            if (numero[f] < 0) {
+                return f;
+            }
+        }
+        throw new IllegalStateException("No quedan franjas libres");
+    }
+    
+    private int menorArriba() {
+        int menor = Integer.MAX_VALUE;
+        for (int f = 0; f < FRANJAS; f++) {
+            if (numero[f] >= 0) {
+                menor = Math.min(menor, arriba[f]);
+            }
+        }
+        return menor;
+    }
+    
+    // Baja un píxel cada tantos ticks: más rápido en los niveles altos
+    private static int ticksPorPixel(int nivel) {
+        return Math.max(1, 5 - nivel / 3);
+    }
+    
+    long getGenerados() {
+        return generados;
+    }
+    
+    long getFranjasGeneradas() {
+        return siguiente;
+    }
+    
+    // Para Guardado; los bloques van aparte con el resto del AlmacenBloques
+    void escribir(ByteBuffer destino) {
+        destino.putLong(siguiente);
+        destino.putInt(ticksParaBajar);
+        destino.putLong(generados);
+        for (int f = 0; f < FRANJAS; f++) {
+            destino.putLong(numero[f]);
+            destino.putInt(arriba[f]);
+        }
+    }
+    
+    void leer(ByteBuffer origen) {
+        siguiente = origen.getLong();
+        ticksParaBajar = origen.getInt();
+        generados = origen.getLong();
+        for (int f = 0; f < FRANJAS; f++) {
+            numero[f] = origen.getLong();
+            arriba[f] = origen.getInt();
+        }
+    }
+}
\ No newline at end of file
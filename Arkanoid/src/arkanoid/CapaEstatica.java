@@ -0,0 +1,164 @@
+package arkanoid;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+// Fondo y campo de bloques pre-renderizados. La capa recuerda qué dibujó (vivos y
+// resistencia de cada bloque) y solo repinta las zonas de los bloques que cambiaron.
+// Si el campo entero bajó (modo infinito) corre lo dibujado y repinta la franja de arriba.
+public class CapaEstatica {
+    // El contorno de los bloques se dibuja con el mismo trazo de 3px que el borde
+    private static final int MARGEN_TRAZO = 2;
+    
+    private final GraphicsConfiguration gc;
+    private VolatileImage volatil;
+    private BufferedImage respaldo;
+    private boolean redibujarTodo = true;
+    
+    // Estado de los bloques tal como está dibujado en la capa
+    private int versionDibujada = -1;
+    private int desplazamientoDibujado;
+    private int cantidadDibujada;
+    private int[] resistenciaDibujada = new int[0];
+    private long[] vivosDibujados = new long[0];
+    
+    // gc puede ser null (dibujo fuera de pantalla): se usa una BufferedImage común
+    public CapaEstatica(GraphicsConfiguration gc) {
+        this.gc = gc;
+    }
+    
+    public void dibujar(Graphics destino, AlmacenBloques bloques) {
+        if (gc == null) {
+            if (respaldo == null) {
+                respaldo = new BufferedImage(Motor.WIDTH, Motor.HEIGHT, BufferedImage.TYPE_INT_RGB);
+                redibujarTodo = true;
+            }
+            actualizar(respaldo, bloques);
+            destino.drawImage(respaldo, 0, 0, null);
+            return;
+        }
+        
+        do {
+            if (volatil == null) {
+                volatil = gc.createCompatibleVolatileImage(Motor.WIDTH, Motor.HEIGHT, Transparency.OPAQUE);
+                redibujarTodo = true;
+            }
+            
+            int estado = volatil.validate(gc);
+            if (estado == VolatileImage.IMAGE_INCOMPATIBLE) {
+                volatil.flush();
+                volatil = null;
+                continue;
+            }
+            if (estado == VolatileImage.IMAGE_RESTORED) {
+                redibujarTodo = true;
+            }
+            
+            actualizar(volatil, bloques);
+            destino.drawImage(volatil, 0, 0, null);
+        } while (volatil == null || volatil.contentsLost());
+    }
+    
+    // Fuerza a repintar la capa completa en el próximo dibujo
+    public void invalidar() {
+        redibujarTodo = true;
+    }
+    
+    private void actualizar(Image capa, AlmacenBloques bloques) {
+        Graphics2D g = null;
+        int dy = bloques.getDesplazamiento() - desplazamientoDibujado;
+        if (redibujarTodo || bloques.getVersion() != versionDibujada || dy < 0 || dy >= Motor.HEIGHT) {
+            g = abrir(capa);
+            dibujarFondo(g);
+            for (int id = bloques.siguienteVivo(0); id >= 0; id = bloques.siguienteVivo(id + 1)) {
+                Bloque.draw(g, bloques, id);
+            }
+            redibujarTodo = false;
+        } else {
+            if (dy != 0) {
+                g = abrir(capa);
+                desplazar(g, bloques, dy);
+            }
+            for (int id = 0; id < cantidadDibujada; id++) {
+                boolean vivo = bloques.estaVivo(id);
+                boolean estabaVivo = (vivosDibujados[id >>> 6] & (1L << id)) != 0;
+                if (vivo != estabaVivo || (vivo && bloques.resistencia[id] != resistenciaDibujada[id])) {
+                    if (g == null) {
+                        g = abrir(capa);
+                    }
+                    repintarZona(g, bloques, id);
+                }
+            }
+        }
+        if (g != null) {
+            g.dispose();
+            recordar(bloques);
+        }
+    }
+    
+    private Graphics2D abrir(Image capa) {
+        Graphics2D g = (Graphics2D) capa.getGraphics();
+        g.setStroke(Recursos.TRAZO_BORDE);
+        return g;
+    }
+    
+    private void recordar(AlmacenBloques bloques) {
+        int n = bloques.capacidadUsada();
+        if (resistenciaDibujada.length < n) {
+            resistenciaDibujada = new int[Math.max(n, resistenciaDibujada.length * 2)];
+            vivosDibujados = new long[(resistenciaDibujada.length + 63) >>> 6];
+        }
+        System.arraycopy(bloques.resistencia, 0, resistenciaDibujada, 0, n);
+        for (int palabra = 0; palabra < (n + 63) >>> 6; palabra++) {
+            vivosDibujados[palabra] = 0;
+        }
+        for (int id = bloques.siguienteVivo(0); id >= 0; id = bloques.siguienteVivo(id + 1)) {
+            vivosDibujados[id >>> 6] |= 1L << id;
+        }
+        cantidadDibujada = n;
+        versionDibujada = bloques.getVersion();
+        desplazamientoDibujado = bloques.getDesplazamiento();
+    }
+    
+    // Baja lo dibujado dy píxeles; quedan por repintar la franja que se destapa arriba
+    // (con el borde de arriba, que también bajó) y el borde de abajo
+    private void desplazar(Graphics2D g, AlmacenBloques bloques, int dy) {
+        g.copyArea(0, 0, Motor.WIDTH, Motor.HEIGHT - dy, 0, dy);
+        repintar(g, bloques, 0, 0, Motor.WIDTH, dy + MARGEN_TRAZO);
+        repintar(g, bloques, 0, Motor.HEIGHT - MARGEN_TRAZO, Motor.WIDTH, MARGEN_TRAZO);
+    }
+    
+    // Zona del bloque, incluido lo que sobresale el contorno
+    private void repintarZona(Graphics2D g, AlmacenBloques bloques, int sucio) {
+        repintar(g, bloques, bloques.x[sucio] - MARGEN_TRAZO, bloques.y[sucio] - MARGEN_TRAZO,
+                 bloques.width[sucio] + 2 * MARGEN_TRAZO + 1, bloques.height[sucio] + 2 * MARGEN_TRAZO + 1);
+    }
+    
+    // Borra la zona y vuelve a dibujar el borde y los bloques vivos que la tocan
+    private void repintar(Graphics2D g, AlmacenBloques bloques, int zx, int zy, int zw, int zh) {
+        g.setClip(zx, zy, zw, zh);
+        dibujarFondo(g);
+        
+        for (int id = bloques.siguienteVivo(0); id >= 0; id = bloques.siguienteVivo(id + 1)) {
+            if (bloques.x[id] - MARGEN_TRAZO < zx + zw && bloques.x[id] + bloques.width[id] + MARGEN_TRAZO + 1 > zx
+                    && bloques.y[id] - MARGEN_TRAZO < zy + zh && bloques.y[id] + bloques.height[id] + MARGEN_TRAZO + 1 > zy) {
+                Bloque.draw(g, bloques, id);
+            }
+        }
+        g.setClip(null);
+    }
+    
+    private void dibujarFondo(Graphics2D g) {
+        g.setColor(Recursos.COLOR_FONDO);
+        g.fillRect(0, 0, Motor.WIDTH, Motor.HEIGHT);
+        
+        g.setColor(Color.WHITE);
+        g.drawRect(0, 0, Motor.WIDTH - 1, Motor.HEIGHT - 1);
+    }
+}
\ No newline at end of file
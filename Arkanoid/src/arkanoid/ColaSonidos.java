@@ -0,0 +1,65 @@
+package arkanoid;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Cola sin locks de un productor (la simulación) y un consumidor (el mezclador), con
+// capacidad fija. Si está llena el sonido se descarta: nunca se hace esperar a un tick.
+public class ColaSonidos {
+    private final int mascara;
+    private final int[] codigos;
+    private final long[] instantes; // System.nanoTime() al publicar, para medir la latencia
+    
+    // Cada lado escribe solo su contador; lazySet alcanza para publicar los datos del slot
+    private final AtomicLong escritos = new AtomicLong();
+    private final AtomicLong leidos = new AtomicLong();
+    private long leidosCache;  // del productor
+    private long escritosCache; // del consumidor
+    
+    // Último elemento sacado (consumidor)
+    private int codigo;
+    private long instante;
+    
+    public ColaSonidos(int capacidad) {
+        if (Integer.bitCount(capacidad) != 1) {
+            throw new IllegalArgumentException("La capacidad debe ser potencia de dos: " + capacidad);
+        }
+        mascara = capacidad - 1;
+        codigos = new int[capacidad];
+        instantes = new long[capacidad];
+    }
+    
+    // Solo el productor; false si no había lugar
+    public boolean publicar(int codigo, long instante) {
+        long n = escritos.get();
+        if (n - leidosCache > mascara) {
+            leidosCache = leidos.get();
+            if (n - leidosCache > mascara) {
+                return false;
+            }
+        }
+        int i = (int) (n & mascara);
+        codigos[i] = codigo;
+        instantes[i] = instante;
+        escritos.lazySet(n + 1);
+        return true;
+    }
+    
+    // Solo el consumidor: si hay algo, true y el código queda en getCodigo()/getInstante()
+    public boolean sacar() {
+        long n = leidos.get();
+        if (n >= escritosCache) {
+            escritosCache = escritos.get();
+            if (n >= escritosCache) {
+                return false;
+            }
+        }
+        int i = (int) (n & mascara);
+        codigo = codigos[i];
+        instante = instantes[i];
+        leidos.lazySet(n + 1);
+        return true;
+    }
+    
+    public int getCodigo() { return codigo; }
+    public long getInstante() { return instante; }
+}
\ No newline at end of file
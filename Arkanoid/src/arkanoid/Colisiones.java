@@ -0,0 +1,133 @@
+package arkanoid;
+
+// Colisión continua de un círculo que se desplaza contra una caja alineada a los ejes.
+// Equivale a lanzar el centro como un rayo contra la caja agrandada en el radio con las
+// esquinas redondeadas: primero contra las caras (método de las franjas) y, si la entrada
+// cae en la zona de una esquina, contra el círculo de esa esquina.
+public final class Colisiones {
+    public static final double SIN_CONTACTO = Double.POSITIVE_INFINITY;
+    // Tolerancia relativa para considerar que el círculo ya está apoyado sobre la caja
+    private static final double TOLERANCIA = 1e-9;
+
+    private Colisiones() {
+    }
+
+    // Devuelve la fracción t en [0, 1] del desplazamiento (dx, dy) en la que el círculo de
+    // centro (cx, cy) y radio r toca la caja, o SIN_CONTACTO. La normal de salida de la
+    // superficie tocada queda en normal[0], normal[1]. Solo cuentan los contactos en los
+    // que el círculo se acerca: si ya se está alejando de la caja no hay choque.
+    public static double circuloCaja(double cx, double cy, double dx, double dy, double r,
+                                     double minX, double minY, double maxX, double maxY, double[] normal) {
+        double tEntrada = Double.NEGATIVE_INFINITY;
+        double tSalida = Double.POSITIVE_INFINITY;
+        double nx = 0;
+        double ny = 0;
+
+        if (dx != 0) {
+            double t1 = (minX - r - cx) / dx;
+            double t2 = (maxX + r - cx) / dx;
+            tEntrada = Math.min(t1, t2);
+            tSalida = Math.max(t1, t2);
+            nx = dx > 0 ? -1 : 1;
+        } else if (cx < minX - r || cx > maxX + r) {
+            return SIN_CONTACTO;
+        }
+
+        if (dy != 0) {
+            double t1 = (minY - r - cy) / dy;
+            double t2 = (maxY + r - cy) / dy;
+            double entrada = Math.min(t1, t2);
+            if (entrada > tEntrada) {
+                tEntrada = entrada;
+                nx = 0;
+                ny = dy > 0 ? -1 : 1;
+            }
+            tSalida = Math.min(tSalida, Math.max(t1, t2));
+        } else if (cy < minY - r || cy > maxY + r) {
+            return SIN_CONTACTO;
+        }
+
+        if (tEntrada > tSalida || tSalida < 0 || tEntrada > 1) {
+            return SIN_CONTACTO;
+        }
+
+        if (tEntrada < 0) {
+            // Arranca dentro de la caja agrandada: apoyado, superpuesto o en el hueco de una esquina
+            double kx = Math.max(minX, Math.min(maxX, cx));
+            double ky = Math.max(minY, Math.min(maxY, cy));
+            double mx = cx - kx;
+            double my = cy - ky;
+            double distancia2 = mx * mx + my * my;
+            if (mx != 0 && my != 0 && distancia2 > r * r * (1 + TOLERANCIA)) {
+                return esquina(cx, cy, dx, dy, r, kx, ky, normal);
+            }
+            return superpuesto(cx, cy, dx, dy, mx, my, distancia2, minX, minY, maxX, maxY, normal);
+        }
+
+        double qx = cx + tEntrada * dx;
+        double qy = cy + tEntrada * dy;
+        boolean fueraX = qx < minX || qx > maxX;
+        boolean fueraY = qy < minY || qy > maxY;
+        if (fueraX && fueraY) {
+            return esquina(cx, cy, dx, dy, r, qx < minX ? minX : maxX, qy < minY ? minY : maxY, normal);
+        }
+        normal[0] = nx;
+        normal[1] = ny;
+        return tEntrada;
+    }
+
+    // Rayo contra el círculo de radio r centrado en la esquina (kx, ky)
+    private static double esquina(double cx, double cy, double dx, double dy, double r,
+                                  double kx, double ky, double[] normal) {
+        double mx = cx - kx;
+        double my = cy - ky;
+        double a = dx * dx + dy * dy;
+        double b = mx * dx + my * dy;
+        double c = mx * mx + my * my - r * r;
+        if (b >= 0) {
+            return SIN_CONTACTO; // Se aleja de la esquina
+        }
+        double discriminante = b * b - a * c;
+        if (discriminante < 0) {
+            return SIN_CONTACTO;
+        }
+        double t = Math.max(0, (-b - Math.sqrt(discriminante)) / a);
+        if (t > 1) {
+            return SIN_CONTACTO;
+        }
+        double px = mx + t * dx;
+        double py = my + t * dy;
+        double largo = Math.sqrt(px * px + py * py);
+        normal[0] = px / largo;
+        normal[1] = py / largo;
+        return t;
+    }
+
+    // El círculo ya toca la caja al empezar: choca en t = 0 si se mueve hacia ella
+    private static double superpuesto(double cx, double cy, double dx, double dy, double mx, double my,
+                                      double distancia2, double minX, double minY, double maxX, double maxY,
+                                      double[] normal) {
+        double nx;
+        double ny;
+        if (distancia2 > 0) {
+            double largo = Math.sqrt(distancia2);
+            nx = mx / largo;
+            ny = my / largo;
+        } else {
+            // Centro dentro de la caja: salir por la cara más cercana
+            double izquierda = cx - minX;
+            double derecha = maxX - cx;
+            double arriba = cy - minY;
+            double abajo = maxY - cy;
+            double minimo = Math.min(Math.min(izquierda, derecha), Math.min(arriba, abajo));
+            nx = minimo == izquierda ? -1 : minimo == derecha ? 1 : 0;
+            ny = nx != 0 ? 0 : minimo == arriba ? -1 : 1;
+        }
+        if (dx * nx + dy * ny >= 0) {
+            return SIN_CONTACTO;
+        }
+        normal[0] = nx;
+        normal[1] = ny;
+        return 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,140 @@
+package arkanoid;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// Entorno de entrenamiento para bots de la paleta, al estilo de los entornos vectorizados
+// de Gym: muchas partidas de MotorLote que avanzan juntas con una acción por partida.
+// Las observaciones quedan en un único ByteBuffer directo (little-endian, el orden de
+// numpy) que se reusa en cada paso, así ServidorEntorno lo manda tal cual al socket.
+// Disposición del buffer, con J partidas:
+//   float observacion[J][5]   paleta x, pelota x, pelota y, velocidad x, velocidad y (px/tick)
+//   float recompensa[J]       puntos ganados en el paso
+//   byte  terminado[J]        SIGUE, TERMINADO o CORTADO
+//   byte  mapa[J][bytesMapa]  un bit por bloque vivo, por número de bloque del nivel
+// Una partida que termina vuelve a empezar sola con la semilla siguiente; la observación
+// que acompaña al aviso de terminado ya es la de la partida nueva.
+public class EntornoLote {
+    public static final int NINGUNA = 0;
+    public static final int IZQUIERDA = 1;
+    public static final int DERECHA = 2;
+
+    public static final byte SIGUE = 0;
+    public static final byte TERMINADO = 1; // ganó o se quedó sin vidas
+    public static final byte CORTADO = 2;   // llegó al límite de ticks
+
+    public static final int VALORES_OBSERVACION = 5;
+
+    private final MotorLote lote;
+    private final int juegos;
+    private final int limiteTicks;
+    private final long[] semillas;
+    private final int[] ticks;
+    private final int[] entradas;
+    private final int[] puntuacionAnterior;
+
+    private final int bytesMapa;
+    private final int inicioRecompensa, inicioTerminado, inicioMapa;
+    private final ByteBuffer salida;
+
+    public EntornoLote(int juegos, int limiteTicks, boolean vectorial) {
+        if (juegos <= 0) {
+            throw new IllegalArgumentException("juegos debe ser positivo: " + juegos);
+        }
+        if (limiteTicks <= 0) {
+            throw new IllegalArgumentException("limiteTicks debe ser positivo: " + limiteTicks);
+        }
+        this.juegos = juegos;
+        this.limiteTicks = limiteTicks;
+        semillas = new long[juegos];
+        for (int g = 0; g < juegos; g++) {
+            semillas[g] = g;
+        }
+        lote = new MotorLote(semillas, vectorial);
+        ticks = new int[juegos];
+        entradas = new int[juegos];
+        puntuacionAnterior = new int[juegos];
+
+        bytesMapa = lote.bloquesPorJuego / 8; // múltiplo de 16 bloques
+        inicioRecompensa = juegos * VALORES_OBSERVACION * 4;
+        inicioTerminado = inicioRecompensa + juegos * 4;
+        inicioMapa = inicioTerminado + juegos;
+        salida = ByteBuffer.allocateDirect(inicioMapa + juegos * bytesMapa).order(ByteOrder.LITTLE_ENDIAN);
+        for (int g = 0; g < juegos; g++) {
+            observar(g);
+        }
+    }
+
+    // Todas las partidas de nuevo, la partida g con la semilla base + g
+    public ByteBuffer reiniciar(long semilla) {
+        for (int g = 0; g < juegos; g++) {
+            reiniciar(g, semilla + g);
+            salida.putFloat(inicioRecompensa + g * 4, 0);
+            salida.put(inicioTerminado + g, SIGUE);
+        }
+        return salida.clear();
+    }
+
+    private void reiniciar(int g, long semilla) {
+        semillas[g] = semilla;
+        lote.reiniciar(g, semilla);
+        ticks[g] = 0;
+        puntuacionAnterior[g] = 0;
+        observar(g);
+    }
+
+    // acciones tiene una acción (NINGUNA, IZQUIERDA o DERECHA) por partida a partir de su posición
+    public ByteBuffer paso(ByteBuffer acciones) {
+        if (acciones.remaining() < juegos) {
+            throw new IllegalArgumentException("Hacen falta " + juegos + " acciones y hay " + acciones.remaining());
+        }
+        int desde = acciones.position();
+        for (int g = 0; g < juegos; g++) {
+            int accion = acciones.get(desde + g);
+            if (accion < NINGUNA || accion > DERECHA) {
+                throw new IllegalArgumentException("Acción inválida para la partida " + g + ": " + accion);
+            }
+            // Las constantes coinciden con los bits de dirección de Entrada
+            entradas[g] = accion | Entrada.INICIAR;
+        }
+        lote.paso(entradas);
+
+        for (int g = 0; g < juegos; g++) {
+            int puntuacion = lote.getPuntuacion(g);
+            salida.putFloat(inicioRecompensa + g * 4, puntuacion - puntuacionAnterior[g]);
+            puntuacionAnterior[g] = puntuacion;
+            byte estado = !lote.isEnJuego(g) ? TERMINADO : ++ticks[g] >= limiteTicks ? CORTADO : SIGUE;
+            salida.put(inicioTerminado + g, estado);
+            if (estado != SIGUE) {
+                reiniciar(g, semillas[g] + juegos); // no repite ninguna semilla en juego
+            } else {
+                observar(g);
+            }
+        }
+        return salida.clear();
+    }
+
+    private void observar(int g) {
+        int o = g * VALORES_OBSERVACION * 4;
+        salida.putFloat(o, (float) lote.paletaX[g]);
+        salida.putFloat(o + 4, (float) lote.pelotaX[g]);
+        salida.putFloat(o + 8, (float) lote.pelotaY[g]);
+        salida.putFloat(o + 12, (float) (lote.pelotaVelX[g] * lote.pelotaRapidez[g]));
+        salida.putFloat(o + 16, (float) (lote.pelotaVelY[g] * lote.pelotaRapidez[g]));
+
+        int base = g * lote.bloquesPorJuego;
+        int m = inicioMapa + g * bytesMapa;
+        for (int i = 0; i < bytesMapa; i++) {
+            int bits = 0;
+            for (int b = 0; b < 8; b++) {
+                bits |= (lote.vivo[base + i * 8 + b] & 1) << b;
+            }
+            salida.put(m + i, (byte) bits);
+        }
+    }
+
+    public int size() { return juegos; }
+    public int getBytesMapa() { return bytesMapa; }
+    public int getTamanoSalida() { return salida.capacity(); }
+    public boolean isVectorial() { return lote.isVectorial(); }
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package arkanoid;
+
+// Estado del teclado que escribe Botones desde el hilo de AWT y que el juego
+// muestrea una vez por tick. Así cada tick ve una entrada fija, que se puede grabar.
+public class Entrada implements FuenteEntrada {
+    public static final int NINGUNA = 0;
+    public static final int IZQUIERDA = 1;
+    public static final int DERECHA = 2;
+    public static final int INICIAR = 4;
+    public static final int REBOBINAR = 8; // mientras la tecla está apretada
+    public static final int GUARDAR = 16;
+    public static final int CARGAR = 32;
+    
+    private volatile int direccion = 0;
+    private volatile boolean rebobinar = false;
+    private volatile boolean iniciarPendiente = false;
+    private volatile boolean guardarPendiente = false;
+    private volatile boolean cargarPendiente = false;
+    
+    public void setDireccion(int direccion) {
+        this.direccion = Integer.signum(direccion);
+    }
+    
+    // El pedido de inicio queda pendiente hasta que lo consume un tick
+    public void pedirInicio() {
+        iniciarPendiente = true;
+    }
+    
+    public void pedirGuardado() {
+        guardarPendiente = true;
+    }
+    
+    public void pedirCarga() {
+        cargarPendiente = true;
+    }
+    
+    public void setRebobinar(boolean rebobinar) {
+        this.rebobinar = rebobinar;
+    }
+    
+    public int siguienteTick() {
+        int entrada = deDireccion(direccion);
+        if (rebobinar) {
+            entrada |= REBOBINAR;
+        }
+        if (iniciarPendiente) {
+            iniciarPendiente = false;
+            entrada |= INICIAR;
+        }
+        if (guardarPendiente) {
+            guardarPendiente = false;
+            entrada |= GUARDAR;
+        }
+        if (cargarPendiente) {
+            cargarPendiente = false;
+            entrada |= CARGAR;
+        }
+        return entrada;
+    }
+    
+    public static int deDireccion(int direccion) {
+        return direccion < 0 ? IZQUIERDA : direccion > 0 ? DERECHA : NINGUNA;
+    }
+    
+    public static int direccion(int entrada) {
+        if ((entrada & IZQUIERDA) != 0) return -1;
+        if ((entrada & DERECHA) != 0) return 1;
+        return 0;
+    }
+}
\ No newline at end of file
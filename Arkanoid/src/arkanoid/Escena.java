@@ -0,0 +1,93 @@
+package arkanoid;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+// Dibuja una Instantanea del juego sobre cualquier Graphics (pantalla o imagen fuera de pantalla)
+public class Escena implements Renderizador {
+    private static final String TITULO = "ARKANOID";
+    private static final String MENSAJE_INICIO = "Presione ESPACIO para jugar";
+    
+    private final CapaEstatica capaEstatica;
+    // La pelota ya rasterizada: con cientos en pantalla un drawImage sale mucho más barato que fillOval
+    private final BufferedImage spritePelota;
+    private final Particulas particulas = new Particulas();
+    
+    private int tituloX = -1;
+    private int mensajeX;
+    private final TextoHud textoPuntos = new TextoHud("Puntos: ", 20, 30);
+    private final TextoHud textoVidas = new TextoHud("Vidas: ", Motor.WIDTH - 100, 30);
+    private final TextoHud textoNivel = new TextoHud("Nivel: ", Motor.WIDTH / 2 - 30, 30);
+    
+    // gc puede ser null para dibujar en una BufferedImage
+    public Escena(GraphicsConfiguration gc) {
+        this.capaEstatica = new CapaEstatica(gc);
+        this.spritePelota = gc != null
+            ? gc.createCompatibleImage(Pelota.SIZE, Pelota.SIZE, Transparency.BITMASK)
+            : new BufferedImage(Pelota.SIZE, Pelota.SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics gs = spritePelota.getGraphics();
+        gs.setColor(Color.white);
+        gs.fillOval(0, 0, Pelota.SIZE, Pelota.SIZE);
+        gs.dispose();
+    }
+    
+    public void draw(Graphics g, Instantanea estado, double alfa) {
+        if (!estado.enJuego) {
+            drawWelcomeScreen(g);
+        } else {
+            // Fondo y bloques salen de la capa cacheada; solo se dibuja lo que se mueve
+            capaEstatica.dibujar(g, estado.bloques);
+            
+            particulas.sincronizar(estado);
+            particulas.dibujar(g, alfa);
+            
+            for (int i = 0; i < estado.capsulas; i++) {
+                g.setColor(Poderes.color(estado.capsulaTipo[i]));
+                g.fillRoundRect(estado.capsulaX[i], estado.capsulaY(i, alfa),
+                                Poderes.CAPSULA_ANCHO, Poderes.CAPSULA_ALTO, 8, 8);
+            }
+            g.setColor(Recursos.COLOR_DISPARO);
+            for (int i = 0; i < estado.disparos; i++) {
+                g.fillRect(estado.disparoX[i], estado.disparoY(i, alfa), Poderes.DISPARO_ANCHO, Poderes.DISPARO_ALTO);
+            }
+            
+            g.setColor(Recursos.COLOR_PALETA);
+            g.fillRect(estado.paletaX(alfa), estado.paletaY, estado.paletaWidth, estado.paletaHeight);
+            
+            for (int i = 0; i < estado.pelotas; i++) {
+                g.drawImage(spritePelota, estado.pelotaX(i, alfa), estado.pelotaY(i, alfa), null);
+            }
+            
+            drawGameInfo(g, estado);
+        }
+    }
+    
+    private void drawWelcomeScreen(Graphics g) {
+        g.setColor(Recursos.COLOR_BIENVENIDA);
+        g.fillRect(0, 0, Motor.WIDTH, Motor.HEIGHT);
+        
+        // Las posiciones centradas se miden una sola vez
+        if (tituloX < 0) {
+            tituloX = (Motor.WIDTH / 2) - (g.getFontMetrics(Recursos.FUENTE_TITULO).stringWidth(TITULO) / 2);
+            mensajeX = (Motor.WIDTH / 2) - (g.getFontMetrics(Recursos.FUENTE_MENSAJE).stringWidth(MENSAJE_INICIO) / 2);
+        }
+        
+        g.setColor(Color.WHITE);
+        g.setFont(Recursos.FUENTE_TITULO);
+        g.drawString(TITULO, tituloX, 150);
+        
+        g.setFont(Recursos.FUENTE_MENSAJE);
+        g.drawString(MENSAJE_INICIO, mensajeX, Motor.HEIGHT / 2 + 50);
+    }
+    
+    private void drawGameInfo(Graphics g, Instantanea estado) {
+        g.setColor(Color.WHITE);
+        g.setFont(Recursos.FUENTE_HUD);
+        textoPuntos.draw(g, estado.puntuacion);
+        textoVidas.draw(g, estado.vidas);
+        textoNivel.draw(g, estado.nivel);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,244 @@
+package arkanoid;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+// Dibuja el frame entero en el int[] de una BufferedImage propia, con rellenos por fila,
+// la pelota como máscara precalculada y texto con FuenteMapa, y después entrega esa única
+// imagen al Graphics. Sin aceleración por GPU es mucho más barato que cientos de fillRect,
+// drawRect y drawString de Java2D; el resultado es el mismo que el de Escena.
+public class EscenaRaster implements Renderizador {
+    private static final String TITULO = "ARKANOID";
+    private static final String MENSAJE_INICIO = "Presione ESPACIO para jugar";
+    private static final int GROSOR_BORDE = (int) Recursos.TRAZO_BORDE.getLineWidth();
+    private static final int BLANCO = Color.WHITE.getRGB();
+    private static final int NEGRO = Color.BLACK.getRGB();
+    private static final int COLOR_DISPARO = Recursos.COLOR_DISPARO.getRGB();
+    
+    private final BufferedImage imagen;
+    private final Lienzo lienzo;
+    
+    // Fondo y bloques ya dibujados; se rehace entero cuando cambia algún bloque y se corre
+    // cuando baja el campo entero (modo infinito)
+    private final int[] capaBloques;
+    private final Lienzo lienzoBloques;
+    private int versionDibujada = -1;
+    private int desplazamientoDibujado;
+    private int cantidadDibujada;
+    private int[] resistenciaDibujada = new int[0];
+    private long[] vivosDibujados = new long[0];
+    
+    // Zonas (x, y, ancho, alto) donde el frame anterior dibujó encima de la capa: en el
+    // siguiente solo esas se restauran, en vez de copiar la pantalla entera
+    private int[] zonasSucias = new int[64];
+    private int cantidadSucias;
+    private boolean frameCompleto = true;
+    
+    private final byte[] mascaraPelota;
+    private final Particulas particulas = new Particulas();
+    private final FuenteMapa fuenteTitulo = new FuenteMapa(Recursos.FUENTE_TITULO);
+    private final FuenteMapa fuenteMensaje = new FuenteMapa(Recursos.FUENTE_MENSAJE);
+    private final FuenteMapa fuenteHud = new FuenteMapa(Recursos.FUENTE_HUD);
+    private final FuenteMapa fuenteBloque = new FuenteMapa(Recursos.FUENTE_BLOQUE);
+    private final int tituloX;
+    private final int mensajeX;
+    private final TextoHud textoPuntos = new TextoHud("Puntos: ", 20, 30);
+    private final TextoHud textoVidas = new TextoHud("Vidas: ", Motor.WIDTH - 100, 30);
+    private final TextoHud textoNivel = new TextoHud("Nivel: ", Motor.WIDTH / 2 - 30, 30);
+    
+    public EscenaRaster() {
+        imagen = new BufferedImage(Motor.WIDTH, Motor.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        lienzo = new Lienzo(((DataBufferInt) imagen.getRaster().getDataBuffer()).getData(), Motor.WIDTH, Motor.HEIGHT);
+        capaBloques = new int[Motor.WIDTH * Motor.HEIGHT];
+        lienzoBloques = new Lienzo(capaBloques, Motor.WIDTH, Motor.HEIGHT);
+        mascaraPelota = rasterizarPelota();
+        tituloX = (Motor.WIDTH / 2) - (fuenteTitulo.anchoTexto(TITULO) / 2);
+        mensajeX = (Motor.WIDTH / 2) - (fuenteMensaje.anchoTexto(MENSAJE_INICIO) / 2);
+    }
+    
+    // El mismo fillOval que usa Escena para su sprite, guardado como máscara
+    private static byte[] rasterizarPelota() {
+        BufferedImage sprite = new BufferedImage(Pelota.SIZE, Pelota.SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics gs = sprite.getGraphics();
+        gs.setColor(Color.white);
+        gs.fillOval(0, 0, Pelota.SIZE, Pelota.SIZE);
+        gs.dispose();
+        byte[] mascara = new byte[Pelota.SIZE * Pelota.SIZE];
+        for (int y = 0; y < Pelota.SIZE; y++) {
+            for (int x = 0; x < Pelota.SIZE; x++) {
+                mascara[y * Pelota.SIZE + x] = (byte) (sprite.getRGB(x, y) >>> 24);
+            }
+        }
+        return mascara;
+    }
+    
+    public void draw(Graphics g, Instantanea estado, double alfa) {
+        if (!estado.enJuego) {
+            drawWelcomeScreen();
+            frameCompleto = true;
+        } else {
+            restaurarCapa(estado.bloques);
+            
+            particulas.sincronizar(estado);
+            particulas.dibujar(lienzo, alfa);
+            ensuciar(particulas.getCajaX(), particulas.getCajaY(), particulas.getCajaAncho(), particulas.getCajaAlto());
+            
+            for (int i = 0; i < estado.capsulas; i++) {
+                int y = estado.capsulaY(i, alfa);
+                lienzo.rellenar(estado.capsulaX[i], y, Poderes.CAPSULA_ANCHO, Poderes.CAPSULA_ALTO,
+                                Poderes.color(estado.capsulaTipo[i]).getRGB());
+                ensuciar(estado.capsulaX[i], y, Poderes.CAPSULA_ANCHO, Poderes.CAPSULA_ALTO);
+            }
+            for (int i = 0; i < estado.disparos; i++) {
+                int y = estado.disparoY(i, alfa);
+                lienzo.rellenar(estado.disparoX[i], y, Poderes.DISPARO_ANCHO, Poderes.DISPARO_ALTO, COLOR_DISPARO);
+                ensuciar(estado.disparoX[i], y, Poderes.DISPARO_ANCHO, Poderes.DISPARO_ALTO);
+            }
+            
+            int paletaX = estado.paletaX(alfa);
+            lienzo.rellenar(paletaX, estado.paletaY, estado.paletaWidth, estado.paletaHeight,
+                            Recursos.COLOR_PALETA.getRGB());
+            ensuciar(paletaX, estado.paletaY, estado.paletaWidth, estado.paletaHeight);
+            
+            for (int i = 0; i < estado.pelotas; i++) {
+                int x = estado.pelotaX(i, alfa);
+                int y = estado.pelotaY(i, alfa);
+                lienzo.mascara(mascaraPelota, Pelota.SIZE, Pelota.SIZE, x, y, BLANCO);
+                ensuciar(x, y, Pelota.SIZE, Pelota.SIZE);
+            }
+            
+            drawGameInfo(estado);
+        }
+        g.drawImage(imagen, 0, 0, null);
+    }
+    
+    private void restaurarCapa(AlmacenBloques bloques) {
+        int dy = bloques.getDesplazamiento() - desplazamientoDibujado;
+        if (dy > 0 && dy < Motor.HEIGHT && bloques.getVersion() == versionDibujada
+                && bloques.capacidadUsada() == cantidadDibujada) {
+            desplazarCapa(bloques, dy);
+            frameCompleto = true;
+        }
+        if (cambiaronBloques(bloques)) {
+            dibujarCapaBloques(bloques);
+            frameCompleto = true;
+        }
+        if (frameCompleto) {
+            lienzo.copiarDe(capaBloques);
+            frameCompleto = false;
+        } else {
+            for (int i = 0; i < cantidadSucias; i += 4) {
+                lienzo.copiarDe(capaBloques, zonasSucias[i], zonasSucias[i + 1], zonasSucias[i + 2], zonasSucias[i + 3]);
+            }
+        }
+        cantidadSucias = 0;
+    }
+    
+    private void ensuciar(int x, int y, int w, int h) {
+        if (cantidadSucias == zonasSucias.length) {
+            zonasSucias = Arrays.copyOf(zonasSucias, cantidadSucias * 2);
+        }
+        zonasSucias[cantidadSucias++] = x;
+        zonasSucias[cantidadSucias++] = y;
+        zonasSucias[cantidadSucias++] = w;
+        zonasSucias[cantidadSucias++] = h;
+    }
+    
+    private void drawWelcomeScreen() {
+        lienzo.rellenar(0, 0, Motor.WIDTH, Motor.HEIGHT, Recursos.COLOR_BIENVENIDA.getRGB());
+        fuenteTitulo.dibujar(lienzo, TITULO, tituloX, 150, BLANCO);
+        fuenteMensaje.dibujar(lienzo, MENSAJE_INICIO, mensajeX, Motor.HEIGHT / 2 + 50, BLANCO);
+    }
+    
+    private void drawGameInfo(Instantanea estado) {
+        dibujarTexto(textoPuntos, estado.puntuacion);
+        dibujarTexto(textoVidas, estado.vidas);
+        dibujarTexto(textoNivel, estado.nivel);
+    }
+    
+    private void dibujarTexto(TextoHud texto, int valor) {
+        String cadena = texto.texto(valor);
+        fuenteHud.dibujar(lienzo, cadena, texto.getX(), texto.getY(), BLANCO);
+        // Con margen de sobra a los costados por glifos que se salen de su avance
+        int margen = Recursos.FUENTE_HUD.getSize();
+        ensuciar(texto.getX() - margen, texto.getY() + fuenteHud.getArriba(),
+                 fuenteHud.anchoTexto(cadena) + 2 * margen, fuenteHud.getAbajo() - fuenteHud.getArriba());
+    }
+    
+    // Igual que CapaEstatica: fondo, borde y después cada bloque vivo con su contorno
+    private void dibujarCapaBloques(AlmacenBloques bloques) {
+        lienzoBloques.rellenar(0, 0, Motor.WIDTH, Motor.HEIGHT, Recursos.COLOR_FONDO.getRGB());
+        lienzoBloques.marco(0, 0, Motor.WIDTH - 1, Motor.HEIGHT - 1, GROSOR_BORDE, BLANCO);
+        
+        for (int id = bloques.siguienteVivo(0); id >= 0; id = bloques.siguienteVivo(id + 1)) {
+            dibujarBloque(bloques, id);
+        }
+        recordar(bloques);
+    }
+    
+    // Baja las filas ya dibujadas y repinta la franja que queda arriba: fondo, borde y los
+    // bloques que la tocan, enteros (los bloques no se pisan, lo de abajo queda igual)
+    private void desplazarCapa(AlmacenBloques bloques, int dy) {
+        System.arraycopy(capaBloques, 0, capaBloques, dy * Motor.WIDTH, (Motor.HEIGHT - dy) * Motor.WIDTH);
+        int margen = GROSOR_BORDE / 2;
+        int alto = dy + margen + 1;
+        lienzoBloques.rellenar(0, 0, Motor.WIDTH, alto, Recursos.COLOR_FONDO.getRGB());
+        lienzoBloques.marco(0, 0, Motor.WIDTH - 1, Motor.HEIGHT - 1, GROSOR_BORDE, BLANCO);
+        for (int id = bloques.siguienteVivo(0); id >= 0; id = bloques.siguienteVivo(id + 1)) {
+            if (bloques.y[id] - margen < alto && bloques.y[id] + bloques.height[id] + margen >= 0) {
+                dibujarBloque(bloques, id);
+            }
+        }
+        desplazamientoDibujado = bloques.getDesplazamiento();
+    }
+    
+    private void dibujarBloque(AlmacenBloques bloques, int id) {
+        int x = bloques.x[id];
+        int y = bloques.y[id];
+        int width = bloques.width[id];
+        int height = bloques.height[id];
+        lienzoBloques.rellenar(x, y, width, height, bloques.color(id).getRGB());
+        lienzoBloques.marco(x, y, width, height, GROSOR_BORDE, NEGRO);
+        
+        // Mismo centrado que Glifos.dibujarNumero
+        if (bloques.resistenciaMaxima[id] > 1) {
+            String numero = String.valueOf(bloques.resistencia[id]);
+            fuenteBloque.dibujar(lienzoBloques, numero, x + width/2 - fuenteBloque.anchoTexto(numero) / 2,
+                                 y + height/2 + 5, NEGRO);
+        }
+    }
+    
+    private boolean cambiaronBloques(AlmacenBloques bloques) {
+        if (bloques.getVersion() != versionDibujada || bloques.capacidadUsada() != cantidadDibujada
+                || bloques.getDesplazamiento() != desplazamientoDibujado) {
+            return true;
+        }
+        for (int id = 0; id < cantidadDibujada; id++) {
+            boolean vivo = bloques.estaVivo(id);
+            boolean estabaVivo = (vivosDibujados[id >>> 6] & (1L << id)) != 0;
+            if (vivo != estabaVivo || (vivo && bloques.resistencia[id] != resistenciaDibujada[id])) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void recordar(AlmacenBloques bloques) {
+        int n = bloques.capacidadUsada();
+        if (resistenciaDibujada.length < n) {
+            resistenciaDibujada = new int[Math.max(n, resistenciaDibujada.length * 2)];
+            vivosDibujados = new long[(resistenciaDibujada.length + 63) >>> 6];
+        }
+        System.arraycopy(bloques.resistencia, 0, resistenciaDibujada, 0, n);
+        Arrays.fill(vivosDibujados, 0);
+        for (int id = bloques.siguienteVivo(0); id >= 0; id = bloques.siguienteVivo(id + 1)) {
+            vivosDibujados[id >>> 6] |= 1L << id;
+        }
+        cantidadDibujada = n;
+        versionDibujada = bloques.getVersion();
+        desplazamientoDibujado = bloques.getDesplazamiento();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,224 @@
+package arkanoid;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Locale;
+
+// Mira una partida que transmite ServidorEspectadores, en su propia ventana. Un hilo lee
+// la red y publica cada estado en un TripleBuffer; el de dibujo interpola como en Game.
+//   java -cp target/classes arkanoid.Espectador --servidor localhost:7777
+// Con --clientes <n> no abre ventana: conecta n espectadores desde un solo hilo, para
+// probar el servidor con carga, y al final resume lo recibido.
+public class Espectador extends Canvas {
+    private static final long serialVersionUID = 1L;
+    private static final long NS_POR_TICK = 1_000_000_000L / Game.TICKS_POR_SEGUNDO;
+    
+    private final Receptor receptor = new Receptor();
+    private final TripleBuffer<Instantanea> estados = new TripleBuffer<>(Instantanea::new);
+    private final Paleta paleta = new Paleta();
+    private Renderizador escena;
+    
+    // Estado de un espectador: los últimos ticks recibidos, que son las bases posibles de
+    // los próximos deltas, y lo que llegó por la red sin formar todavía un mensaje entero
+    static final class Receptor {
+        private final EstadoRed[] historial = new EstadoRed[ServidorEspectadores.HISTORIAL];
+        private EstadoRed ultimo;
+        private ByteBuffer entrada = ByteBuffer.allocate(8192);
+        private final ByteBuffer confirmacion = ByteBuffer.allocate(8);
+        long mensajes, bytes, completos;
+        
+        Receptor() {
+            for (int i = 0; i < historial.length; i++) {
+                historial[i] = new EstadoRed();
+            }
+        }
+        
+        // Lee lo que haya, decodifica los mensajes completos y confirma el último.
+        // Devuelve el último estado decodificado, null si no se completó ninguno.
+        EstadoRed recibir(SocketChannel canal) throws IOException {
+            if (!entrada.hasRemaining()) {
+                entrada = ByteBuffer.allocate(entrada.capacity() * 2).put(entrada.flip());
+            }
+            if (canal.read(entrada) < 0) {
+                throw new IOException("El servidor cerró la conexión");
+            }
+            entrada.flip();
+            EstadoRed nuevo = null;
+            while (entrada.remaining() >= 4 && entrada.remaining() >= 4 + entrada.getInt(entrada.position())) {
+                int largo = entrada.getInt();
+                int fin = entrada.position() + largo;
+                nuevo = decodificar(entrada);
+                entrada.position(fin);
+                mensajes++;
+                bytes += 4 + largo;
+            }
+            entrada.compact();
+            if (nuevo != null) {
+                confirmacion.clear();
+                confirmacion.putLong(nuevo.tick).flip();
+                canal.write(confirmacion);
+            }
+            return nuevo;
+        }
+        
+        private EstadoRed decodificar(ByteBuffer mensaje) throws IOException {
+            long base = EstadoRed.base(mensaje);
+            long tick = mensaje.getLong(mensaje.position() + 1);
+            EstadoRed anterior = null;
+            if (base >= 0) {
+                anterior = historial[indice(base)];
+                if (anterior.tick != base) {
+                    throw new IOException("Delta contra un tick que no se recibió: " + base);
+                }
+            } else {
+                completos++;
+            }
+            EstadoRed estado = historial[indice(tick)];
+            estado.decodificar(anterior, mensaje);
+            ultimo = estado;
+            return estado;
+        }
+        
+        EstadoRed getUltimo() {
+            return ultimo;
+        }
+        
+        private static int indice(long tick) {
+            return (int) Math.floorMod(tick, (long) ServidorEspectadores.HISTORIAL);
+        }
+    }
+    
+    public Espectador() {
+        setPreferredSize(new Dimension(Game.WIDTH, Game.HEIGHT));
+        new Ventana("Arkanoid - espectador", this);
+    }
+    
+    // Hilo de red; termina cuando el servidor corta
+    private void bucleRed(SocketChannel canal) {
+        EstadoRed anterior = new EstadoRed();
+        boolean hayAnterior = false;
+        try {
+            while (true) {
+                EstadoRed estado = receptor.recibir(canal);
+                if (estado == null) {
+                    continue;
+                }
+                estado.aInstantanea(hayAnterior ? anterior : null, estados.paraEscribir(), paleta);
+                estados.publicar();
+                anterior.copiarDe(estado);
+                hayAnterior = true;
+            }
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+    
+    private void bucleRender() {
+        RitmoDibujo ritmo = new RitmoDibujo(Integer.getInteger("arkanoid.fps", Game.TICKS_POR_SEGUNDO));
+        while (true) {
+            ritmo.esperarSiguienteFrame();
+            estados.actualizar();
+            Instantanea estado = estados.paraLeer();
+            long inicio = System.nanoTime();
+            draw(estado, estado.alfa(inicio, NS_POR_TICK));
+            ritmo.registrar(System.nanoTime() - inicio);
+        }
+    }
+    
+    private void draw(Instantanea estado, double alfa) {
+        BufferStrategy buffer = getBufferStrategy();
+        if (buffer == null) {
+            createBufferStrategy(3);
+            return;
+        }
+        if (escena == null) {
+            escena = Renderizador.crear(System.getProperty("arkanoid.render", "java2d"), getGraphicsConfiguration());
+        }
+        Graphics g = buffer.getDrawGraphics();
+        escena.draw(g, estado, alfa);
+        g.dispose();
+        buffer.show();
+    }
+    
+    private static SocketChannel conectar(String servidor) throws IOException {
+        int dosPuntos = servidor.lastIndexOf(':');
+        SocketChannel canal = SocketChannel.open(new InetSocketAddress(
+            servidor.substring(0, dosPuntos), Integer.parseInt(servidor.substring(dosPuntos + 1))));
+        canal.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        return canal;
+    }
+    
+    // Opciones: --servidor <host:puerto>, --clientes <n> (sin ventana), --segundos <n>
+    public static void main(String[] args) throws IOException {
+        String servidor = "localhost:7777";
+        int clientes = 0;
+        double segundos = 10;
+        for (int i = 0; i < args.length - 1; i++) {
+            switch (args[i]) {
+                case "--servidor": servidor = args[++i]; break;
+                case "--clientes": clientes = Integer.parseInt(args[++i]); break;
+                case "--segundos": segundos = Double.parseDouble(args[++i]); break;
+                default:
+            }
+        }
+        
+        if (clientes > 0) {
+            carga(servidor, clientes, segundos);
+            return;
+        }
+        SocketChannel canal = conectar(servidor);
+        Espectador espectador = new Espectador();
+        new Thread(() -> espectador.bucleRed(canal), "arkanoid-red").start();
+        new Thread(espectador::bucleRender, "arkanoid-render").start();
+    }
+    
+    private static void carga(String servidor, int clientes, double segundos) throws IOException {
+        Selector selector = Selector.open();
+        Receptor[] receptores = new Receptor[clientes];
+        for (int i = 0; i < clientes; i++) {
+            SocketChannel canal = conectar(servidor);
+            canal.configureBlocking(false);
+            receptores[i] = new Receptor();
+            canal.register(selector, SelectionKey.OP_READ, receptores[i]);
+        }
+        
+        long fin = System.nanoTime() + (long) (segundos * 1e9);
+        while (System.nanoTime() < fin) {
+            selector.select(100);
+            Iterator<SelectionKey> claves = selector.selectedKeys().iterator();
+            while (claves.hasNext()) {
+                SelectionKey clave = claves.next();
+                claves.remove();
+                ((Receptor) clave.attachment()).recibir((SocketChannel) clave.channel());
+            }
+        }
+        
+        long mensajes = 0;
+        long bytes = 0;
+        long completos = 0;
+        long ticks = Long.MAX_VALUE;
+        long ticksMaximo = 0;
+        for (Receptor r : receptores) {
+            mensajes += r.mensajes;
+            bytes += r.bytes;
+            completos += r.completos;
+            long tick = r.getUltimo() != null ? r.getUltimo().tick : -1;
+            ticks = Math.min(ticks, tick);
+            ticksMaximo = Math.max(ticksMaximo, tick);
+        }
+        System.out.printf(Locale.ROOT,
+            "%d espectadores, %.1f s: %d mensajes (%d completos), %.1f mensajes/s por espectador, "
+            + "%.1f bytes/mensaje, último tick entre %d y %d%n",
+            clientes, segundos, mensajes, completos, mensajes / segundos / clientes,
+            bytes / (double) Math.max(1, mensajes), ticks, ticksMaximo);
+        selector.close();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,341 @@
+package arkanoid;
+
+import java.awt.Color;
+import java.nio.ByteBuffer;
+
+// Lo que ve un espectador de un tick, y su codificación binaria para la red. Cada envío
+// va contra un estado base que el espectador ya confirmó: solo lleva lo que cambió desde
+// ahí. Sin base (o si el nivel cambió de distribución) van los bloques completos.
+// Formato (big endian): tipo (byte), tick (long), base (long, solo en DELTA), partes
+// (byte) y después cada parte presente, en este orden:
+//   MARCADOR: en juego (byte), nivel, vidas (short), puntuación (int)
+//   PALETA: x (short)
+//   PELOTAS: cantidad (short) y x, y de cada una (float)
+//   DESPLAZAMIENTO (solo en DELTA, con la misma distribución): cuánto bajó el campo
+//     entero desde la base (short), en vez de mandar todos los bloques de nuevo
+//   BLOQUES_COMPLETOS: cantidad de ids (short) y por id x, y, ancho, alto (short), tipo
+//     (byte), color (int), resistencia máxima, resistencia (int) y vivo (byte)
+//   BLOQUES_CAMBIOS: cantidad (short) y por cambio id (short) con el bit alto prendido si
+//     el bloque se rompió, o id y resistencia (int) si solo bajó
+//   PODERES (en cada envío si la partida tiene poderes): ancho de la paleta (short), cantidad
+//     de cápsulas (byte) y x, y (short) y tipo (byte) de cada una, cantidad de disparos
+//     (short) y x, y (short) de cada uno
+public class EstadoRed {
+    static final byte COMPLETO = 0;
+    static final byte DELTA = 1;
+    
+    private static final int MARCADOR = 1;
+    private static final int PALETA = 2;
+    private static final int PELOTAS = 4;
+    private static final int BLOQUES_COMPLETOS = 8;
+    private static final int BLOQUES_CAMBIOS = 16;
+    private static final int PODERES = 32;
+    private static final int DESPLAZAMIENTO = 64;
+    private static final int ROTO = 0x8000;
+    
+    public long tick = -1;
+    public boolean enJuego;
+    public int nivel;
+    public int vidas;
+    public int puntuacion;
+    public int paletaX;
+    public int pelotas;
+    public float[] pelotaX = new float[4], pelotaY = new float[4];
+    public final AlmacenBloques bloques = new AlmacenBloques();
+    
+    public boolean poderes;
+    public int paletaAncho;
+    public int capsulas;
+    public final short[] capsulaX = new short[Poderes.MAX_CAPSULAS], capsulaY = new short[Poderes.MAX_CAPSULAS];
+    public final byte[] capsulaTipo = new byte[Poderes.MAX_CAPSULAS];
+    public int disparos;
+    public final short[] disparoX = new short[Poderes.MAX_DISPAROS], disparoY = new short[Poderes.MAX_DISPAROS];
+    
+    public void capturar(Motor motor, long tick) {
+        this.tick = tick;
+        enJuego = motor.isEnJuego();
+        nivel = motor.getNivelActual();
+        vidas = motor.getVidas();
+        puntuacion = motor.getPuntuacion();
+        paletaX = motor.getPaleta().getX();
+        PoolPelotas pool = motor.getPelotas();
+        reservarPelotas(pool.size());
+        for (int i = 0; i < pelotas; i++) {
+            pelotaX[i] = (float) pool.get(i).getX();
+            pelotaY[i] = (float) pool.get(i).getY();
+        }
+        bloques.copiarDe(motor.getBloques());
+        
+        Poderes origen = motor.getPoderes();
+        poderes = origen != null;
+        paletaAncho = motor.getPaleta().getWidth();
+        capsulas = poderes ? origen.capsulas : 0;
+        for (int i = 0; i < capsulas; i++) {
+            capsulaX[i] = (short) origen.capsulaX[i];
+            capsulaY[i] = (short) origen.capsulaY[i];
+            capsulaTipo[i] = origen.capsulaTipo[i];
+        }
+        disparos = poderes ? origen.disparos : 0;
+        for (int i = 0; i < disparos; i++) {
+            disparoX[i] = (short) origen.disparoX[i];
+            disparoY[i] = (short) origen.disparoY[i];
+        }
+    }
+    
+    public void copiarDe(EstadoRed otro) {
+        tick = otro.tick;
+        enJuego = otro.enJuego;
+        nivel = otro.nivel;
+        vidas = otro.vidas;
+        puntuacion = otro.puntuacion;
+        paletaX = otro.paletaX;
+        reservarPelotas(otro.pelotas);
+        System.arraycopy(otro.pelotaX, 0, pelotaX, 0, pelotas);
+        System.arraycopy(otro.pelotaY, 0, pelotaY, 0, pelotas);
+        bloques.copiarDe(otro.bloques);
+        poderes = otro.poderes;
+        paletaAncho = otro.paletaAncho;
+        capsulas = otro.capsulas;
+        System.arraycopy(otro.capsulaX, 0, capsulaX, 0, capsulas);
+        System.arraycopy(otro.capsulaY, 0, capsulaY, 0, capsulas);
+        System.arraycopy(otro.capsulaTipo, 0, capsulaTipo, 0, capsulas);
+        disparos = otro.disparos;
+        System.arraycopy(otro.disparoX, 0, disparoX, 0, disparos);
+        System.arraycopy(otro.disparoY, 0, disparoY, 0, disparos);
+    }
+    
+    private void reservarPelotas(int cantidad) {
+        pelotas = cantidad;
+        if (cantidad > pelotaX.length) {
+            int capacidad = Math.max(cantidad, pelotaX.length * 2);
+            pelotaX = new float[capacidad];
+            pelotaY = new float[capacidad];
+        }
+    }
+    
+    // Tope de lo que ocupa la codificación de este estado contra cualquier base
+    public int tamanoMaximo() {
+        return 1 + 8 + 8 + 1 + 9 + 2 + 2 + pelotas * 8 + 2 + 2 + bloques.capacidadUsada() * 22
+            + 2 + 1 + capsulas * 5 + 2 + disparos * 4;
+    }
+    
+    // base null: todo completo. Escribe desde la posición actual de destino.
+    public void codificar(EstadoRed base, ByteBuffer destino) {
+        boolean mismaDistribucion = base != null && base.bloques.getVersion() == bloques.getVersion()
+                                 && base.bloques.capacidadUsada() == bloques.capacidadUsada();
+        int partes = PELOTAS;
+        if (base == null || base.enJuego != enJuego || base.nivel != nivel
+                || base.vidas != vidas || base.puntuacion != puntuacion) {
+            partes |= MARCADOR;
+        }
+        if (base == null || base.paletaX != paletaX) {
+            partes |= PALETA;
+        }
+        partes |= mismaDistribucion ? BLOQUES_CAMBIOS : BLOQUES_COMPLETOS;
+        int desplazamiento = mismaDistribucion ? bloques.getDesplazamiento() - base.bloques.getDesplazamiento() : 0;
+        if (desplazamiento != 0) {
+            partes |= DESPLAZAMIENTO;
+        }
+        if (poderes) {
+            partes |= PODERES;
+        }
+        
+        destino.put(base == null ? COMPLETO : DELTA);
+        destino.putLong(tick);
+        if (base != null) {
+            destino.putLong(base.tick);
+        }
+        int posicionPartes = destino.position();
+        destino.put((byte) partes);
+        if ((partes & MARCADOR) != 0) {
+            destino.put((byte) (enJuego ? 1 : 0));
+            destino.putShort((short) nivel);
+            destino.putShort((short) vidas);
+            destino.putInt(puntuacion);
+        }
+        if ((partes & PALETA) != 0) {
+            destino.putShort((short) paletaX);
+        }
+        destino.putShort((short) pelotas);
+        for (int i = 0; i < pelotas; i++) {
+            destino.putFloat(pelotaX[i]);
+            destino.putFloat(pelotaY[i]);
+        }
+        if ((partes & DESPLAZAMIENTO) != 0) {
+            destino.putShort((short) desplazamiento);
+        }
+        if (mismaDistribucion) {
+            int posicionCantidad = destino.position();
+            destino.putShort((short) 0);
+            int cambios = 0;
+            for (int id = 0; id < bloques.capacidadUsada(); id++) {
+                boolean vivo = bloques.estaVivo(id);
+                if (base.bloques.estaVivo(id) && !vivo) {
+                    destino.putShort((short) (id | ROTO));
+                    cambios++;
+                } else if (vivo && base.bloques.resistencia[id] != bloques.resistencia[id]) {
+                    destino.putShort((short) id);
+                    destino.putInt(bloques.resistencia[id]);
+                    cambios++;
+                }
+            }
+            if (cambios == 0) {
+                // Nada que decir de los bloques: se saca la parte entera
+                destino.position(posicionCantidad);
+                destino.put(posicionPartes, (byte) (partes & ~BLOQUES_CAMBIOS));
+            } else {
+                destino.putShort(posicionCantidad, (short) cambios);
+            }
+        } else {
+            destino.putShort((short) bloques.capacidadUsada());
+            for (int id = 0; id < bloques.capacidadUsada(); id++) {
+                destino.putShort((short) bloques.x[id]);
+                destino.putShort((short) bloques.y[id]);
+                destino.putShort((short) bloques.width[id]);
+                destino.putShort((short) bloques.height[id]);
+                destino.put((byte) bloques.tipo[id]);
+                destino.putInt(bloques.colorOriginal[id]);
+                destino.putInt(bloques.resistenciaMaxima[id]);
+                destino.putInt(bloques.resistencia[id]);
+                destino.put((byte) (bloques.estaVivo(id) ? 1 : 0));
+            }
+        }
+        if (poderes) {
+            destino.putShort((short) paletaAncho);
+            destino.put((byte) capsulas);
+            for (int i = 0; i < capsulas; i++) {
+                destino.putShort(capsulaX[i]);
+                destino.putShort(capsulaY[i]);
+                destino.put(capsulaTipo[i]);
+            }
+            destino.putShort((short) disparos);
+            for (int i = 0; i < disparos; i++) {
+                destino.putShort(disparoX[i]);
+                destino.putShort(disparoY[i]);
+            }
+        }
+    }
+    
+    // Tick del estado base que hace falta para decodificar, o -1 si es COMPLETO; deja la
+    // posición de origen donde estaba
+    public static long base(ByteBuffer origen) {
+        int p = origen.position();
+        return origen.get(p) == COMPLETO ? -1 : origen.getLong(p + 1 + 8);
+    }
+    
+    // base tiene que ser el estado del tick que indica base(origen), o null si es COMPLETO
+    public void decodificar(EstadoRed base, ByteBuffer origen) {
+        byte tipo = origen.get();
+        long tickNuevo = origen.getLong();
+        if (tipo == DELTA) {
+            origen.getLong();
+            copiarDe(base);
+        }
+        tick = tickNuevo;
+        int partes = origen.get();
+        if ((partes & MARCADOR) != 0) {
+            enJuego = origen.get() != 0;
+            nivel = origen.getShort();
+            vidas = origen.getShort();
+            puntuacion = origen.getInt();
+        }
+        if ((partes & PALETA) != 0) {
+            paletaX = origen.getShort();
+        }
+        reservarPelotas(origen.getShort());
+        for (int i = 0; i < pelotas; i++) {
+            pelotaX[i] = origen.getFloat();
+            pelotaY[i] = origen.getFloat();
+        }
+        if ((partes & DESPLAZAMIENTO) != 0) {
+            bloques.desplazar(origen.getShort());
+        }
+        if ((partes & BLOQUES_CAMBIOS) != 0) {
+            int cambios = origen.getShort();
+            for (int i = 0; i < cambios; i++) {
+                int id = origen.getShort() & 0xFFFF;
+                if ((id & ROTO) != 0) {
+                    bloques.eliminar(id & ~ROTO);
+                } else {
+                    bloques.resistencia[id] = origen.getInt();
+                }
+            }
+        }
+        if ((partes & BLOQUES_COMPLETOS) != 0) {
+            bloques.limpiar();
+            int ids = origen.getShort();
+            for (int i = 0; i < ids; i++) {
+                int x = origen.getShort();
+                int y = origen.getShort();
+                int width = origen.getShort();
+                int height = origen.getShort();
+                int tipoBloque = origen.get();
+                Color color = new Color(origen.getInt());
+                int resistenciaMaxima = origen.getInt();
+                int resistencia = origen.getInt();
+                boolean vivo = origen.get() != 0;
+                int id = bloques.agregar(x, y, width, height, color, tipoBloque);
+                bloques.setResistencia(id, resistenciaMaxima);
+                bloques.resistencia[id] = resistencia;
+                if (!vivo) {
+                    bloques.eliminar(id);
+                }
+            }
+        }
+        poderes = (partes & PODERES) != 0;
+        capsulas = 0;
+        disparos = 0;
+        if (poderes) {
+            paletaAncho = origen.getShort();
+            capsulas = Math.min(origen.get(), Poderes.MAX_CAPSULAS);
+            for (int i = 0; i < capsulas; i++) {
+                capsulaX[i] = origen.getShort();
+                capsulaY[i] = origen.getShort();
+                capsulaTipo[i] = origen.get();
+            }
+            disparos = Math.min(origen.getShort(), Poderes.MAX_DISPAROS);
+            for (int i = 0; i < disparos; i++) {
+                disparoX[i] = origen.getShort();
+                disparoY[i] = origen.getShort();
+            }
+        }
+    }
+    
+    // Para dibujar con un Renderizador; anterior (puede ser null) da el punto de partida
+    // de la interpolación
+    public void aInstantanea(EstadoRed anterior, Instantanea destino, Paleta paleta) {
+        destino.tick = tick;
+        destino.instante = System.nanoTime();
+        destino.enJuego = enJuego;
+        destino.nivel = nivel;
+        destino.vidas = vidas;
+        destino.puntuacion = puntuacion;
+        destino.paletaX = paletaX;
+        destino.paletaXAnterior = anterior != null ? anterior.paletaX : paletaX;
+        destino.paletaY = paleta.getY();
+        destino.paletaWidth = poderes ? paletaAncho : paleta.getWidth();
+        destino.paletaHeight = paleta.getHeight();
+        
+        destino.reservarPelotas(pelotas);
+        // Las pelotas no tienen identidad en la red: solo se interpola si la cantidad no cambió
+        boolean interpolar = anterior != null && anterior.pelotas == pelotas;
+        for (int i = 0; i < pelotas; i++) {
+            destino.pelotaX[i] = pelotaX[i];
+            destino.pelotaY[i] = pelotaY[i];
+            destino.pelotaXAnterior[i] = interpolar ? anterior.pelotaX[i] : pelotaX[i];
+            destino.pelotaYAnterior[i] = interpolar ? anterior.pelotaY[i] : pelotaY[i];
+        }
+        destino.capsulas = capsulas;
+        for (int i = 0; i < capsulas; i++) {
+            destino.capsulaX[i] = capsulaX[i];
+            destino.capsulaY[i] = capsulaY[i];
+            destino.capsulaTipo[i] = capsulaTipo[i];
+        }
+        destino.disparos = disparos;
+        for (int i = 0; i < disparos; i++) {
+            destino.disparoX[i] = disparoX[i];
+            destino.disparoY[i] = disparoY[i];
+        }
+        destino.bloques.copiarDe(bloques);
+    }
+}
\ No newline at end of file
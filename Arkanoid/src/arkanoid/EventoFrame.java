@@ -0,0 +1,31 @@
+package arkanoid;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+// Evento JFR por frame; solo se crea cuando hay una grabación JFR activa que lo habilita
+@Name("arkanoid.Frame")
+@Label("Frame de Arkanoid")
+@Category("Arkanoid")
+@Description("Tiempos por fase de un frame del juego")
+public class EventoFrame extends Event {
+    @Label("Update")
+    @Description("Último paso de simulación publicado (corre en otro hilo)")
+    @Timespan(Timespan.NANOSECONDS)
+    public long updateNs;
+    
+    @Label("Draw")
+    @Timespan(Timespan.NANOSECONDS)
+    public long drawNs;
+    
+    @Label("Show")
+    @Timespan(Timespan.NANOSECONDS)
+    public long showNs;
+    
+    @Label("Bytes reservados")
+    public long bytesReservados;
+}
\ No newline at end of file
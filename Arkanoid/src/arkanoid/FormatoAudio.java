@@ -0,0 +1,18 @@
+package arkanoid;
+
+import javax.sound.sampled.AudioFormat;
+
+// Formato de todo el audio del juego: 44,1 kHz, 16 bits con signo, estéreo, little endian
+public final class FormatoAudio {
+    public static final int FRECUENCIA = 44100;
+    public static final int CANALES = 2;
+    public static final int BYTES_POR_FRAME = 2 * CANALES;
+    public static final AudioFormat FORMATO = new AudioFormat(FRECUENCIA, 16, CANALES, true, false);
+    
+    private FormatoAudio() {
+    }
+    
+    public static long framesANanos(long frames) {
+        return frames * 1_000_000_000L / FRECUENCIA;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package arkanoid;
+
+// Bloques que pueden tocar un rectángulo: devuelve cuántos hay y deja sus ids en resultado().
+// Puede devolver de más (el test exacto los descarta) pero nunca de menos.
+public interface FuenteCandidatos {
+    int consultar(int minX, int minY, int maxX, int maxY);
+    
+    int[] resultado();
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package arkanoid;
+
+// Origen de la entrada de cada tick: teclado en vivo o una grabación
+public interface FuenteEntrada {
+    int FIN = -1;
+    
+    // Estado de la entrada para el próximo tick (bits de Entrada), o FIN si no hay más
+    int siguienteTick();
+}
\ No newline at end of file
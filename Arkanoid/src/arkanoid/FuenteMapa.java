@@ -0,0 +1,110 @@
+package arkanoid;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+// Fuente de mapa de bits: cada carácter ASCII imprimible se rasteriza una vez con Java2D
+// y después el texto se arma copiando las máscaras al Lienzo, sin maquetar nada.
+public class FuenteMapa {
+    private static final char PRIMERO = ' ';
+    private static final char ULTIMO = '~';
+    
+    private final int[] avance = new int[ULTIMO - PRIMERO + 1];
+    // Caja de cada máscara respecto del origen del carácter sobre la línea base
+    private final int[] izquierda = new int[avance.length];
+    private final int[] arriba = new int[avance.length];
+    private final int[] ancho = new int[avance.length];
+    private final int[] alto = new int[avance.length];
+    private final byte[][] cobertura = new byte[avance.length][];
+    // Lo más alto y lo más bajo que llega cualquier glifo respecto de la línea base
+    private int arribaMaximo;
+    private int abajoMaximo;
+    
+    public FuenteMapa(Font fuente) {
+        BufferedImage medida = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D gm = medida.createGraphics();
+        FontMetrics metrics = gm.getFontMetrics(fuente);
+        gm.dispose();
+        
+        // Margen de sobra para glifos que se salen de su avance o de ascenso/descenso
+        int margen = fuente.getSize();
+        int lado = metrics.getMaxAdvance() + 2 * margen;
+        int altoImagen = metrics.getHeight() + 2 * margen;
+        int base = margen + metrics.getAscent();
+        
+        for (char c = PRIMERO; c <= ULTIMO; c++) {
+            int i = c - PRIMERO;
+            avance[i] = metrics.charWidth(c);
+            
+            BufferedImage imagen = new BufferedImage(Math.max(lado, 1), altoImagen, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = imagen.createGraphics();
+            g.setFont(fuente);
+            g.setColor(Color.WHITE);
+            g.drawString(String.valueOf(c), margen, base);
+            g.dispose();
+            recortar(i, imagen, margen, base);
+        }
+    }
+    
+    // Se queda solo con la caja de los píxeles cubiertos
+    private void recortar(int i, BufferedImage imagen, int origenX, int base) {
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = -1, maxY = -1;
+        for (int y = 0; y < imagen.getHeight(); y++) {
+            for (int x = 0; x < imagen.getWidth(); x++) {
+                if ((imagen.getRGB(x, y) >>> 24) != 0) {
+                    minX = Math.min(minX, x);
+                    maxX = Math.max(maxX, x);
+                    minY = Math.min(minY, y);
+                    maxY = Math.max(maxY, y);
+                }
+            }
+        }
+        if (maxX < 0) {
+            cobertura[i] = new byte[0]; // Espacio
+            return;
+        }
+        ancho[i] = maxX - minX + 1;
+        alto[i] = maxY - minY + 1;
+        izquierda[i] = minX - origenX;
+        arriba[i] = minY - base;
+        arribaMaximo = Math.min(arribaMaximo, arriba[i]);
+        abajoMaximo = Math.max(abajoMaximo, arriba[i] + alto[i]);
+        cobertura[i] = new byte[ancho[i] * alto[i]];
+        for (int y = 0; y < alto[i]; y++) {
+            for (int x = 0; x < ancho[i]; x++) {
+                cobertura[i][y * ancho[i] + x] = (byte) (imagen.getRGB(minX + x, minY + y) >>> 24);
+            }
+        }
+    }
+    
+    private static int indice(char c) {
+        return c >= PRIMERO && c <= ULTIMO ? c - PRIMERO : '?' - PRIMERO;
+    }
+    
+    // Como FontMetrics.stringWidth
+    public int anchoTexto(CharSequence texto) {
+        int total = 0;
+        for (int k = 0; k < texto.length(); k++) {
+            total += avance[indice(texto.charAt(k))];
+        }
+        return total;
+    }
+    
+    // Filas que puede tocar un texto con la línea base en baseY: [baseY + arriba, baseY + abajo)
+    public int getArriba() { return arribaMaximo; }
+    public int getAbajo() { return abajoMaximo; }
+    
+    // Como drawString: (x, baseY) es el origen del primer carácter sobre la línea base
+    public void dibujar(Lienzo lienzo, CharSequence texto, int x, int baseY, int rgb) {
+        for (int k = 0; k < texto.length(); k++) {
+            int i = indice(texto.charAt(k));
+            if (cobertura[i].length > 0) {
+                lienzo.mascara(cobertura[i], ancho[i], alto[i], x + izquierda[i], baseY + arriba[i], rgb);
+            }
+            x += avance[i];
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package arkanoid;
+
+// De dónde saca el Motor cada nivel: los generados (NivelesGenerados) o un archivo de
+// PaqueteNiveles. Se llama desde el hilo de simulación; puede ir preparando el siguiente.
+public interface FuenteNiveles {
+    // Los niveles van de 1 a cantidad()
+    int cantidad();
+    
+    Nivel nivel(int numero);
+    
+    // Identifica los niveles en grabaciones y guardados, que no los llevan adentro: la
+    // cantidad en los 32 bits altos y un CRC32 del paquete en los bajos. Se pide en cada
+    // guardado (también los de Rebobinado): tiene que estar calculada de antemano
+    long huella();
+}
\ No newline at end of file
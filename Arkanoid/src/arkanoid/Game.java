@@ -2,36 +2,78 @@ package arkanoid;
 
 import java.awt.*;
 import java.awt.image.BufferStrategy;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
 
 public class Game extends Canvas implements Runnable {
     private static final long serialVersionUID = 1L;
-    public static final int WIDTH = 800;
-    public static final int HEIGHT = 600;
+    public static final int WIDTH = Motor.WIDTH;
+    public static final int HEIGHT = Motor.HEIGHT;
+    public static final int TICKS_POR_SEGUNDO = Integer.getInteger("arkanoid.ticks", 60);
+    private static final int MAX_TICKS_POR_FRAME = 5;
+    private static final long NS_POR_TICK = 1_000_000_000L / TICKS_POR_SEGUNDO;
+    private static final int SEGUNDOS_REBOBINADO = 10;
+    // Archivo del guardado rápido (F5 / F9)
+    private static final String ARCHIVO_GUARDADO = System.getProperty("arkanoid.guardado", "arkanoid.sav");
+    // java2d o raster (ver Renderizador)
+    private static final String RENDER = System.getProperty("arkanoid.render", "java2d");
     
-    private boolean running = false;
+    private volatile boolean running = false;
     private Thread gameThread;
-    public boolean isgameStarted = false;
+    private Thread renderThread;
+    private Temporizador temporizador;
     
-    private Paleta paleta;
-    private Pelota pelota;
-    private List<Bloque> bloques = new ArrayList<>();
-    private int nivelActual = 1;
-    private int vidas = 3;
-    private int puntuacion = 0;
+    private Motor motor;
     private Botones botones;
+    private Renderizador escena;
+    private Metricas metricas;
+    
+    // La simulación publica una Instantanea por espera; el hilo de dibujo toma la última
+    // cuando le toca un frame, sin despertarse por cada publicación
+    private final TripleBuffer<Instantanea> estados = new TripleBuffer<>(Instantanea::new);
+    private long tick = 0;
+    
+    // Entrada de cada tick: el teclado o una grabación; opcionalmente se graba
+    private Entrada entrada = new Entrada();
+    private FuenteEntrada fuente;
+    private Grabador grabador;
+    private Audio audio;
+    private ServidorEspectadores servidor;
+    
+    private final Rebobinado rebobinado;
+    private ArchivoGuardado guardadoRapido; // se abre con el primer F5 o F9
     
     public Game() {
+        this(nuevoTemporizador(), new Motor(), null, null, null, null);
+    }
+    
+    // reproductor, grabador, audio y servidor pueden ser null
+    public Game(Temporizador temporizador, Motor motor, Reproductor reproductor, Grabador grabador,
+                Audio audio, ServidorEspectadores servidor) {
+        this.temporizador = temporizador;
+        this.motor = motor;
+        this.fuente = reproductor != null ? reproductor : entrada;
+        // Al reproducir, el anillo tiene que ser del mismo largo que cuando se grabó
+        this.rebobinado = reproductor != null
+            ? reproductor.nuevoRebobinado()
+            : new Rebobinado(TICKS_POR_SEGUNDO * SEGUNDOS_REBOBINADO);
+        this.grabador = grabador;
+        this.audio = audio;
+        this.servidor = servidor;
+        this.metricas = new Metricas(temporizador);
+        String archivoMetricas = System.getProperty("arkanoid.metricas.archivo");
+        if (archivoMetricas != null) {
+            metricas.volcarA(archivoMetricas, Integer.getInteger("arkanoid.metricas.periodo", 10));
+        }
         canvasSetup();
         new Ventana("Arkanoid", this);
         
-        paleta = new Paleta();
-        botones = new Botones(this, paleta);
+        botones = new Botones(entrada, metricas);
         this.addKeyListener(botones);
         this.setFocusable(true);
-        
-        inicializarNivel(1);
+    }
+
+    private static Temporizador nuevoTemporizador() {
+        return new TemporizadorHibrido(TICKS_POR_SEGUNDO, MAX_TICKS_POR_FRAME);
     }
 
     private void canvasSetup() {
@@ -40,122 +82,91 @@ public class Game extends Canvas implements Runnable {
         this.setMinimumSize(new Dimension(WIDTH, HEIGHT));
     }
 
-    private void inicializarNivel(int nivel) {
-        paleta.resetPosition();
-        pelota = new Pelota(this);
-        bloques.clear();
-        crearBloquesParaNivel(nivel);
-    }
-    
-    private void crearBloquesParaNivel(int nivel) {
-        int filas = 2 + (nivel - 1); // Primer nivel: 2 filas
-        int columnas = 10;
-        int bloqueWidth = 70;
-        int bloqueHeight = 25;
-        int espacio = 5;
-        int margenSuperior = 50;
-        
-        Color[] colores = {Color.RED, Color.ORANGE, Color.YELLOW, Color.GREEN, Color.CYAN, Color.MAGENTA};
+    // Hilo de simulación: solo este hilo toca el Motor
+    public void run() {
+        this.requestFocus();
+        temporizador.iniciar();
+        publicarEstado();
         
-        for (int fila = 0; fila < filas; fila++) {
-            for (int col = 0; col < columnas; col++) {
-                if (!debeTenerBloque(nivel, fila, col, filas, columnas)) {
-                    continue;
+        while (running) {
+            int ticks = temporizador.esperarSiguienteTick();
+            metricas.iniciarTicks(ticks);
+            
+            for (int i = 0; i < ticks; i++) {
+                int codigo = fuente.siguienteTick();
+                if (codigo == FuenteEntrada.FIN) {
+                    break; // Terminó la reproducción: el estado queda congelado
+                }
+                grabar(codigo & ~(Entrada.GUARDAR | Entrada.CARGAR));
+                if ((codigo & Entrada.GUARDAR) != 0) {
+                    guardarRapido();
+                }
+                if ((codigo & Entrada.CARGAR) != 0) {
+                    cargarRapido();
                 }
                 
-                int x = col * (bloqueWidth + espacio) + espacio;
-                int y = fila * (bloqueHeight + espacio) + margenSuperior;
-                
-                int tipo = determinarTipo(nivel, fila, col);
-                int resistencia = determinarResistencia(nivel, fila, col);
-                
-                Color color = colores[(fila + nivel) % colores.length];
-                Bloque bloque = new Bloque(x, y, bloqueWidth, bloqueHeight, color, tipo);
-                bloque.setResistencia(resistencia);
-                bloques.add(bloque);
+                if (rebobinado.paso(motor, codigo) && audio != null) {
+                    audio.procesar(motor.getEventos());
+                }
+                tick++;
             }
+            metricas.terminarTicks();
+            publicarEstado();
         }
+        stop();
     }
     
-    private boolean debeTenerBloque(int nivel, int fila, int col, int totalFilas, int totalColumnas) {
-        // Crear diferentes patrones según el nivel
-        switch (nivel % 5) { // Ciclo de patrones cada 5 niveles
-            case 1: // Patrón: columnas alternas
-                return col % 2 == fila % 2;
-                
-            case 2: // Patrón: marco exterior
-                return fila == 0 || fila == totalFilas - 1 || 
-                       col == 0 || col == totalColumnas - 1;
-                
-            case 3: // Patrón: pirámide
-                int centro = totalColumnas / 2;
-                int distancia = Math.abs(col - centro);
-                return distancia <= fila && fila < totalFilas / 2 + 1;
-                
-            case 4: // Patrón: rombo
-                int centroFila = totalFilas / 2;
-                int centroCol = totalColumnas / 2;
-                int distFila = Math.abs(fila - centroFila);
-                int distCol = Math.abs(col - centroCol);
-                return distFila + distCol <= Math.min(centroFila, centroCol) + 1;
-                
-            case 0: // Patrón: ajedrez
-                return (fila + col) % 2 == 0;
-                
-            default:
-                return true;
+    private void publicarEstado() {
+        estados.paraEscribir().capturar(motor, tick);
+        estados.publicar();
+        if (servidor != null) {
+            servidor.publicar(motor, tick);
         }
     }
     
-    private int determinarTipo(int nivel, int fila, int col) {
-        // Bloques especiales basados en posición y nivel
-        if (fila == 0 && col % 3 == 0) return 1; // Bloques resistentes
-        if (fila == Math.min(2, nivel) && col % 4 == 0) return 2; // Bloques de puntos extra
-        return 0; // Bloque normal
-    }
-    
-    private int determinarResistencia(int nivel, int fila, int col) {
-        int resistenciaBase = 1;
-        
-        // Aumentar resistencia según nivel
-        if (nivel >= 3) resistenciaBase++;
-        if (nivel >= 6) resistenciaBase++;
-        if (nivel >= 9) resistenciaBase++;
-        
-        // Bloques en posiciones estratégicas son más resistentes
-        if (fila == 0) resistenciaBase++; // Primera fila más resistente
-        if (col % 2 == 0) resistenciaBase++; // Columnas pares más resistentes
-        
-        return Math.min(resistenciaBase, 5); // Máximo 5 de resistencia
-    }
-    
-    public void run() {
-        this.requestFocus();
-        long lastTime = System.nanoTime();
-        double amountOfTicks = 60.0;
-        double ns = 1000000000 / amountOfTicks;
-        double delta = 0;
-        
+    // Hilo de dibujo: va a la frecuencia del monitor, no a la de los ticks, e interpola la
+    // paleta y la pelota entre los dos últimos ticks. Si los frames no entran en el
+    // presupuesto baja su propia frecuencia; la simulación sigue a paso fijo igual
+    private void bucleRender() {
+        RitmoDibujo ritmo = new RitmoDibujo(frecuenciaMonitor());
+        double alfaDibujado = -1;
         while (running) {
-            long now = System.nanoTime();
-            delta += (now - lastTime) / ns;
-            lastTime = now;
+            ritmo.esperarSiguienteFrame();
+            boolean nuevo = estados.actualizar();
+            Instantanea estado = estados.paraLeer();
+            long inicio = System.nanoTime();
+            double alfa = estado.alfa(inicio, NS_POR_TICK);
             
-            if (delta >= 1) {
-                if (isgameStarted) {
-                    update();
-                }
-                draw();
-                delta--;
+            // Sin estado nuevo y sin nada más que interpolar el frame saldría igual al anterior
+            if (!nuevo && (!estado.enJuego || alfa == alfaDibujado)) {
+                continue;
             }
+            metricas.iniciarFrame();
+            draw(estado, alfa);
+            metricas.terminarFrame();
+            ritmo.registrar(System.nanoTime() - inicio);
+            metricas.setFpsObjetivo(ritmo.getFpsObjetivo());
+            alfaDibujado = alfa;
         }
-        stop();
+    }
+    
+    // -Darkanoid.fps fuerza la frecuencia; si el monitor no la informa se usa la de los ticks
+    private int frecuenciaMonitor() {
+        Integer forzada = Integer.getInteger("arkanoid.fps");
+        if (forzada != null) {
+            return forzada;
+        }
+        GraphicsConfiguration gc = this.getGraphicsConfiguration();
+        int hz = gc != null ? gc.getDevice().getDisplayMode().getRefreshRate() : DisplayMode.REFRESH_RATE_UNKNOWN;
+        return hz != DisplayMode.REFRESH_RATE_UNKNOWN ? hz : TICKS_POR_SEGUNDO;
     }
     
     public synchronized void start() {
-        gameThread = new Thread(this);
-        gameThread.start();
         running = true;
+        renderThread = new Thread(this::bucleRender, "arkanoid-render");
+        gameThread = new Thread(this, "arkanoid-sim");
+        renderThread.start();
+        gameThread.start();
     }
 
     public void stop() {
@@ -167,105 +178,188 @@ public class Game extends Canvas implements Runnable {
         }
     }
     
-    public void update() {
-        pelota.update(paleta, bloques);
-        paleta.update(pelota);
-        
-        if (bloques.isEmpty()) {
-            nivelActual++;
-            if (nivelActual > 10) {
-                isgameStarted = false;
-            } else {
-                pelota.incrementarVelocidad(0.5);
-                inicializarNivel(nivelActual);
+    private void guardarRapido() {
+        try {
+            abrirGuardado().guardar(motor);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+    
+    private void cargarRapido() {
+        try {
+            if (!abrirGuardado().cargar(motor)) {
+                return;
             }
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+        rebobinado.limpiar();
+        // Lo que siga ya no sale de la entrada grabada
+        if (grabador != null) {
+            try {
+                grabador.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            grabador = null;
         }
     }
     
-    public void draw() {
+    private ArchivoGuardado abrirGuardado() throws IOException {
+        if (guardadoRapido == null) {
+            guardadoRapido = new ArchivoGuardado(ARCHIVO_GUARDADO);
+        }
+        return guardadoRapido;
+    }
+    
+    private void grabar(int codigo) {
+        if (grabador == null) {
+            return;
+        }
+        try {
+            grabador.registrar(codigo);
+        } catch (IOException e) {
+            e.printStackTrace();
+            grabador = null;
+        }
+    }
+    
+    public void draw(Instantanea estado, double alfa) {
         BufferStrategy buffer = this.getBufferStrategy();
         if (buffer == null) {
             this.createBufferStrategy(3);
             return;
         }
         
-        Graphics g = buffer.getDrawGraphics();
-        
-        if (!isgameStarted) {
-            drawWelcomeScreen(g);
-        } else {
-            drawBackground(g);
-            paleta.draw(g);
-            pelota.draw(g);
-            
-            for (Bloque bloque : bloques) {
-                bloque.draw(g);
-            }
-            
-            drawGameInfo(g);
+        if (escena == null) {
+            escena = Renderizador.crear(RENDER, this.getGraphicsConfiguration());
         }
         
+        long inicio = System.nanoTime();
+        Graphics g = buffer.getDrawGraphics();
+        escena.draw(g, estado, alfa);
+        if (metricas.isOverlayVisible()) {
+            metricas.drawOverlay(g);
+        }
         g.dispose();
-        buffer.show();
-    }
-    
-    private void drawWelcomeScreen(Graphics g) {
-        g.setColor(new Color(0, 0, 51));
-        g.fillRect(0, 0, WIDTH, HEIGHT);
-        
-        g.setColor(Color.WHITE);
-        g.setFont(new Font("Roboto", Font.BOLD, 60));
-        String title = "ARKANOID";
-        int titleWidth = g.getFontMetrics().stringWidth(title);
-        g.drawString(title, (WIDTH / 2) - (titleWidth / 2), 150);
-        
-        g.setFont(new Font("Roboto", Font.PLAIN, 30));
-        String startMessage = "Presione ESPACIO para jugar";
-        int messageWidth = g.getFontMetrics().stringWidth(startMessage);
-        g.drawString(startMessage, (WIDTH / 2) - (messageWidth / 2), HEIGHT / 2 + 50);
-    }
-    
-    private void drawBackground(Graphics g) {
-        g.setColor(new Color(0, 0, 80));
-        g.fillRect(0, 0, WIDTH, HEIGHT);
+        inicio = metricas.medir(Metricas.DRAW, inicio);
         
-        Graphics2D g2d = (Graphics2D) g;
-        g2d.setColor(Color.WHITE);
-        g2d.setStroke(new BasicStroke(3));
-        g2d.drawRect(0, 0, WIDTH - 1, HEIGHT - 1);
+        buffer.show();
+        metricas.medir(Metricas.SHOW, inicio);
     }
     
-    private void drawGameInfo(Graphics g) {
-        g.setColor(Color.WHITE);
-        g.setFont(new Font("Roboto", Font.BOLD, 20));
-        g.drawString("Puntos: " + puntuacion, 20, 30);
-        g.drawString("Vidas: " + vidas, WIDTH - 100, 30);
-        g.drawString("Nivel: " + nivelActual, WIDTH / 2 - 30, 30);
+    public Temporizador getTemporizador() {
+        return temporizador;
     }
     
-    public static int ensureRange(int value, int min, int max) {
-        return Math.min(Math.max(value, min), max);
+    public Metricas getMetricas() {
+        return metricas;
     }
     
-    public void incrementarPuntuacion(int puntos) {
-        puntuacion += puntos;
+    public Motor getMotor() {
+        return motor;
     }
     
-    public void perderVida() {
-        vidas--;
-        if (vidas <= 0) {
-            isgameStarted = false;
+    // Opciones: --semilla <n>, --pelotas <n>, --grabar <archivo>, --reproducir <archivo>,
+    // --cargar <archivo de guardado>, --niveles <paquete de PaqueteNiveles>, --modo <niveles|infinito>,
+    // --poderes <si|no> (por defecto si)
+    public static void main(String[] args) throws IOException {
+        Long semilla = null;
+        int pelotas = 1;
+        String archivoGrabacion = null;
+        String archivoReproduccion = null;
+        String archivoGuardado = null;
+        String archivoNiveles = null;
+        boolean infinito = false;
+        boolean poderes = true;
+        for (int i = 0; i < args.length - 1; i++) {
+            switch (args[i]) {
+                case "--semilla": semilla = Long.parseLong(args[++i]); break;
+                case "--pelotas": pelotas = Integer.parseInt(args[++i]); break;
+                case "--grabar": archivoGrabacion = args[++i]; break;
+                case "--reproducir": archivoReproduccion = args[++i]; break;
+                case "--cargar": archivoGuardado = args[++i]; break;
+                case "--niveles": archivoNiveles = args[++i]; break;
+                case "--modo": infinito = modoInfinito(args[++i]); break;
+                case "--poderes": poderes = siONo(args[++i]); break;
+                default:
+            }
+        }
+        
+        Reproductor reproductor = null;
+        if (archivoReproduccion != null) {
+            reproductor = new Reproductor(archivoReproduccion);
+        }
+        // El paquete queda abierto toda la partida; el siguiente nivel se lee mientras se juega
+        FuenteNiveles niveles = archivoNiveles != null
+            ? new PrecargaNiveles(new PaqueteNiveles(archivoNiveles))
+            : NivelesGenerados.INSTANCIA;
+        Motor motor;
+        if (archivoGuardado != null) {
+            // Una grabación empieza siempre en una partida nueva
+            if (archivoGrabacion != null || reproductor != null) {
+                throw new IllegalArgumentException("--cargar no se puede combinar con --grabar ni --reproducir");
+            }
+            motor = ArchivoGuardado.leer(archivoGuardado, niveles);
+        } else if (reproductor != null) {
+            // Semilla, pelotas y opciones salen de la grabación
+            motor = reproductor.nuevoMotor(niveles);
         } else {
-            pelota.reset();
+            int opciones = (infinito ? Motor.INFINITO : 0) | (poderes ? Motor.PODERES : 0);
+            motor = Motor.crear(semilla != null ? semilla : System.nanoTime(), pelotas, niveles, opciones);
         }
+        
+        Grabador grabador = null;
+        if (archivoGrabacion != null) {
+            Grabador g = new Grabador(archivoGrabacion, motor.getSemilla(), motor.getPelotasPorSaque(),
+                                     motor.getOpciones(), motor.getNiveles().huella(),
+                                     TICKS_POR_SEGUNDO * SEGUNDOS_REBOBINADO);
+            grabador = g;
+            // Botones sale con System.exit: cerrar la grabación al terminar la JVM
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    g.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }));
+        }
+        
+        // -Darkanoid.audio: linea, nula, wav:<archivo> o no (ver Audio)
+        Audio audio = Audio.crear(System.getProperty("arkanoid.audio", "linea"));
+        if (audio != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    audio.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }));
+        }
+        
+        // -Darkanoid.servidor=<puerto>: transmite la partida a los Espectador que se conecten
+        Integer puerto = Integer.getInteger("arkanoid.servidor");
+        ServidorEspectadores servidor = puerto != null ? new ServidorEspectadores(puerto) : null;
+        
+        Game game = new Game(nuevoTemporizador(), motor, reproductor, grabador, audio, servidor);
+        game.start();
     }
     
-    public void eliminarBloque(Bloque bloque) {
-        bloques.remove(bloque);
+    private static boolean modoInfinito(String modo) {
+        switch (modo) {
+            case "niveles": return false;
+            case "infinito": return true;
+            default: throw new IllegalArgumentException("Modo desconocido: " + modo);
+        }
     }
     
-    public static void main(String[] args) {
-        Game game = new Game();
-        game.start();
+    private static boolean siONo(String valor) {
+        switch (valor) {
+            case "si": return true;
+            case "no": return false;
+            default: throw new IllegalArgumentException("Se esperaba si o no: " + valor);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package arkanoid;
+
+import java.awt.Color;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+// Dígitos de resistencia pre-rasterizados con la fuente de los bloques,
+// para dibujarlos con drawImage en vez de maquetar texto en cada repintado
+public final class Glifos {
+    private static final BufferedImage[] DIGITOS = new BufferedImage[10];
+    private static final int[] ANCHO = new int[10];
+    private static final int ASCENSO;
+    
+    static {
+        BufferedImage medida = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D gm = medida.createGraphics();
+        FontMetrics metrics = gm.getFontMetrics(Recursos.FUENTE_BLOQUE);
+        gm.dispose();
+        
+        ASCENSO = metrics.getAscent();
+        int alto = metrics.getAscent() + metrics.getDescent();
+        for (int d = 0; d < 10; d++) {
+            String digito = String.valueOf(d);
+            ANCHO[d] = metrics.stringWidth(digito);
+            
+            BufferedImage imagen = new BufferedImage(ANCHO[d] + 2, alto, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = imagen.createGraphics();
+            g.setFont(Recursos.FUENTE_BLOQUE);
+            g.setColor(Color.BLACK);
+            g.drawString(digito, 1, ASCENSO);
+            g.dispose();
+            DIGITOS[d] = imagen;
+        }
+    }
+    
+    private Glifos() {
+    }
+    
+    // Dibuja el número centrado horizontalmente en centroX con la línea base en baseY
+    public static void dibujarNumero(Graphics g, int numero, int centroX, int baseY) {
+        if (numero < 0 || numero > 9) {
+            g.setColor(Color.BLACK);
+            g.setFont(Recursos.FUENTE_BLOQUE);
+            String texto = String.valueOf(numero);
+            g.drawString(texto, centroX - g.getFontMetrics().stringWidth(texto) / 2, baseY);
+            return;
+        }
+        g.drawImage(DIGITOS[numero], centroX - ANCHO[numero] / 2 - 1, baseY - ASCENSO, null);
+    }
+}
\ No newline at end of file
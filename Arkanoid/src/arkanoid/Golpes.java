@@ -0,0 +1,67 @@
+package arkanoid;
+
+import java.util.Arrays;
+
+// Golpes a bloques de todas las pelotas en un tick. Mientras las pelotas se mueven el
+// campo de bloques no cambia, así todas ven el mismo; al final del tick los golpes se
+// aplican ordenados por (bloque, instante dentro del tick, pelota), de modo que el
+// resultado no depende del orden en que se actualizaron las pelotas.
+public class Golpes {
+    private static final int BITS_PELOTA = 20;
+    private static final int BITS_INSTANTE = 21;
+    private static final int DESPLAZAMIENTO_BLOQUE = BITS_INSTANTE + BITS_PELOTA;
+    private static final double ESCALA_INSTANTE = 1 << (BITS_INSTANTE - 1); // [0, 1] -> [0, 2^20]
+
+    // Cada golpe es una clave long que ya ordena como corresponde, sin objetos
+    private long[] claves = new long[64];
+    private int cantidad;
+
+    public void registrar(int bloque, double instante, int pelota) {
+        if (cantidad == claves.length) {
+            claves = Arrays.copyOf(claves, cantidad * 2);
+        }
+        claves[cantidad++] = (long) bloque << DESPLAZAMIENTO_BLOQUE
+                           | Math.round(instante * ESCALA_INSTANTE) << BITS_PELOTA
+                           | pelota;
+    }
+
+    public void aplicar(Motor motor) {
+        ordenar();
+        AlmacenBloques bloques = motor.getBloques();
+        for (int i = 0; i < cantidad; i++) {
+            int id = bloque(i);
+            // Un bloque que ya se rompió en este mismo tick no cuenta los golpes siguientes
+            if (!bloques.estaVivo(id)) {
+                continue;
+            }
+            if (bloques.golpear(id)) {
+                motor.getEventos().registrar(RegistroEventos.ROTURA, bloques, id);
+                motor.eliminarBloque(id);
+                motor.incrementarPuntuacion(bloques.getPuntos(id));
+                if (motor.getPoderes() != null) {
+                    motor.getPoderes().alRomper(motor, bloques, id);
+                }
+            } else {
+                motor.getEventos().registrar(RegistroEventos.GOLPE, bloques, id);
+            }
+        }
+        cantidad = 0;
+    }
+
+    public void ordenar() {
+        Arrays.sort(claves, 0, cantidad);
+    }
+    
+    // Bloque del golpe i; después de ordenar() quedan en el orden en que se aplican
+    public int bloque(int i) {
+        return (int) (claves[i] >>> DESPLAZAMIENTO_BLOQUE);
+    }
+    
+    public void limpiar() {
+        cantidad = 0;
+    }
+    
+    public int size() {
+        return cantidad;
+    }
+}
\ No newline at end of file
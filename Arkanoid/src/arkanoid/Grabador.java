@@ -0,0 +1,74 @@
+package arkanoid;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+// Graba la entrada de cada tick en un archivo binario compacto.
+// Formato: "ARKR", versión (short), semilla (long), pelotas por saque (short), opciones
+// (byte, bits de Motor), huella de los niveles (long, ver FuenteNiveles), capacidad del Rebobinado en ticks (int) y luego pares
+// (entrada: byte, repeticiones: varint) hasta el final del archivo. REBOBINAR se graba
+// como cualquier otra entrada y Rebobinado.paso la aplica igual al reproducir.
+public class Grabador implements Closeable {
+    static final int MAGIA = 0x41524B52; // "ARKR"
+    static final short VERSION = 8; // sube cuando cambia la física o el formato: una grabación vieja ya no se reproduciría igual
+    
+    private final DataOutputStream salida;
+    private int entradaActual = -1;
+    private long repeticiones = 0;
+    private long ticks = 0;
+    private boolean cerrado = false;
+    
+    public Grabador(String archivo, long semilla, int pelotasPorSaque, int opciones, long huellaNiveles,
+                    int ticksRebobinado) throws IOException {
+        salida = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(archivo)));
+        salida.writeInt(MAGIA);
+        salida.writeShort(VERSION);
+        salida.writeLong(semilla);
+        salida.writeShort(pelotasPorSaque);
+        salida.writeByte(opciones);
+        salida.writeLong(huellaNiveles);
+        salida.writeInt(ticksRebobinado);
+    }
+    
+    public synchronized void registrar(int entrada) throws IOException {
+        if (cerrado) {
+            return;
+        }
+        if (entrada != entradaActual) {
+            escribirTramo();
+            entradaActual = entrada;
+        }
+        repeticiones++;
+        ticks++;
+    }
+    
+    private void escribirTramo() throws IOException {
+        if (repeticiones == 0) {
+            return;
+        }
+        salida.writeByte(entradaActual);
+        long n = repeticiones;
+        while ((n & ~0x7FL) != 0) {
+            salida.writeByte((int) ((n & 0x7F) | 0x80));
+            n >>>= 7;
+        }
+        salida.writeByte((int) n);
+        repeticiones = 0;
+    }
+    
+    public long getTicks() {
+        return ticks;
+    }
+    
+    public synchronized void close() throws IOException {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+        escribirTramo();
+        salida.close();
+    }
+}
\ No newline at end of file
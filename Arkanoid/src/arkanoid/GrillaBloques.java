@@ -0,0 +1,148 @@
+package arkanoid;
+
+import java.util.Arrays;
+
+// Índice espacial de celdas uniformes para los bloques.
+// Cada bloque se guarda solo en la celda de su esquina superior izquierda;
+// las consultas amplían el área con el tamaño máximo de bloque para no perder ninguno.
+public class GrillaBloques implements FuenteCandidatos {
+    private static final int CAPACIDAD_INICIAL_CELDA = 4;
+    
+    private final int celdaAncho;
+    private final int celdaAlto;
+    private final int columnas;
+    private final int filas;
+    private final int[][] celdas;
+    private final int[] cuenta;
+    
+    // Por id de bloque: celda en la que está (-1 si no está indexado) y posición dentro de ella
+    private int[] celdaDe = new int[0];
+    private int[] slotDe = new int[0];
+    
+    private int maxAnchoBloque;
+    private int maxAltoBloque;
+    private int total;
+    private int[] resultado = new int[16];
+    
+    public GrillaBloques(int ancho, int alto, int celdaAncho, int celdaAlto) {
+        this.celdaAncho = celdaAncho;
+        this.celdaAlto = celdaAlto;
+        this.columnas = (ancho + celdaAncho - 1) / celdaAncho;
+        this.filas = (alto + celdaAlto - 1) / celdaAlto;
+        this.celdas = new int[columnas * filas][];
+        this.cuenta = new int[columnas * filas];
+    }
+    
+    public void limpiar() {
+        Arrays.fill(cuenta, 0);
+        Arrays.fill(celdaDe, -1);
+        maxAnchoBloque = 0;
+        maxAltoBloque = 0;
+        total = 0;
+    }
+    
+    public void agregar(int id, int x, int y, int width, int height) {
+        if (id >= celdaDe.length) {
+            int capacidad = Math.max(id + 1, celdaDe.length * 2);
+            int anterior = celdaDe.length;
+            celdaDe = Arrays.copyOf(celdaDe, capacidad);
+            slotDe = Arrays.copyOf(slotDe, capacidad);
+            Arrays.fill(celdaDe, anterior, capacidad, -1);
+        }
+        
+        int indice = indiceCelda(columna(x), fila(y));
+        int[] celda = celdas[indice];
+        if (celda == null) {
+            celda = new int[CAPACIDAD_INICIAL_CELDA];
+            celdas[indice] = celda;
+        } else if (cuenta[indice] == celda.length) {
+            celda = Arrays.copyOf(celda, celda.length * 2);
+            celdas[indice] = celda;
+        }
+        
+        celdaDe[id] = indice;
+        slotDe[id] = cuenta[indice];
+        celda[cuenta[indice]++] = id;
+        
+        maxAnchoBloque = Math.max(maxAnchoBloque, width);
+        maxAltoBloque = Math.max(maxAltoBloque, height);
+        total++;
+    }
+    
+    // Para un bloque que se movió: solo cambia de celda si su esquina pasó a otra
+    public void mover(int id, int x, int y, int width, int height) {
+        if (id < celdaDe.length && celdaDe[id] == indiceCelda(columna(x), fila(y))) {
+            return;
+        }
+        quitar(id);
+        agregar(id, x, y, width, height);
+    }
+    
+    // O(1): el último bloque de la celda ocupa el hueco
+    public void quitar(int id) {
+        if (id >= celdaDe.length || celdaDe[id] < 0) {
+            return;
+        }
+        
+        int indice = celdaDe[id];
+        int[] celda = celdas[indice];
+        int ultimo = --cuenta[indice];
+        int movido = celda[ultimo];
+        celda[slotDe[id]] = movido;
+        slotDe[movido] = slotDe[id];
+        
+        celdaDe[id] = -1;
+        total--;
+    }
+    
+    // Copia en resultado() los ids de bloques que pueden solaparse con el rectángulo dado
+    // y devuelve cuántos son. Copiarlos permite quitar bloques mientras se recorren.
+    public int consultar(int minX, int minY, int maxX, int maxY) {
+        int colDesde = columna(minX - maxAnchoBloque);
+        int colHasta = columna(maxX);
+        int filaDesde = fila(minY - maxAltoBloque);
+        int filaHasta = fila(maxY);
+        
+        int n = 0;
+        for (int f = filaDesde; f <= filaHasta; f++) {
+            for (int c = colDesde; c <= colHasta; c++) {
+                int indice = indiceCelda(c, f);
+                int cantidad = cuenta[indice];
+                if (cantidad == 0) {
+                    continue;
+                }
+                if (n + cantidad > resultado.length) {
+                    resultado = Arrays.copyOf(resultado, Math.max(resultado.length * 2, n + cantidad));
+                }
+                System.arraycopy(celdas[indice], 0, resultado, n, cantidad);
+                n += cantidad;
+            }
+        }
+        return n;
+    }
+    
+    // Buffer con los ids de la última consulta; válido hasta la siguiente
+    public int[] resultado() {
+        return resultado;
+    }
+    
+    public boolean isEmpty() {
+        return total == 0;
+    }
+    
+    public int size() {
+        return total;
+    }
+    
+    private int columna(int x) {
+        return Motor.ensureRange(Math.floorDiv(x, celdaAncho), 0, columnas - 1);
+    }
+    
+    private int fila(int y) {
+        return Motor.ensureRange(Math.floorDiv(y, celdaAlto), 0, filas - 1);
+    }
+    
+    private int indiceCelda(int col, int fila) {
+        return fila * columnas + col;
+    }
+}
\ No newline at end of file
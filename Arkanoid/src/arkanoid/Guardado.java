@@ -0,0 +1,192 @@
+package arkanoid;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// Estado completo de un Motor en binario, sin reflexión: se escribe campo por campo en un
+// ByteBuffer y se lee en el mismo orden. Es lo que usan Rebobinado y ArchivoGuardado.
+// Formato (big endian): "ARKS", versión (short), semilla (long), pelotas por saque (short),
+// opciones (byte, bits de Motor), huella de los niveles (long), estado del Aleatorio (long), en juego (byte), nivel, vidas (short), puntuación (int),
+// paleta x, x anterior, velocidad (short), cantidad de pelotas (short) y por cada una
+// x, y, x anterior, y anterior, xVel, yVel, speed (double), cantidad de ids de bloque (int)
+// y por cada id x, y (int), ancho, alto (short), tipo (byte), color, resistencia máxima,
+// resistencia (int) y vivo (byte), en el modo infinito el estado de CampoInfinito y con
+// poderes el estado de Poderes. Los
+// ids muertos se guardan para que los vivos conserven el suyo: el orden de los ids decide
+// los empates entre choques.
+public final class Guardado {
+    static final int MAGIA = 0x41524B53; // "ARKS"
+    static final short VERSION = 4; // sube cuando cambia el formato
+    
+    private static final int ENCABEZADO = 4 + 2 + 8 + 2 + 1 + 8 + 8 + 1 + 2 + 2 + 4 + 2 * 3 + 2 + 4;
+    private static final int POR_PELOTA = 7 * 8;
+    private static final int POR_BLOQUE = 4 + 4 + 2 + 2 + 1 + 4 + 4 + 4 + 1;
+    
+    private Guardado() {
+    }
+    
+    // Bytes que ocupa el estado actual del motor
+    public static int tamano(Motor motor) {
+        return ENCABEZADO + motor.getPelotas().size() * POR_PELOTA
+            + motor.getBloques().capacidadUsada() * POR_BLOQUE
+            + (motor.isInfinito() ? CampoInfinito.TAMANO_GUARDADO : 0)
+            + (motor.getPoderes() != null ? motor.getPoderes().tamanoGuardado() : 0);
+    }
+    
+    // Desde la posición actual del buffer, que tiene que tener tamano(motor) bytes libres
+    public static void escribir(Motor motor, ByteBuffer destino) {
+        destino.putInt(MAGIA);
+        destino.putShort(VERSION);
+        destino.putLong(motor.getSemilla());
+        destino.putShort((short) motor.getPelotasPorSaque());
+        destino.put((byte) motor.getOpciones());
+        destino.putLong(motor.getNiveles().huella());
+        destino.putLong(motor.getEstadoAleatorio());
+        destino.put((byte) (motor.isEnJuego() ? 1 : 0));
+        destino.putShort((short) motor.getNivelActual());
+        destino.putShort((short) motor.getVidas());
+        destino.putInt(motor.getPuntuacion());
+        
+        Paleta paleta = motor.getPaleta();
+        destino.putShort((short) paleta.getX());
+        destino.putShort((short) paleta.getXAnterior());
+        destino.putShort((short) paleta.getVel());
+        
+        PoolPelotas pelotas = motor.getPelotas();
+        destino.putShort((short) pelotas.size());
+        for (int i = 0; i < pelotas.size(); i++) {
+            Pelota pelota = pelotas.get(i);
+            destino.putDouble(pelota.getX());
+            destino.putDouble(pelota.getY());
+            destino.putDouble(pelota.getXAnterior());
+            destino.putDouble(pelota.getYAnterior());
+            destino.putDouble(pelota.getXVel());
+            destino.putDouble(pelota.getYVel());
+            destino.putDouble(pelota.getSpeed());
+        }
+        
+        AlmacenBloques bloques = motor.getBloques();
+        int ids = bloques.capacidadUsada();
+        destino.putInt(ids);
+        for (int id = 0; id < ids; id++) {
+            destino.putInt(bloques.x[id]);
+            destino.putInt(bloques.y[id]);
+            destino.putShort((short) bloques.width[id]);
+            destino.putShort((short) bloques.height[id]);
+            destino.put((byte) bloques.tipo[id]);
+            destino.putInt(bloques.colorOriginal[id]);
+            destino.putInt(bloques.resistenciaMaxima[id]);
+            destino.putInt(bloques.resistencia[id]);
+            destino.put((byte) (bloques.estaVivo(id) ? 1 : 0));
+        }
+        if (motor.isInfinito()) {
+            motor.getInfinito().escribir(destino);
+        }
+        if (motor.getPoderes() != null) {
+            motor.getPoderes().escribir(destino);
+        }
+    }
+    
+    // Partida nueva armada a partir de un estado guardado
+    public static Motor leer(ByteBuffer origen) throws IOException {
+        return leer(origen, NivelesGenerados.INSTANCIA);
+    }
+    
+    // Los niveles no van en el guardado: del que se guardó en adelante salen de esta fuente,
+    // que tiene que ser la misma con que se guardó
+    public static Motor leer(ByteBuffer origen, FuenteNiveles niveles) throws IOException {
+        int inicio = origen.position();
+        leerEncabezado(origen);
+        long semilla = origen.getLong();
+        int pelotasPorSaque = origen.getShort();
+        int opciones = origen.get();
+        origen.position(inicio);
+        Motor motor = Motor.crear(semilla, pelotasPorSaque, niveles, opciones);
+        leer(origen, motor);
+        return motor;
+    }
+    
+    // Reemplaza el estado de un motor existente; tiene que tener las mismas pelotas por saque
+    public static void leer(ByteBuffer origen, Motor motor) throws IOException {
+        leerEncabezado(origen);
+        origen.getLong(); // semilla: solo informativa, lo que sigue la partida es el Aleatorio
+        int pelotasPorSaque = origen.getShort();
+        if (pelotasPorSaque != motor.getPelotasPorSaque()) {
+            throw new IOException("El guardado es de una partida con " + pelotasPorSaque
+                + " pelotas por saque y el motor tiene " + motor.getPelotasPorSaque());
+        }
+        int opciones = origen.get();
+        if (opciones != motor.getOpciones()) {
+            throw new IOException("El guardado es de una partida con opciones " + opciones
+                + " y el motor tiene " + motor.getOpciones());
+        }
+        long huella = origen.getLong();
+        if (huella != motor.getNiveles().huella()) {
+            throw new IOException(String.format("El guardado es de otros niveles (huella %016x, el motor tiene %016x)",
+                huella, motor.getNiveles().huella()));
+        }
+        long estadoAleatorio = origen.getLong();
+        boolean enJuego = origen.get() != 0;
+        int nivel = origen.getShort();
+        int vidas = origen.getShort();
+        int puntuacion = origen.getInt();
+        
+        int paletaX = origen.getShort();
+        int paletaXAnterior = origen.getShort();
+        int paletaVel = origen.getShort();
+        motor.getPaleta().restaurar(paletaX, paletaXAnterior, paletaVel);
+        
+        // lanzar() gasta números del Aleatorio; su estado se restaura al final
+        PoolPelotas pelotas = motor.getPelotas();
+        pelotas.liberarTodas();
+        int cantidad = origen.getShort();
+        for (int i = 0; i < cantidad; i++) {
+            Pelota pelota = pelotas.lanzar();
+            double x = origen.getDouble();
+            double y = origen.getDouble();
+            double xAnterior = origen.getDouble();
+            double yAnterior = origen.getDouble();
+            pelota.cargar(x, y, origen.getDouble(), origen.getDouble(), origen.getDouble());
+            pelota.setAnterior(xAnterior, yAnterior);
+        }
+        
+        motor.limpiarBloques();
+        int ids = origen.getInt();
+        AlmacenBloques bloques = motor.getBloques();
+        for (int i = 0; i < ids; i++) {
+            int x = origen.getInt();
+            int y = origen.getInt();
+            int width = origen.getShort();
+            int height = origen.getShort();
+            int tipo = origen.get();
+            Color color = new Color(origen.getInt());
+            int resistenciaMaxima = origen.getInt();
+            int resistencia = origen.getInt();
+            boolean vivo = origen.get() != 0;
+            int id = motor.agregarBloque(x, y, width, height, color, tipo, resistenciaMaxima);
+            bloques.resistencia[id] = resistencia;
+            if (!vivo) {
+                motor.eliminarBloque(id);
+            }
+        }
+        
+        if (motor.isInfinito()) {
+            motor.getInfinito().leer(origen);
+        }
+        if (motor.getPoderes() != null) {
+            motor.getPoderes().leer(origen, motor.getPaleta());
+        }
+        motor.restaurar(enJuego, nivel, vidas, puntuacion, estadoAleatorio);
+    }
+    
+    private static void leerEncabezado(ByteBuffer origen) throws IOException {
+        if (origen.remaining() < ENCABEZADO || origen.getInt() != MAGIA) {
+            throw new IOException("No es un estado guardado de Arkanoid");
+        }
+        short version = origen.getShort();
+        if (version != VERSION) {
+            throw new IOException("Versión de estado guardado no soportada: " + version);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package arkanoid;
+
+import java.util.Arrays;
+
+// Histograma de tamaño fijo para tiempos en nanosegundos.
+// Cubetas log-lineales: 16 por cada potencia de dos (error relativo < 7%),
+// sin reservar memoria al registrar.
+public class Histograma {
+    private static final int BITS_SUB = 4;
+    private static final int SUB = 1 << BITS_SUB;
+    
+    private final long[] cuentas = new long[64 * SUB];
+    private long total;
+    private long maximo;
+    
+    public void registrar(long valor) {
+        if (valor < 0) {
+            valor = 0;
+        }
+        cuentas[indice(valor)]++;
+        total++;
+        if (valor > maximo) {
+            maximo = valor;
+        }
+    }
+    
+    // Valor bajo el cual cae la fracción p (0..1) de las muestras
+    public long percentil(double p) {
+        if (total == 0) {
+            return 0;
+        }
+        long objetivo = Math.max(1, (long) Math.ceil(p * total));
+        long acumulado = 0;
+        for (int i = 0; i < cuentas.length; i++) {
+            acumulado += cuentas[i];
+            if (acumulado >= objetivo) {
+                return Math.min(limiteSuperior(i), maximo);
+            }
+        }
+        return maximo;
+    }
+    
+    public long getMaximo() { return maximo; }
+    public long getTotal() { return total; }
+    
+    public void limpiar() {
+        Arrays.fill(cuentas, 0L);
+        total = 0;
+        maximo = 0;
+    }
+    
+    static int indice(long valor) {
+        if (valor < SUB) {
+            return (int) valor;
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(valor);
+        int mantisa = (int) (valor >>> (exponente - BITS_SUB)) & (SUB - 1);
+        return ((exponente - BITS_SUB + 1) << BITS_SUB) | mantisa;
+    }
+    
+    static long limiteSuperior(int indice) {
+        if (indice < SUB) {
+            return indice;
+        }
+        int exponente = (indice >>> BITS_SUB) - 1 + BITS_SUB;
+        long ancho = 1L << (exponente - BITS_SUB);
+        long inferior = (SUB | (indice & (SUB - 1))) * ancho;
+        return inferior + ancho - 1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,112 @@
+package arkanoid;
+
+// Copia del estado del Motor al final de un tick, lo único que ve el hilo de dibujo.
+// Guarda también las posiciones del tick anterior para interpolar entre los dos.
+public class Instantanea {
+    public long tick;
+    public long instante; // System.nanoTime() al capturar
+    public boolean enJuego;
+    public int nivel;
+    public int vidas;
+    public int puntuacion;
+    
+    public int paletaX, paletaY, paletaXAnterior;
+    public int paletaWidth, paletaHeight;
+    
+    // Pelotas en juego; los arreglos solo crecen y se reutilizan entre capturas
+    public int pelotas;
+    public double[] pelotaX = new double[4], pelotaY = new double[4];
+    public double[] pelotaXAnterior = new double[4], pelotaYAnterior = new double[4];
+    
+    // Cápsulas y disparos de Poderes; nunca hay más que en el Motor
+    public int capsulas;
+    public final int[] capsulaX = new int[Poderes.MAX_CAPSULAS], capsulaY = new int[Poderes.MAX_CAPSULAS];
+    public final byte[] capsulaTipo = new byte[Poderes.MAX_CAPSULAS];
+    public int disparos;
+    public final int[] disparoX = new int[Poderes.MAX_DISPAROS], disparoY = new int[Poderes.MAX_DISPAROS];
+    
+    public final AlmacenBloques bloques = new AlmacenBloques();
+    // Golpes, roturas y rebotes para los efectos; el lector puede saltearse capturas sin perderlos
+    public final RegistroEventos eventos = new RegistroEventos();
+    
+    public void capturar(Motor motor, long tick) {
+        this.tick = tick;
+        this.instante = System.nanoTime();
+        enJuego = motor.isEnJuego();
+        nivel = motor.getNivelActual();
+        vidas = motor.getVidas();
+        puntuacion = motor.getPuntuacion();
+        
+        Paleta paleta = motor.getPaleta();
+        paletaX = paleta.getX();
+        paletaY = paleta.getY();
+        paletaXAnterior = paleta.getXAnterior();
+        paletaWidth = paleta.getWidth();
+        paletaHeight = paleta.getHeight();
+        
+        PoolPelotas pool = motor.getPelotas();
+        reservarPelotas(pool.size());
+        for (int i = 0; i < pelotas; i++) {
+            Pelota pelota = pool.get(i);
+            pelotaX[i] = pelota.getX();
+            pelotaY[i] = pelota.getY();
+            pelotaXAnterior[i] = pelota.getXAnterior();
+            pelotaYAnterior[i] = pelota.getYAnterior();
+        }
+        
+        Poderes poderes = motor.getPoderes();
+        if (poderes != null) {
+            capsulas = poderes.capsulas;
+            System.arraycopy(poderes.capsulaX, 0, capsulaX, 0, capsulas);
+            System.arraycopy(poderes.capsulaY, 0, capsulaY, 0, capsulas);
+            System.arraycopy(poderes.capsulaTipo, 0, capsulaTipo, 0, capsulas);
+            disparos = poderes.disparos;
+            System.arraycopy(poderes.disparoX, 0, disparoX, 0, disparos);
+            System.arraycopy(poderes.disparoY, 0, disparoY, 0, disparos);
+        } else {
+            capsulas = 0;
+            disparos = 0;
+        }
+        
+        bloques.copiarDe(motor.getBloques());
+        eventos.copiarDe(motor.getEventos());
+    }
+    
+    void reservarPelotas(int cantidad) {
+        pelotas = cantidad;
+        if (cantidad > pelotaX.length) {
+            int capacidad = Math.max(cantidad, pelotaX.length * 2);
+            pelotaX = new double[capacidad];
+            pelotaY = new double[capacidad];
+            pelotaXAnterior = new double[capacidad];
+            pelotaYAnterior = new double[capacidad];
+        }
+    }
+    
+    // Fracción del tick transcurrida desde la captura: 0 muestra el tick anterior, 1 el actual
+    public double alfa(long ahora, long nsPorTick) {
+        double alfa = (ahora - instante) / (double) nsPorTick;
+        return Math.max(0, Math.min(1, alfa));
+    }
+    
+    public int paletaX(double alfa) {
+        return (int) Math.round(paletaXAnterior + (paletaX - paletaXAnterior) * alfa);
+    }
+    
+    public int pelotaX(int i, double alfa) {
+        return (int) Math.round(pelotaXAnterior[i] + (pelotaX[i] - pelotaXAnterior[i]) * alfa);
+    }
+    
+    public int pelotaY(int i, double alfa) {
+        return (int) Math.round(pelotaYAnterior[i] + (pelotaY[i] - pelotaYAnterior[i]) * alfa);
+    }
+    
+    // Cápsulas y disparos van a velocidad fija: la posición anterior sale de la actual
+    public int capsulaY(int i, double alfa) {
+        return (int) Math.round(capsulaY[i] - Poderes.CAIDA_CAPSULA * (1 - alfa));
+    }
+    
+    public int disparoY(int i, double alfa) {
+        return (int) Math.round(disparoY[i] + Poderes.VELOCIDAD_DISPARO * (1 - alfa));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package arkanoid;
+
+import java.util.Arrays;
+
+// Primitivas de dibujo sobre un int[] de píxeles RGB, fila por fila. Todo se recorta contra
+// los bordes; los resultados coinciden píxel a píxel con lo que hace Java2D sin antialiasing.
+public class Lienzo {
+    private final int[] pixeles;
+    private final int ancho;
+    private final int alto;
+    
+    public Lienzo(int[] pixeles, int ancho, int alto) {
+        this.pixeles = pixeles;
+        this.ancho = ancho;
+        this.alto = alto;
+    }
+    
+    // Como fillRect
+    public void rellenar(int x, int y, int w, int h, int rgb) {
+        int x0 = Math.max(x, 0);
+        int x1 = Math.min(x + w, ancho);
+        int y0 = Math.max(y, 0);
+        int y1 = Math.min(y + h, alto);
+        if (x0 >= x1) {
+            return;
+        }
+        for (int fila = y0; fila < y1; fila++) {
+            int inicio = fila * ancho;
+            Arrays.fill(pixeles, inicio + x0, inicio + x1, rgb);
+        }
+    }
+    
+    // Como drawRect con un BasicStroke de grosor impar: el trazo va centrado sobre el borde
+    // y cubre de x - grosor/2 a x + w + grosor/2
+    public void marco(int x, int y, int w, int h, int grosor, int rgb) {
+        int m = grosor / 2;
+        rellenar(x - m, y - m, w + grosor, grosor, rgb);         // arriba
+        rellenar(x - m, y + h - m, w + grosor, grosor, rgb);     // abajo
+        rellenar(x - m, y + m + 1, grosor, h - grosor, rgb);     // izquierda
+        rellenar(x + w - m, y + m + 1, grosor, h - grosor, rgb); // derecha
+    }
+    
+    // Pinta con rgb los píxeles de la máscara según su cobertura (0-255), con la esquina en (x, y)
+    public void mascara(byte[] cobertura, int mw, int mh, int x, int y, int rgb) {
+        int c0 = Math.max(0, -x);
+        int c1 = Math.min(mw, ancho - x);
+        int f0 = Math.max(0, -y);
+        int f1 = Math.min(mh, alto - y);
+        for (int f = f0; f < f1; f++) {
+            int origen = f * mw;
+            int destino = (y + f) * ancho + x;
+            for (int c = c0; c < c1; c++) {
+                int a = cobertura[origen + c] & 0xFF;
+                if (a == 0xFF) {
+                    pixeles[destino + c] = rgb;
+                } else if (a != 0) {
+                    pixeles[destino + c] = mezclar(pixeles[destino + c], rgb, a);
+                }
+            }
+        }
+    }
+    
+    private static int mezclar(int fondo, int rgb, int a) {
+        int r = ((rgb >> 16 & 0xFF) * a + (fondo >> 16 & 0xFF) * (255 - a)) / 255;
+        int g = ((rgb >> 8 & 0xFF) * a + (fondo >> 8 & 0xFF) * (255 - a)) / 255;
+        int b = ((rgb & 0xFF) * a + (fondo & 0xFF) * (255 - a)) / 255;
+        return r << 16 | g << 8 | b;
+    }
+    
+    public void copiarDe(int[] origen) {
+        System.arraycopy(origen, 0, pixeles, 0, ancho * alto);
+    }
+    
+    // Copia solo el rectángulo dado desde otro arreglo del mismo tamaño
+    public void copiarDe(int[] origen, int x, int y, int w, int h) {
+        int x0 = Math.max(x, 0);
+        int x1 = Math.min(x + w, ancho);
+        int y0 = Math.max(y, 0);
+        int y1 = Math.min(y + h, alto);
+        if (x0 >= x1) {
+            return;
+        }
+        for (int fila = y0; fila < y1; fila++) {
+            int inicio = fila * ancho + x0;
+            System.arraycopy(origen, inicio, pixeles, inicio, x1 - x0);
+        }
+    }
+    
+    public int[] getPixeles() {
+        return pixeles;
+    }
+    
+    public int getAncho() { return ancho; }
+    public int getAlto() { return alto; }
+}
\ No newline at end of file
@@ -0,0 +1,256 @@
+package arkanoid;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jdk.jfr.EventType;
+
+// Tiempos por fase del juego. La simulación (update) y el dibujo (draw, show, frame)
+// corren en hilos distintos y cada uno registra solo en sus propios histogramas fijos,
+// sin reservar memoria. Una vez por segundo cada lado publica sus números y el hilo de
+// dibujo arma un Resumen inmutable que leen el overlay y el volcado a archivo.
+public class Metricas {
+    public static final int UPDATE = 0;
+    public static final int DRAW = 1;
+    public static final int SHOW = 2;
+    public static final int FRAME = 3;
+    private static final String[] NOMBRES = {"update", "draw", "show", "frame"};
+    private static final long NS_POR_SEGUNDO = 1_000_000_000L;
+
+    private final Histograma[] fases = new Histograma[NOMBRES.length];
+    private final Histograma bytesPorFrame = new Histograma();
+    private final com.sun.management.ThreadMXBean memoria;
+    private final EventType tipoEvento = EventType.getEventType(EventoFrame.class);
+    private final Temporizador temporizador;
+
+    // Lado de la simulación
+    private final Histograma bytesPorTick = new Histograma();
+    private long inicioVentanaSim;
+    private int pasosAtrasados;
+    private long inicioTicks;
+    private long bytesInicioTicks;
+    private volatile long[] publicadoSim = new long[5]; // p50, p99, max, atrasos, bytes/tick p50
+    private volatile long ultimoUpdateNs;
+
+    // Lado del dibujo
+    private long inicioVentana;
+    private int frames;
+    private long inicioFrame;
+    private long bytesInicioFrame;
+    private final long[] duracion = new long[NOMBRES.length];
+
+    private volatile Resumen ultimo;
+    private volatile boolean overlayVisible = false;
+    private volatile int fpsObjetivo;
+
+    public Metricas(Temporizador temporizador) {
+        this.temporizador = temporizador;
+        for (int i = 0; i < fases.length; i++) {
+            fases[i] = new Histograma();
+        }
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            memoria = (com.sun.management.ThreadMXBean) bean;
+        } else {
+            memoria = null;
+        }
+        inicioVentana = System.nanoTime();
+        inicioVentanaSim = inicioVentana;
+    }
+
+    // Agrega cada segundosPeriodo el último resumen como una línea CSV al archivo
+    public void volcarA(String archivo, int segundosPeriodo) {
+        Path destino = Paths.get(archivo);
+        ScheduledExecutorService volcado = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "arkanoid-metricas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        volcado.scheduleAtFixedRate(() -> {
+            Resumen resumen = ultimo;
+            if (resumen == null) {
+                return;
+            }
+            try {
+                Files.write(destino, (resumen.lineaCsv() + System.lineSeparator()).getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }, segundosPeriodo, segundosPeriodo, TimeUnit.SECONDS);
+    }
+
+    // Hilo de simulación: alrededor de los ticks de cada espera del temporizador
+    public void iniciarTicks(int ticks) {
+        inicioTicks = System.nanoTime();
+        bytesInicioTicks = bytesReservados();
+        if (ticks > 1) {
+            pasosAtrasados++;
+        }
+    }
+
+    public void terminarTicks() {
+        long ahora = System.nanoTime();
+        ultimoUpdateNs = ahora - inicioTicks;
+        fases[UPDATE].registrar(ultimoUpdateNs);
+        bytesPorTick.registrar(bytesReservados() - bytesInicioTicks);
+
+        if (ahora - inicioVentanaSim >= NS_POR_SEGUNDO) {
+            Histograma h = fases[UPDATE];
+            publicadoSim = new long[] {h.percentil(0.50), h.percentil(0.99), h.getMaximo(),
+                                       pasosAtrasados, bytesPorTick.percentil(0.50)};
+            h.limpiar();
+            bytesPorTick.limpiar();
+            pasosAtrasados = 0;
+            inicioVentanaSim = ahora;
+        }
+    }
+
+    // Hilo de dibujo
+    public void iniciarFrame() {
+        inicioFrame = System.nanoTime();
+        bytesInicioFrame = bytesReservados();
+    }
+
+    // Registra la fase que empezó en "desde" y devuelve el instante actual,
+    // que sirve de inicio para la fase siguiente
+    public long medir(int fase, long desde) {
+        long ahora = System.nanoTime();
+        duracion[fase] = ahora - desde;
+        fases[fase].registrar(duracion[fase]);
+        return ahora;
+    }
+
+    public void terminarFrame() {
+        long ahora = medir(FRAME, inicioFrame);
+        long bytes = bytesReservados() - bytesInicioFrame;
+        bytesPorFrame.registrar(bytes);
+        frames++;
+
+        if (tipoEvento.isEnabled()) {
+            EventoFrame evento = new EventoFrame();
+            evento.updateNs = ultimoUpdateNs;
+            evento.drawNs = duracion[DRAW];
+            evento.showNs = duracion[SHOW];
+            evento.bytesReservados = bytes;
+            evento.commit();
+        }
+
+        long transcurrido = ahora - inicioVentana;
+        if (transcurrido >= NS_POR_SEGUNDO) {
+            ultimo = new Resumen(this, frames * (double) NS_POR_SEGUNDO / transcurrido);
+            for (int i = DRAW; i <= FRAME; i++) {
+                fases[i].limpiar();
+            }
+            bytesPorFrame.limpiar();
+            frames = 0;
+            inicioVentana = ahora;
+        }
+    }
+
+    private long bytesReservados() {
+        return memoria != null ? memoria.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    public void setFpsObjetivo(int fpsObjetivo) {
+        this.fpsObjetivo = fpsObjetivo;
+    }
+
+    public void alternarOverlay() {
+        overlayVisible = !overlayVisible;
+    }
+
+    public boolean isOverlayVisible() {
+        return overlayVisible;
+    }
+
+    public Resumen getUltimo() {
+        return ultimo;
+    }
+
+    public void drawOverlay(Graphics g) {
+        Resumen resumen = ultimo;
+        if (resumen == null) {
+            return;
+        }
+        g.setColor(Recursos.COLOR_OVERLAY);
+        g.fillRect(10, 45, 330, 16 * resumen.lineas.length + 8);
+        g.setFont(Recursos.FUENTE_OVERLAY);
+        g.setColor(Color.GREEN);
+        for (int i = 0; i < resumen.lineas.length; i++) {
+            g.drawString(resumen.lineas[i], 16, 60 + 16 * i);
+        }
+    }
+
+    // Foto de un segundo de métricas; el texto se arma una sola vez
+    public static final class Resumen {
+        public final double fps;
+        public final int fpsObjetivo;
+        public final long ticksAtrasados;
+        public final long[] p50 = new long[NOMBRES.length];
+        public final long[] p99 = new long[NOMBRES.length];
+        public final long[] max = new long[NOMBRES.length];
+        public final long bytesP50;
+        public final long bytesMax;
+        public final long bytesPorTickP50;
+        public final double jitterMs;
+        public final double cpuMsPorSegundo;
+        private final String[] lineas;
+
+        Resumen(Metricas m, double fps) {
+            this.fps = fps;
+            this.fpsObjetivo = m.fpsObjetivo;
+            long[] sim = m.publicadoSim;
+            p50[UPDATE] = sim[0];
+            p99[UPDATE] = sim[1];
+            max[UPDATE] = sim[2];
+            ticksAtrasados = sim[3];
+            bytesPorTickP50 = sim[4];
+            for (int i = DRAW; i <= FRAME; i++) {
+                p50[i] = m.fases[i].percentil(0.50);
+                p99[i] = m.fases[i].percentil(0.99);
+                max[i] = m.fases[i].getMaximo();
+            }
+            bytesP50 = m.bytesPorFrame.percentil(0.50);
+            bytesMax = m.bytesPorFrame.getMaximo();
+            jitterMs = m.temporizador.getJitterMs();
+            cpuMsPorSegundo = m.temporizador.getCpuMsPorSegundo();
+
+            lineas = new String[NOMBRES.length + 3];
+            lineas[0] = String.format(Locale.ROOT, "%.1f/%d fps, %d esperas con ticks atrasados", fps, fpsObjetivo, ticksAtrasados);
+            for (int i = 0; i < NOMBRES.length; i++) {
+                lineas[i + 1] = String.format(Locale.ROOT, "%-6s p50 %6d  p99 %6d  max %6d us",
+                    NOMBRES[i], p50[i] / 1000, p99[i] / 1000, max[i] / 1000);
+            }
+            lineas[NOMBRES.length + 1] = String.format(Locale.ROOT, "alloc/frame p50 %d B, max %d B; sim %d B",
+                bytesP50, bytesMax, bytesPorTickP50);
+            lineas[NOMBRES.length + 2] = String.format(Locale.ROOT, "jitter %.3f ms, cpu %.1f ms/s", jitterMs, cpuMsPorSegundo);
+        }
+
+        // timestamp,fps,atrasados,{update,draw,show,frame}x{p50,p99,max} (ns),bytesP50,bytesMax,bytesSim,jitterMs,cpuMs
+        String lineaCsv() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(System.currentTimeMillis()).append(',').append(String.format(Locale.ROOT, "%.2f", fps))
+              .append(',').append(ticksAtrasados);
+            for (int i = 0; i < NOMBRES.length; i++) {
+                sb.append(',').append(p50[i]).append(',').append(p99[i]).append(',').append(max[i]);
+            }
+            sb.append(',').append(bytesP50).append(',').append(bytesMax).append(',').append(bytesPorTickP50)
+              .append(',').append(String.format(Locale.ROOT, "%.3f", jitterMs))
+              .append(',').append(String.format(Locale.ROOT, "%.1f", cpuMsPorSegundo));
+            return sb.toString();
+        }
+    }
+}
\ No newline at end of file
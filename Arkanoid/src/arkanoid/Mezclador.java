@@ -0,0 +1,184 @@
+package arkanoid;
+
+import java.io.IOException;
+import java.util.concurrent.locks.LockSupport;
+
+// Hilo de audio: toma los sonidos pedidos de la ColaSonidos, los suma en bloques chicos
+// de FRAMES_POR_BLOQUE y entrega cada bloque a la SalidaAudio. Las voces viven en
+// arreglos fijos; si se piden más de MAX_VOCES a la vez se reemplaza la más avanzada.
+public class Mezclador implements Runnable {
+    public static final int FRAMES_POR_BLOQUE = 256; // ~5,8 ms
+    private static final int MAX_VOCES = 32;
+    // Cuando la salida no marca el ritmo, cuántos bloques se adelanta el mezclador al reloj
+    private static final int BLOQUES_ADELANTO = 2;
+    
+    private final BancoSonidos banco;
+    private final ColaSonidos cola;
+    private final SalidaAudio salida;
+    private final boolean tiempoReal;
+    
+    private final int[] vozEfecto = new int[MAX_VOCES];
+    private final int[] vozPosicion = new int[MAX_VOCES];
+    private final float[] vozIzquierda = new float[MAX_VOCES];
+    private final float[] vozDerecha = new float[MAX_VOCES];
+    private final long[] vozPedida = new long[MAX_VOCES]; // 0 si ya se midió su latencia
+    private int voces;
+    
+    private final float[] mezcla = new float[FRAMES_POR_BLOQUE * FormatoAudio.CANALES];
+    private final byte[] bloque = new byte[FRAMES_POR_BLOQUE * FormatoAudio.BYTES_POR_FRAME];
+    
+    // Solo las toca el hilo de audio; se leen después de detener()
+    private final Histograma latencia = new Histograma();
+    private long framesEscritos;
+    private long vocesPisadas;
+    private long nanosMezclando;
+    
+    private volatile boolean activo;
+    private Thread hilo;
+    
+    // tiempoReal false: mezcla tan rápido como pueda (para medir con SalidaNula)
+    public Mezclador(BancoSonidos banco, ColaSonidos cola, SalidaAudio salida, boolean tiempoReal) {
+        this.banco = banco;
+        this.cola = cola;
+        this.salida = salida;
+        this.tiempoReal = tiempoReal;
+    }
+    
+    public void iniciar() {
+        activo = true;
+        hilo = new Thread(this, "arkanoid-audio");
+        hilo.setDaemon(true);
+        hilo.setPriority(Thread.MAX_PRIORITY);
+        hilo.start();
+    }
+    
+    public void detener() throws IOException {
+        activo = false;
+        if (hilo != null) {
+            try {
+                hilo.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        salida.close();
+    }
+    
+    public void run() {
+        long inicio = System.nanoTime();
+        try {
+            while (activo) {
+                long t0 = System.nanoTime();
+                tomarPedidos();
+                mezclarBloque();
+                nanosMezclando += System.nanoTime() - t0;
+                
+                salida.escribir(bloque, bloque.length);
+                framesEscritos += FRAMES_POR_BLOQUE;
+                medirLatencias(inicio);
+                
+                if (tiempoReal && !salida.marcaElRitmo()) {
+                    esperarReloj(inicio);
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+    
+    private void tomarPedidos() {
+        while (cola.sacar()) {
+            int codigo = cola.getCodigo();
+            int efecto = codigo & 0xFF;
+            float pan = ((codigo >>> 8) & 0xFF) / 255f;
+            
+            int v;
+            if (voces < MAX_VOCES) {
+                v = voces++;
+            } else {
+                v = masAvanzada();
+                vocesPisadas++;
+            }
+            vozEfecto[v] = efecto;
+            vozPosicion[v] = 0;
+            // Paneo de igual potencia
+            vozIzquierda[v] = (float) Math.cos(pan * Math.PI / 2);
+            vozDerecha[v] = (float) Math.sin(pan * Math.PI / 2);
+            vozPedida[v] = cola.getInstante();
+        }
+    }
+    
+    private int masAvanzada() {
+        int elegida = 0;
+        for (int v = 1; v < voces; v++) {
+            if (vozPosicion[v] > vozPosicion[elegida]) {
+                elegida = v;
+            }
+        }
+        return elegida;
+    }
+    
+    private void mezclarBloque() {
+        java.util.Arrays.fill(mezcla, 0f);
+        for (int v = 0; v < voces; v++) {
+            float[] muestras = banco.get(vozEfecto[v]);
+            int desde = vozPosicion[v];
+            int n = Math.min(FRAMES_POR_BLOQUE, muestras.length - desde);
+            float izquierda = vozIzquierda[v];
+            float derecha = vozDerecha[v];
+            for (int i = 0; i < n; i++) {
+                float s = muestras[desde + i];
+                mezcla[2 * i] += s * izquierda;
+                mezcla[2 * i + 1] += s * derecha;
+            }
+            vozPosicion[v] = desde + n;
+        }
+        
+        // Las que terminaron se quitan cambiándolas por la última
+        for (int v = voces - 1; v >= 0; v--) {
+            if (vozPosicion[v] >= banco.get(vozEfecto[v]).length && vozPedida[v] == 0) {
+                voces--;
+                vozEfecto[v] = vozEfecto[voces];
+                vozPosicion[v] = vozPosicion[voces];
+                vozIzquierda[v] = vozIzquierda[voces];
+                vozDerecha[v] = vozDerecha[voces];
+                vozPedida[v] = vozPedida[voces];
+            }
+        }
+        
+        for (int i = 0; i < mezcla.length; i++) {
+            int s = (int) (Math.max(-1f, Math.min(1f, mezcla[i])) * 32767);
+            bloque[2 * i] = (byte) s;
+            bloque[2 * i + 1] = (byte) (s >> 8);
+        }
+    }
+    
+    // Desde que la simulación pidió el sonido hasta que suena su primera muestra: lo que
+    // tardó en mezclarse más lo que la salida tiene por reproducir antes de este bloque
+    private void medirLatencias(long inicio) {
+        long ahora = System.nanoTime();
+        long enCola = salida.marcaElRitmo()
+            ? FormatoAudio.framesANanos(salida.getFramesEnCola() - FRAMES_POR_BLOQUE)
+            : tiempoReal ? FormatoAudio.framesANanos(framesEscritos - FRAMES_POR_BLOQUE) - (ahora - inicio) : 0;
+        enCola = Math.max(0, enCola);
+        for (int v = 0; v < voces; v++) {
+            if (vozPedida[v] != 0) {
+                latencia.registrar(ahora - vozPedida[v] + enCola);
+                vozPedida[v] = 0;
+            }
+        }
+    }
+    
+    private void esperarReloj(long inicio) {
+        long objetivo = inicio + FormatoAudio.framesANanos(framesEscritos - BLOQUES_ADELANTO * FRAMES_POR_BLOQUE);
+        long falta;
+        while (activo && (falta = objetivo - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(falta);
+        }
+    }
+    
+    public Histograma getLatencia() { return latencia; }
+    public long getFramesEscritos() { return framesEscritos; }
+    public long getVocesPisadas() { return vocesPisadas; }
+    public long getNanosMezclando() { return nanosMezclando; }
+}
\ No newline at end of file
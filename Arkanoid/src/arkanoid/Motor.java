@@ -0,0 +1,352 @@
+package arkanoid;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.Random;
+
+// Estado y lógica del juego, sin dependencias de ventana ni Canvas
+public class Motor {
+    public static final int WIDTH = 800;
+    public static final int HEIGHT = 600;
+    public static final int NIVEL_MAXIMO = NivelesGenerados.CANTIDAD; // con los niveles generados
+    public static final int VIDAS_INICIALES = 3;
+    // Opciones de la partida, en bits; van en las grabaciones y los guardados
+    public static final int INFINITO = 1;
+    public static final int PODERES = 2;
+    
+    private boolean enJuego = false;
+    
+    private Paleta paleta;
+    private final PoolPelotas pelotas = new PoolPelotas(this);
+    private final Golpes golpes = new Golpes();
+    private final RegistroEventos eventos = new RegistroEventos();
+    private int[] caidas = new int[16];
+    private final int pelotasPorSaque; // más de una: modo multibola
+    private AlmacenBloques bloques = new AlmacenBloques();
+    private GrillaBloques grilla = new GrillaBloques(WIDTH, HEIGHT, 75, 30);
+    private int nivelActual = 1;
+    private int vidas = VIDAS_INICIALES;
+    private int puntuacion = 0;
+    
+    // Toda la aleatoriedad del juego sale de acá, así una semilla reproduce la partida
+    private final long semilla;
+    private final Aleatorio aleatorio;
+    private final FuenteNiveles niveles;
+    private CampoInfinito infinito; // null salvo en el modo infinito
+    private Poderes poderes;        // null si la partida es sin poderes
+    
+    public Motor() {
+        this(System.nanoTime());
+    }
+    
+    public Motor(long semilla) {
+        this(semilla, 1);
+    }
+    
+    public Motor(long semilla, int pelotasPorSaque) {
+        this(semilla, pelotasPorSaque, NivelesGenerados.INSTANCIA);
+    }
+    
+    public Motor(long semilla, int pelotasPorSaque, FuenteNiveles niveles) {
+        if (pelotasPorSaque <= 0) {
+            throw new IllegalArgumentException("pelotasPorSaque debe ser positivo: " + pelotasPorSaque);
+        }
+        this.semilla = semilla;
+        this.pelotasPorSaque = pelotasPorSaque;
+        this.aleatorio = new Aleatorio(semilla);
+        this.niveles = niveles;
+        paleta = new Paleta();
+        inicializarNivel(1);
+    }
+    
+    // Partida en modo infinito: en vez de niveles, un campo de bloques que baja sin fin
+    public static Motor infinito(long semilla, int pelotasPorSaque) {
+        Motor motor = new Motor(semilla, pelotasPorSaque);
+        motor.infinito = new CampoInfinito(semilla);
+        motor.reiniciar();
+        return motor;
+    }
+    
+    // Partida con las opciones indicadas (bits INFINITO y PODERES)
+    public static Motor crear(long semilla, int pelotasPorSaque, FuenteNiveles niveles, int opciones) {
+        Motor motor = (opciones & INFINITO) != 0
+            ? infinito(semilla, pelotasPorSaque)
+            : new Motor(semilla, pelotasPorSaque, niveles);
+        if ((opciones & PODERES) != 0) {
+            motor.activarPoderes();
+        }
+        return motor;
+    }
+    
+    // Los bloques bonus sueltan cápsulas; sin esto la partida es la de siempre (y la de MotorLote)
+    public void activarPoderes() {
+        if (poderes == null) {
+            poderes = new Poderes();
+        }
+    }
+    
+    // Vuelve al estado de una partida nueva, sin iniciarla
+    public void reiniciar() {
+        enJuego = false;
+        nivelActual = 1;
+        vidas = VIDAS_INICIALES;
+        puntuacion = 0;
+        inicializarNivel(1);
+    }
+
+    // Salta directamente a un nivel (balanceo, benchmarks)
+    public void cargarNivel(int nivel) {
+        nivelActual = nivel;
+        inicializarNivel(nivel);
+    }
+    
+    // Reemplaza el campo de bloques por uno armado a mano; la pelota y la paleta no cambian
+    public void limpiarBloques() {
+        bloques.limpiar();
+        grilla.limpiar();
+    }
+    
+    public int agregarBloque(int x, int y, int width, int height, Color color, int tipo, int resistencia) {
+        int id = bloques.agregar(x, y, width, height, color, tipo);
+        bloques.setResistencia(id, resistencia);
+        grilla.agregar(id, x, y, width, height);
+        return id;
+    }
+    
+    private void inicializarNivel(int nivel) {
+        paleta.resetPosition();
+        sacar();
+        if (infinito != null) {
+            infinito.reiniciar(this);
+        } else {
+            armarNivel(niveles.nivel(nivel));
+        }
+    }
+    
+    private void armarNivel(Nivel nivel) {
+        limpiarBloques();
+        for (int i = 0; i < nivel.cantidad; i++) {
+            agregarBloque(nivel.x[i], nivel.y[i], nivel.ancho[i], nivel.alto[i], nivel.color[i],
+                          nivel.tipo[i], nivel.resistencia[i]);
+        }
+    }
+    
+    // Pone en juego las pelotas de un saque nuevo
+    private void sacar() {
+        if (poderes != null) {
+            poderes.reiniciar(paleta);
+        }
+        pelotas.liberarTodas();
+        for (int i = 0; i < pelotasPorSaque; i++) {
+            pelotas.lanzar();
+        }
+    }
+    
+    // Pelota extra desde el centro, además de las que ya están en juego
+    public Pelota agregarPelota() {
+        return pelotas.lanzar();
+    }
+    
+    public void update() {
+        if (infinito != null) {
+            infinito.avanzar(this);
+        }
+        
+        // Todas las pelotas se mueven contra el mismo campo de bloques; los golpes se
+        // aplican juntos al final, en un orden que no depende del orden de las pelotas
+        int cantidadCaidas = 0;
+        for (int i = 0; i < pelotas.size(); i++) {
+            Pelota pelota = pelotas.get(i);
+            boolean cayo = pelota.update(paleta, bloques, grilla, golpes, i);
+            registrarRebotes(pelota);
+            if (cayo) {
+                if (cantidadCaidas == caidas.length) {
+                    caidas = Arrays.copyOf(caidas, cantidadCaidas * 2);
+                }
+                caidas[cantidadCaidas++] = i;
+            }
+        }
+        if (poderes != null) {
+            poderes.moverDisparos(grilla, bloques, golpes);
+        }
+        golpes.aplicar(this);
+        
+        // De atrás para adelante: la pelota que ocupa el hueco ya fue revisada
+        for (int i = cantidadCaidas - 1; i >= 0; i--) {
+            pelotas.liberar(caidas[i]);
+        }
+        // Se pierde una vida recién cuando cae la última pelota
+        if (pelotas.isEmpty()) {
+            perderVida();
+        }
+        paleta.update(getPelota());
+        if (poderes != null) {
+            poderes.avanzar(this);
+        }
+        
+        if (infinito == null && bloques.isEmpty()) {
+            nivelActual++;
+            if (nivelActual > niveles.cantidad()) {
+                enJuego = false;
+            } else {
+                for (int i = 0; i < pelotas.size(); i++) {
+                    pelotas.get(i).incrementarVelocidad(0.5);
+                }
+                inicializarNivel(nivelActual);
+            }
+        }
+    }
+    
+    private void registrarRebotes(Pelota pelota) {
+        if (pelota.getRebotesPaleta() > 0) {
+            eventos.registrar(RegistroEventos.REBOTE_PALETA, pelota.getX(), pelota.getY());
+        }
+        if (pelota.getRebotesPared() > 0) {
+            eventos.registrar(RegistroEventos.REBOTE_PARED, pelota.getX(), pelota.getY());
+        }
+    }
+    
+    // Avanza un tick con la entrada indicada (bits de Entrada)
+    public boolean paso(int entrada) {
+        if (!enJuego && (entrada & Entrada.INICIAR) != 0) {
+            enJuego = true;
+        }
+        setDireccion(Entrada.direccion(entrada));
+        if (enJuego) {
+            update();
+        }
+        return enJuego;
+    }
+    
+    public void setDireccion(int direccion) {
+        if (direccion == 0) {
+            paleta.stop();
+        } else {
+            paleta.switchDirections(Integer.signum(direccion));
+        }
+    }
+    
+    public void iniciar() {
+        enJuego = true;
+    }
+    
+    public void setEnJuego(boolean enJuego) {
+        this.enJuego = enJuego;
+    }
+    
+    public static int ensureRange(int value, int min, int max) {
+        return Math.min(Math.max(value, min), max);
+    }
+    
+    public void incrementarPuntuacion(int puntos) {
+        puntuacion += puntos;
+    }
+    
+    public void perderVida() {
+        vidas--;
+        if (vidas <= 0) {
+            enJuego = false;
+        } else {
+            sacar();
+        }
+    }
+    
+    // Para Guardado: el resto del estado se restaura con los métodos de cada parte
+    void restaurar(boolean enJuego, int nivelActual, int vidas, int puntuacion, long estadoAleatorio) {
+        this.enJuego = enJuego;
+        this.nivelActual = nivelActual;
+        this.vidas = vidas;
+        this.puntuacion = puntuacion;
+        aleatorio.setEstado(estadoAleatorio);
+    }
+    
+    long getEstadoAleatorio() {
+        return aleatorio.getEstado();
+    }
+    
+    // Para CampoInfinito
+    void reemplazarBloque(int id, int x, int y, int width, int height, Color color, int tipo, int resistencia) {
+        bloques.reemplazar(id, x, y, width, height, color, tipo, resistencia);
+        grilla.agregar(id, x, y, width, height);
+    }
+    
+    void bajarBloques(int dy) {
+        bloques.desplazar(dy);
+        for (int id = bloques.siguienteVivo(0); id >= 0; id = bloques.siguienteVivo(id + 1)) {
+            grilla.mover(id, bloques.x[id], bloques.y[id], bloques.width[id], bloques.height[id]);
+        }
+    }
+    
+    void setNivelActual(int nivelActual) {
+        this.nivelActual = nivelActual;
+    }
+    
+    CampoInfinito getInfinito() {
+        return infinito;
+    }
+    
+    public boolean isInfinito() {
+        return infinito != null;
+    }
+    
+    public int getOpciones() {
+        return (infinito != null ? INFINITO : 0) | (poderes != null ? PODERES : 0);
+    }
+    
+    public void eliminarBloque(int id) {
+        bloques.eliminar(id);
+        grilla.quitar(id);
+    }
+    
+    // Huella del estado completo; dos partidas iguales dan el mismo valor
+    public long checksum() {
+        long h = 0xcbf29ce484222325L;
+        h = mezclar(h, enJuego ? 1 : 0);
+        h = mezclar(h, nivelActual);
+        h = mezclar(h, vidas);
+        h = mezclar(h, puntuacion);
+        h = mezclar(h, paleta.getX());
+        h = mezclar(h, paleta.getVel());
+        h = mezclar(h, pelotas.size());
+        for (int i = 0; i < pelotas.size(); i++) {
+            Pelota pelota = pelotas.get(i);
+            h = mezclar(h, Double.doubleToLongBits(pelota.getX()));
+            h = mezclar(h, Double.doubleToLongBits(pelota.getY()));
+            h = mezclar(h, Double.doubleToLongBits(pelota.getXVel()));
+            h = mezclar(h, Double.doubleToLongBits(pelota.getYVel()));
+            h = mezclar(h, Double.doubleToLongBits(pelota.getSpeed()));
+        }
+        for (int id = bloques.siguienteVivo(0); id >= 0; id = bloques.siguienteVivo(id + 1)) {
+            h = mezclar(h, id);
+            h = mezclar(h, bloques.resistencia[id]);
+        }
+        if (poderes != null) {
+            h = mezclar(h, paleta.getWidth());
+            h = poderes.mezclar(h);
+        }
+        return h;
+    }
+    
+    static long mezclar(long h, long valor) {
+        h ^= valor;
+        h *= 0x100000001b3L;
+        return h ^ (h >>> 29);
+    }
+    
+    public boolean isEnJuego() { return enJuego; }
+    public long getSemilla() { return semilla; }
+    public Random getAleatorio() { return aleatorio; }
+    public Paleta getPaleta() { return paleta; }
+    // La primera del pool; si no queda ninguna en juego es la última que estuvo
+    public Pelota getPelota() { return pelotas.get(0); }
+    public PoolPelotas getPelotas() { return pelotas; }
+    public Poderes getPoderes() { return poderes; }
+    public int getPelotasPorSaque() { return pelotasPorSaque; }
+    public FuenteNiveles getNiveles() { return niveles; }
+    public AlmacenBloques getBloques() { return bloques; }
+    public GrillaBloques getGrilla() { return grilla; }
+    public RegistroEventos getEventos() { return eventos; }
+    public int getNivelActual() { return nivelActual; }
+    public int getVidas() { return vidas; }
+    public int getPuntuacion() { return puntuacion; }
+}
\ No newline at end of file
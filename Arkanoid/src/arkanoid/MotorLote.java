@@ -0,0 +1,453 @@
+package arkanoid;
+
+import java.util.Arrays;
+
+// Muchas partidas independientes avanzando juntas, tick a tick, con todo el estado en
+// arreglos planos (un índice por juego; los bloques del juego g en [g * bloquesPorJuego, ...)).
+// Cada juego es una partida de Motor con una sola pelota y da exactamente el mismo resultado
+// que Motor con la misma semilla y las mismas entradas: los recorridos por todos los juegos
+// o todos los bloques van por OperacionesLote (escalar, o la Vector API si se pide) y los choques
+// se resuelven con el mismo núcleo de Pelota que usa Motor.
+public class MotorLote {
+    static final double RADIO = Pelota.SIZE / 2.0;
+    // Las pruebas rápidas agrandan la caja del recorrido un poco más que el radio
+    static final double MARGEN = RADIO + 1;
+    private static final int ALINEACION = 16; // Lanos de int en el vector más ancho (512 bits)
+
+    static final int PALETA_Y;
+    static final int PALETA_ANCHO;
+    static final int PALETA_ALTO;
+    static final int PALETA_X_INICIAL;
+    static final int PALETA_X_MAXIMA;
+    private static final int PALETA_VELOCIDAD;
+
+    // Distribución de bloques de cada nivel, sacada de Motor para no duplicar las reglas
+    private static final AlmacenBloques[] NIVELES = new AlmacenBloques[Motor.NIVEL_MAXIMO + 1];
+    private static final int MAX_BLOQUES;
+
+    static {
+        Paleta paleta = new Paleta();
+        PALETA_Y = paleta.getY();
+        PALETA_ANCHO = paleta.getWidth();
+        PALETA_ALTO = paleta.getHeight();
+        PALETA_X_INICIAL = paleta.getX();
+        PALETA_X_MAXIMA = Motor.WIDTH - paleta.getWidth();
+        paleta.switchDirections(1);
+        PALETA_VELOCIDAD = paleta.getVel();
+
+        int maximo = 0;
+        for (int nivel = 1; nivel <= Motor.NIVEL_MAXIMO; nivel++) {
+            Motor plantilla = new Motor(0);
+            plantilla.cargarNivel(nivel);
+            NIVELES[nivel] = plantilla.getBloques();
+            maximo = Math.max(maximo, NIVELES[nivel].capacidadUsada());
+        }
+        MAX_BLOQUES = maximo;
+    }
+
+    // Estado de java.util.Random, para sacar los mismos números que el Motor de cada juego
+    private static final long MULTIPLICADOR = 0x5DEECE66DL;
+    private static final long SUMANDO = 0xBL;
+    private static final long MASCARA = (1L << 48) - 1;
+
+    final int juegos;
+    final int capacidadJuegos; // juegos redondeado para que los vectores no se salgan
+    final int bloquesPorJuego;
+    private final OperacionesLote operaciones;
+
+    // Por juego
+    final boolean[] enJuego;
+    final int[] nivel;
+    final int[] vidas;
+    final int[] puntuacion;
+    final long[] aleatorio;
+    final double[] paletaX; // valores enteros; double para compartir vectores con la pelota
+    final double[] paletaVel;
+    final boolean[] pelotaActiva;
+    final double[] pelotaX, pelotaY;
+    final double[] pelotaVelX, pelotaVelY;
+    final double[] pelotaRapidez;
+    final int[] bloquesVivos;
+    final int[] bloquesUsados;
+    private final int[] zonaBloquesYMax; // borde inferior del bloque más bajo del nivel
+
+    // Por bloque
+    final int[] bloqueX, bloqueY, bloqueAncho, bloqueAlto;
+    final int[] bloqueXMax, bloqueYMax;
+    final int[] tipo, resistencia, resistenciaMaxima;
+    final int[] vivo;
+
+    // Trabajo de cada tick
+    final boolean[] actualizar;
+    final boolean[] mover;
+    private final boolean[] libre;
+    private final Pelota nucleo = new Pelota();
+    private final Golpes golpes = new Golpes();
+    private final Candidatos candidatos;
+
+    public MotorLote(long[] semillas, boolean vectorial) {
+        juegos = semillas.length;
+        capacidadJuegos = redondear(Math.max(juegos, 1));
+        bloquesPorJuego = redondear(MAX_BLOQUES);
+        operaciones = crearOperaciones(vectorial);
+        candidatos = new Candidatos();
+
+        int n = capacidadJuegos;
+        enJuego = new boolean[n];
+        nivel = new int[n];
+        vidas = new int[n];
+        puntuacion = new int[n];
+        aleatorio = new long[n];
+        paletaX = new double[n];
+        paletaVel = new double[n];
+        pelotaActiva = new boolean[n];
+        pelotaX = new double[n];
+        pelotaY = new double[n];
+        pelotaVelX = new double[n];
+        pelotaVelY = new double[n];
+        pelotaRapidez = new double[n];
+        bloquesVivos = new int[n];
+        bloquesUsados = new int[n];
+        zonaBloquesYMax = new int[n];
+        actualizar = new boolean[n];
+        mover = new boolean[n];
+        libre = new boolean[n];
+
+        int b = n * bloquesPorJuego;
+        bloqueX = new int[b];
+        bloqueY = new int[b];
+        bloqueAncho = new int[b];
+        bloqueAlto = new int[b];
+        bloqueXMax = new int[b];
+        bloqueYMax = new int[b];
+        tipo = new int[b];
+        resistencia = new int[b];
+        resistenciaMaxima = new int[b];
+        vivo = new int[b];
+
+        for (int g = 0; g < juegos; g++) {
+            reiniciar(g, semillas[g]);
+        }
+    }
+
+    // Partida nueva en el juego g, igual que new Motor(semilla, 1); los demás no cambian
+    public void reiniciar(int g, long semilla) {
+        aleatorio[g] = (semilla ^ MULTIPLICADOR) & MASCARA;
+        enJuego[g] = false;
+        nivel[g] = 1;
+        vidas[g] = Motor.VIDAS_INICIALES;
+        puntuacion[g] = 0;
+        inicializarNivel(g, 1);
+    }
+
+    private static int redondear(int n) {
+        return (n + ALINEACION - 1) / ALINEACION * ALINEACION;
+    }
+
+    // La Vector API es un módulo incubado: si no se agregó con --add-modules se usa la versión escalar
+    private static OperacionesLote crearOperaciones(boolean vectorial) {
+        if (vectorial && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (OperacionesLote) Class.forName("arkanoid.OperacionesVectoriales")
+                    .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                e.printStackTrace();
+            }
+        }
+        return new OperacionesEscalares();
+    }
+
+    public boolean isVectorial() {
+        return !(operaciones instanceof OperacionesEscalares);
+    }
+
+    // Avanza un tick en todos los juegos; entradas[g] son los bits de Entrada del juego g
+    public void paso(int[] entradas) {
+        // Motor.paso: iniciar y dirección de la paleta
+        for (int g = 0; g < juegos; g++) {
+            int entrada = entradas[g];
+            if (!enJuego[g] && (entrada & Entrada.INICIAR) != 0) {
+                enJuego[g] = true;
+            }
+            int direccion = Entrada.direccion(entrada);
+            paletaVel[g] = direccion == 0 ? 0 : PALETA_VELOCIDAD * Integer.signum(direccion);
+            actualizar[g] = enJuego[g];
+            mover[g] = enJuego[g] && pelotaActiva[g];
+        }
+
+        // Pelotas que no tocan nada en todo el tick: avanzan juntas
+        operaciones.marcarLibres(this, libre);
+        for (int g = 0; g < juegos; g++) {
+            if (libre[g] && tocaBloques(g)) {
+                libre[g] = false;
+            }
+        }
+        operaciones.avanzarLibres(this, libre);
+
+        // Las demás, una por una con el núcleo de Pelota; después golpes y vidas como en Motor.update
+        for (int g = 0; g < juegos; g++) {
+            if (!actualizar[g]) {
+                continue;
+            }
+            if (mover[g] && !libre[g]) {
+                moverConChoques(g);
+            }
+            if (!pelotaActiva[g]) {
+                perderVida(g);
+            }
+        }
+
+        operaciones.moverPaletas(this, actualizar);
+
+        for (int g = 0; g < juegos; g++) {
+            if (actualizar[g] && bloquesVivos[g] == 0) {
+                nivel[g]++;
+                if (nivel[g] > Motor.NIVEL_MAXIMO) {
+                    enJuego[g] = false;
+                } else {
+                    inicializarNivel(g, nivel[g]);
+                }
+            }
+        }
+    }
+
+    // La misma caja que usa Pelota para consultar bloques, agrandada igual que en marcarLibres
+    private boolean tocaBloques(int g) {
+        double cx = pelotaX[g] + RADIO;
+        double cy = pelotaY[g] + RADIO;
+        double nx = cx + pelotaVelX[g] * pelotaRapidez[g];
+        double ny = cy + pelotaVelY[g] * pelotaRapidez[g];
+        if (Math.min(cy, ny) - MARGEN > zonaBloquesYMax[g]) {
+            return false; // Debajo de todos los bloques: la mayor parte del tiempo
+        }
+        return operaciones.candidatos(this, g * bloquesPorJuego,
+            (int) Math.floor(Math.min(cx, nx) - MARGEN), (int) Math.floor(Math.min(cy, ny) - MARGEN),
+            (int) Math.ceil(Math.max(cx, nx) + MARGEN), (int) Math.ceil(Math.max(cy, ny) + MARGEN),
+            candidatos.resultado) > 0;
+    }
+
+    private void moverConChoques(int g) {
+        int base = g * bloquesPorJuego;
+        candidatos.base = base;
+        nucleo.setCampo((int) paletaX[g], PALETA_Y, PALETA_ANCHO, PALETA_ALTO, (int) paletaVel[g],
+                        bloqueX, bloqueY, bloqueAncho, bloqueAlto, base, candidatos);
+        nucleo.cargar(pelotaX[g], pelotaY[g], pelotaVelX[g], pelotaVelY[g], pelotaRapidez[g]);
+        boolean cayo = nucleo.avanzar(golpes, 0);
+        leerPelota(g);
+
+        // Golpes.aplicar sobre los arreglos del juego
+        golpes.ordenar();
+        for (int i = 0; i < golpes.size(); i++) {
+            int k = base + golpes.bloque(i);
+            if (vivo[k] != 0 && --resistencia[k] <= 0) {
+                vivo[k] = 0;
+                bloquesVivos[g]--;
+                puntuacion[g] += Bloque.puntos(tipo[k], resistenciaMaxima[k]);
+            }
+        }
+        golpes.limpiar();
+
+        if (cayo) {
+            pelotaActiva[g] = false;
+        }
+    }
+
+    private void leerPelota(int g) {
+        pelotaX[g] = nucleo.getX();
+        pelotaY[g] = nucleo.getY();
+        pelotaVelX[g] = nucleo.getXVel();
+        pelotaVelY[g] = nucleo.getYVel();
+        pelotaRapidez[g] = nucleo.getSpeed();
+    }
+
+    private void perderVida(int g) {
+        vidas[g]--;
+        if (vidas[g] <= 0) {
+            enJuego[g] = false;
+        } else {
+            sacar(g);
+        }
+    }
+
+    private void sacar(int g) {
+        nucleo.lanzar(siguienteDouble(g));
+        leerPelota(g);
+        pelotaActiva[g] = true;
+    }
+
+    // Random.nextDouble() sobre el estado guardado del juego
+    private double siguienteDouble(int g) {
+        long s = (aleatorio[g] * MULTIPLICADOR + SUMANDO) & MASCARA;
+        int alto = (int) (s >>> (48 - 26));
+        s = (s * MULTIPLICADOR + SUMANDO) & MASCARA;
+        int bajo = (int) (s >>> (48 - 27));
+        aleatorio[g] = s;
+        return (((long) alto << 27) + bajo) * 0x1.0p-53;
+    }
+
+    private void inicializarNivel(int g, int n) {
+        paletaX[g] = PALETA_X_INICIAL;
+        paletaVel[g] = 0;
+        sacar(g);
+
+        AlmacenBloques plantilla = NIVELES[n];
+        int usados = plantilla.capacidadUsada();
+        int base = g * bloquesPorJuego;
+        System.arraycopy(plantilla.x, 0, bloqueX, base, usados);
+        System.arraycopy(plantilla.y, 0, bloqueY, base, usados);
+        System.arraycopy(plantilla.width, 0, bloqueAncho, base, usados);
+        System.arraycopy(plantilla.height, 0, bloqueAlto, base, usados);
+        System.arraycopy(plantilla.tipo, 0, tipo, base, usados);
+        System.arraycopy(plantilla.resistencia, 0, resistencia, base, usados);
+        System.arraycopy(plantilla.resistenciaMaxima, 0, resistenciaMaxima, base, usados);
+        int yMax = Integer.MIN_VALUE;
+        for (int i = 0; i < usados; i++) {
+            bloqueXMax[base + i] = bloqueX[base + i] + bloqueAncho[base + i];
+            bloqueYMax[base + i] = bloqueY[base + i] + bloqueAlto[base + i];
+            yMax = Math.max(yMax, bloqueYMax[base + i]);
+        }
+        zonaBloquesYMax[g] = yMax;
+        Arrays.fill(vivo, base, base + usados, 1);
+        Arrays.fill(vivo, base + usados, base + bloquesPorJuego, 0);
+        bloquesUsados[g] = usados;
+        bloquesVivos[g] = usados;
+    }
+
+    // Mismo cálculo que Motor.checksum
+    public long checksum(int g) {
+        long h = 0xcbf29ce484222325L;
+        h = Motor.mezclar(h, enJuego[g] ? 1 : 0);
+        h = Motor.mezclar(h, nivel[g]);
+        h = Motor.mezclar(h, vidas[g]);
+        h = Motor.mezclar(h, puntuacion[g]);
+        h = Motor.mezclar(h, (long) paletaX[g]);
+        h = Motor.mezclar(h, (long) paletaVel[g]);
+        h = Motor.mezclar(h, pelotaActiva[g] ? 1 : 0);
+        if (pelotaActiva[g]) {
+            h = Motor.mezclar(h, Double.doubleToLongBits(pelotaX[g]));
+            h = Motor.mezclar(h, Double.doubleToLongBits(pelotaY[g]));
+            h = Motor.mezclar(h, Double.doubleToLongBits(pelotaVelX[g]));
+            h = Motor.mezclar(h, Double.doubleToLongBits(pelotaVelY[g]));
+            h = Motor.mezclar(h, Double.doubleToLongBits(pelotaRapidez[g]));
+        }
+        int base = g * bloquesPorJuego;
+        for (int id = 0; id < bloquesUsados[g]; id++) {
+            if (vivo[base + id] != 0) {
+                h = Motor.mezclar(h, id);
+                h = Motor.mezclar(h, resistencia[base + id]);
+            }
+        }
+        return h;
+    }
+
+    public int size() { return juegos; }
+    public boolean isEnJuego(int g) { return enJuego[g]; }
+    public int getNivel(int g) { return nivel[g]; }
+    public int getVidas(int g) { return vidas[g]; }
+    public int getPuntuacion(int g) { return puntuacion[g]; }
+    public int getPaletaX(int g) { return (int) paletaX[g]; }
+    public double getPelotaX(int g) { return pelotaX[g]; }
+    public double getPelotaY(int g) { return pelotaY[g]; }
+
+    // Jugador simple para el lote: sigue la pelota y de vez en cuando se equivoca, siempre igual
+    // para el mismo juego y tick (así se le puede dar la misma entrada a un Motor y comparar)
+    public static int seguir(int paletaX, double pelotaX, int juego, long tick) {
+        long h = Motor.mezclar(Motor.mezclar(0x9E3779B97F4A7C15L, juego), tick);
+        if ((h & 7) == 0) {
+            return (int) ((h >>> 3) % 3); // NINGUNA, IZQUIERDA o DERECHA
+        }
+        double centro = paletaX + PALETA_ANCHO / 2.0;
+        double objetivo = pelotaX + RADIO;
+        if (objetivo < centro - 6) return Entrada.IZQUIERDA;
+        if (objetivo > centro + 6) return Entrada.DERECHA;
+        return Entrada.NINGUNA;
+    }
+
+    // Opciones: --juegos <n>, --ticks <n>, --semilla <n>, --vectorial (con la Vector API),
+    // --verificar (juega lo mismo con un Motor por juego y compara los checksums de cada tick)
+    public static void main(String[] args) {
+        int cantidad = 1024;
+        int ticks = 20000;
+        long semilla = 1;
+        boolean vectorial = false;
+        boolean verificar = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--juegos": cantidad = Integer.parseInt(args[++i]); break;
+                case "--ticks": ticks = Integer.parseInt(args[++i]); break;
+                case "--semilla": semilla = Long.parseLong(args[++i]); break;
+                case "--vectorial": vectorial = true; break;
+                case "--verificar": verificar = true; break;
+                default:
+            }
+        }
+
+        long[] semillas = new long[cantidad];
+        for (int g = 0; g < cantidad; g++) {
+            semillas[g] = semilla + g;
+        }
+        MotorLote lote = new MotorLote(semillas, vectorial);
+        Motor[] motores = null;
+        if (verificar) {
+            motores = new Motor[cantidad];
+            for (int g = 0; g < cantidad; g++) {
+                motores[g] = new Motor(semillas[g]);
+            }
+        }
+
+        int[] entradas = new int[cantidad];
+        long jugados = 0; // ticks de juegos que seguían en partida
+        long inicio = System.nanoTime();
+        int tick;
+        for (tick = 0; tick < ticks; tick++) {
+            boolean alguno = false;
+            for (int g = 0; g < cantidad; g++) {
+                entradas[g] = seguir(lote.getPaletaX(g), lote.getPelotaX(g), g, tick);
+                if (tick == 0) {
+                    entradas[g] |= Entrada.INICIAR;
+                }
+                if (lote.isEnJuego(g)) {
+                    alguno = true;
+                    jugados++;
+                }
+            }
+            if (!alguno && tick > 0) {
+                break;
+            }
+            lote.paso(entradas);
+            if (verificar) {
+                for (int g = 0; g < cantidad; g++) {
+                    motores[g].paso(entradas[g]);
+                    if (motores[g].checksum() != lote.checksum(g)) {
+                        System.out.printf("Juego %d distinto en el tick %d (nivel %d, puntos %d contra %d)%n",
+                            g, tick, motores[g].getNivelActual(), motores[g].getPuntuacion(), lote.getPuntuacion(g));
+                        System.exit(1);
+                    }
+                }
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        long puntos = 0;
+        for (int g = 0; g < cantidad; g++) {
+            puntos += lote.getPuntuacion(g);
+        }
+        System.out.printf("%d juegos x %d ticks (%s) en %.2fs: %.0f ticks/s, %d puntos en total%s%n",
+            cantidad, tick, lote.isVectorial() ? "vectorial" : "escalar", segundos,
+            jugados / segundos, puntos, verificar ? ", igual que Motor" : "");
+    }
+
+    // Candidatos de bloques del juego que se está resolviendo, para el núcleo de Pelota
+    private final class Candidatos implements FuenteCandidatos {
+        int base;
+        final int[] resultado = new int[bloquesPorJuego];
+
+        public int consultar(int minX, int minY, int maxX, int maxY) {
+            return operaciones.candidatos(MotorLote.this, base, minX, minY, maxX, maxY, resultado);
+        }
+
+        public int[] resultado() {
+            return resultado;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package arkanoid;
+
+import java.awt.Color;
+
+// Distribución de bloques de un nivel ya decodificada, lista para Motor.armarNivel.
+// No cambia después de creada: la comparten todas las partidas que juegan ese nivel.
+public final class Nivel {
+    final int cantidad;
+    final int[] x, y, ancho, alto;
+    final int[] tipo;
+    final int[] resistencia;
+    final Color[] color;
+    
+    private int agregados;
+    
+    Nivel(int cantidad) {
+        this.cantidad = cantidad;
+        x = new int[cantidad];
+        y = new int[cantidad];
+        ancho = new int[cantidad];
+        alto = new int[cantidad];
+        tipo = new int[cantidad];
+        resistencia = new int[cantidad];
+        color = new Color[cantidad];
+    }
+    
+    // Solo mientras se arma; después no se toca más
+    void agregar(int x, int y, int ancho, int alto, Color color, int tipo, int resistencia) {
+        int i = agregados++;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.ancho[i] = ancho;
+        this.alto[i] = alto;
+        this.color[i] = color;
+        this.tipo[i] = tipo;
+        this.resistencia[i] = resistencia;
+    }
+    
+    public int size() {
+        return cantidad;
+    }
+}
\ No newline at end of file
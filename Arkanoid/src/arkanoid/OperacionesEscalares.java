@@ -0,0 +1,72 @@
+package arkanoid;
+
+// Versión de referencia de OperacionesLote, con bucles simples que el JIT puede vectorizar solo
+class OperacionesEscalares implements OperacionesLote {
+    private static final double R = MotorLote.RADIO;
+
+    public void marcarLibres(MotorLote m, boolean[] libre) {
+        marcarLibres(m, libre, 0);
+    }
+
+    // Las versiones con "desde" terminan el recorrido que la vectorial no cubre con vectores enteros
+    void marcarLibres(MotorLote m, boolean[] libre, int desde) {
+        for (int g = desde; g < m.capacidadJuegos; g++) {
+            if (!m.mover[g]) {
+                libre[g] = false;
+                continue;
+            }
+            double cx = m.pelotaX[g] + R;
+            double cy = m.pelotaY[g] + R;
+            double nx = cx + m.pelotaVelX[g] * m.pelotaRapidez[g];
+            double ny = cy + m.pelotaVelY[g] * m.pelotaRapidez[g];
+            double minX = Math.min(cx, nx) - MotorLote.MARGEN;
+            double maxX = Math.max(cx, nx) + MotorLote.MARGEN;
+            double minY = Math.min(cy, ny) - MotorLote.MARGEN;
+            double maxY = Math.max(cy, ny) + MotorLote.MARGEN;
+            boolean pared = minX <= 0 || maxX >= Motor.WIDTH || minY <= 0 || maxY >= Motor.HEIGHT;
+            boolean paleta = minX <= m.paletaX[g] + MotorLote.PALETA_ANCHO && maxX >= m.paletaX[g]
+                          && minY <= MotorLote.PALETA_Y + MotorLote.PALETA_ALTO && maxY >= MotorLote.PALETA_Y;
+            libre[g] = !pared && !paleta;
+        }
+    }
+
+    public int candidatos(MotorLote m, int base, int minX, int minY, int maxX, int maxY, int[] salida) {
+        return candidatos(m, base, minX, minY, maxX, maxY, salida, 0, 0);
+    }
+
+    int candidatos(MotorLote m, int base, int minX, int minY, int maxX, int maxY, int[] salida, int desde, int n) {
+        for (int i = desde; i < m.bloquesPorJuego; i++) {
+            int k = base + i;
+            if (m.vivo[k] != 0 && m.bloqueX[k] <= maxX && m.bloqueXMax[k] >= minX
+                    && m.bloqueY[k] <= maxY && m.bloqueYMax[k] >= minY) {
+                salida[n++] = i;
+            }
+        }
+        return n;
+    }
+
+    public void avanzarLibres(MotorLote m, boolean[] libre) {
+        avanzarLibres(m, libre, 0);
+    }
+
+    void avanzarLibres(MotorLote m, boolean[] libre, int desde) {
+        for (int g = desde; g < m.capacidadJuegos; g++) {
+            if (libre[g]) {
+                m.pelotaX[g] += m.pelotaVelX[g] * m.pelotaRapidez[g];
+                m.pelotaY[g] += m.pelotaVelY[g] * m.pelotaRapidez[g];
+            }
+        }
+    }
+
+    public void moverPaletas(MotorLote m, boolean[] actualizar) {
+        moverPaletas(m, actualizar, 0);
+    }
+
+    void moverPaletas(MotorLote m, boolean[] actualizar, int desde) {
+        for (int g = desde; g < m.capacidadJuegos; g++) {
+            if (actualizar[g]) {
+                m.paletaX[g] = Math.min(Math.max(m.paletaX[g] + m.paletaVel[g], 0), MotorLote.PALETA_X_MAXIMA);
+            }
+        }
+    }
+}
\ No newline at end of file
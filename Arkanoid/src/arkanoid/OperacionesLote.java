@@ -0,0 +1,19 @@
+package arkanoid;
+
+// Los recorridos de MotorLote que pasan por todos los juegos o por todos los bloques de un
+// juego a la vez. Hay una versión escalar y otra con la Vector API (OperacionesVectoriales,
+// en src-vector); las dos tienen que dar exactamente lo mismo.
+interface OperacionesLote {
+    // libre[g] = true si la pelota del juego g se mueve este tick y su recorrido completo
+    // no llega a las paredes ni a la paleta. Puede marcar de menos, nunca de más.
+    void marcarLibres(MotorLote m, boolean[] libre);
+
+    // Ids de los bloques vivos del juego que empieza en base cuyo rectángulo toca el dado
+    int candidatos(MotorLote m, int base, int minX, int minY, int maxX, int maxY, int[] salida);
+
+    // Pelotas libres: avanzan el tick completo sin tocar nada (x += xVel * speed)
+    void avanzarLibres(MotorLote m, boolean[] libre);
+
+    // Paleta de los juegos que se actualizan: x = ensureRange(x + vel, 0, WIDTH - ancho)
+    void moverPaletas(MotorLote m, boolean[] actualizar);
+}
\ No newline at end of file
@@ -1,33 +1,47 @@
 package arkanoid;
 
-import java.awt.Color;
-import java.awt.Graphics;
-
 public class Paleta {
+    public static final int ANCHO = 100;
+    
     private int x, y;
+    private int xAnterior; // al inicio del último tick, para interpolar el dibujo
     private int vel = 0;
     private int speed = 10;
-    private int width = 100;
+    private int width = ANCHO;
     private int height = 20;
-    private Color color = new Color(100, 100, 255);
     
     public Paleta() {
         resetPosition();
     }
     
     public void resetPosition() {
-        x = Game.WIDTH / 2 - width / 2;
-        y = Game.HEIGHT - 50;
+        x = Motor.WIDTH / 2 - width / 2;
+        y = Motor.HEIGHT - 50;
+        xAnterior = x;
         vel = 0;
     }
 
-    public void draw(Graphics g) {
-        g.setColor(color);
-        g.fillRect(x, y, width, height);
+    void restaurar(int x, int xAnterior, int vel) {
+        this.x = x;
+        this.xAnterior = xAnterior;
+        this.vel = vel;
+    }
+
+    // Cambia el ancho sin mover el centro (Poderes)
+    void setWidth(int width) {
+        int desplazamiento = (this.width - width) / 2;
+        this.width = width;
+        x = Motor.ensureRange(x + desplazamiento, 0, Motor.WIDTH - width);
+        xAnterior = Motor.ensureRange(xAnterior + desplazamiento, 0, Motor.WIDTH - width);
+    }
+    
+    void restaurarAncho(int width) {
+        this.width = width;
     }
 
     public void update(Pelota pelota) {
-        x = Game.ensureRange(x + vel, 0, Game.WIDTH - width);
+        xAnterior = x;
+        x = Motor.ensureRange(x + vel, 0, Motor.WIDTH - width);
     }
 
     public void switchDirections(int direction) {
@@ -40,6 +54,7 @@ public class Paleta {
     
     public int getX() { return x; }
     public int getY() { return y; }
+    public int getXAnterior() { return xAnterior; }
     public int getWidth() { return width; }
     public int getHeight() { return height; }
     public int getVel() { return vel; }
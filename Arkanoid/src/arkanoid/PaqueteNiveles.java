@@ -0,0 +1,195 @@
+package arkanoid;
+
+import java.awt.Color;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.zip.CRC32;
+
+// Paquete de niveles en un archivo binario mapeado en memoria. Abrir solo lee el
+// encabezado: cada nivel se decodifica cuando se lo pide, así un paquete de miles de
+// niveles abre al instante y solo se traen del disco las páginas que se juegan.
+// Formato (big endian): "ARKP", versión (short), cantidad de niveles (int), la posición
+// en el archivo de cada nivel (long) y después los niveles, cada uno con su cantidad de
+// bloques (short) y por bloque x, y, ancho, alto (short), tipo (byte), color (int) y
+// resistencia (short). Como se lee con un solo mapeo, el archivo no puede pasar de 2 GB.
+// La huella sale del encabezado y la tabla de posiciones, así se calcula al abrir sin traer
+// los niveles: distingue paquetes con otros niveles o con otra cantidad de bloques por nivel.
+public class PaqueteNiveles implements FuenteNiveles, Closeable {
+    static final int MAGIA = 0x41524B50; // "ARKP"
+    static final short VERSION = 1;
+    private static final int ENCABEZADO = 4 + 2 + 4;
+    private static final int POR_BLOQUE = 2 * 4 + 1 + 4 + 2;
+    
+    private final FileChannel canal;
+    private final MappedByteBuffer mapa; // solo lecturas absolutas: se puede leer desde varios hilos
+    private final int cantidad;
+    private final long huella;
+    
+    public PaqueteNiveles(String archivo) throws IOException {
+        canal = FileChannel.open(Paths.get(archivo), StandardOpenOption.READ);
+        mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+        if (mapa.capacity() < ENCABEZADO || mapa.getInt(0) != MAGIA) {
+            canal.close();
+            throw new IOException("No es un paquete de niveles de Arkanoid: " + archivo);
+        }
+        short version = mapa.getShort(4);
+        if (version != VERSION) {
+            canal.close();
+            throw new IOException("Versión de paquete de niveles no soportada: " + version);
+        }
+        cantidad = mapa.getInt(6);
+        long tabla = ENCABEZADO + cantidad * 8L;
+        if (cantidad < 0 || tabla > mapa.capacity()) {
+            canal.close();
+            throw new IOException("Paquete de niveles truncado: " + archivo);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(mapa.slice(0, (int) tabla));
+        huella = (long) cantidad << 32 | crc.getValue();
+    }
+    
+    public int cantidad() {
+        return cantidad;
+    }
+    
+    public long huella() {
+        return huella;
+    }
+    
+    public Nivel nivel(int numero) {
+        if (numero < 1 || numero > cantidad) {
+            throw new IllegalArgumentException("El paquete tiene niveles de 1 a " + cantidad + ": " + numero);
+        }
+        int p = (int) mapa.getLong(ENCABEZADO + (numero - 1) * 8);
+        int bloques = mapa.getShort(p);
+        p += 2;
+        Nivel nivel = new Nivel(bloques);
+        for (int i = 0; i < bloques; i++, p += POR_BLOQUE) {
+            nivel.agregar(mapa.getShort(p), mapa.getShort(p + 2), mapa.getShort(p + 4), mapa.getShort(p + 6),
+                          new Color(mapa.getInt(p + 9)), mapa.get(p + 8), mapa.getShort(p + 13));
+        }
+        return nivel;
+    }
+    
+    public void close() throws IOException {
+        canal.close();
+    }
+    
+    public static void escribir(String archivo, FuenteNiveles fuente) throws IOException {
+        int cantidad = fuente.cantidad();
+        try (DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(archivo)))) {
+            salida.writeInt(MAGIA);
+            salida.writeShort(VERSION);
+            salida.writeInt(cantidad);
+            // Las posiciones se pueden calcular antes: los niveles van uno atrás del otro
+            long posicion = ENCABEZADO + cantidad * 8L;
+            for (int n = 1; n <= cantidad; n++) {
+                salida.writeLong(posicion);
+                posicion += 2 + (long) fuente.nivel(n).cantidad * POR_BLOQUE;
+            }
+            for (int n = 1; n <= cantidad; n++) {
+                Nivel nivel = fuente.nivel(n);
+                salida.writeShort(nivel.cantidad);
+                for (int i = 0; i < nivel.cantidad; i++) {
+                    salida.writeShort(nivel.x[i]);
+                    salida.writeShort(nivel.y[i]);
+                    salida.writeShort(nivel.ancho[i]);
+                    salida.writeShort(nivel.alto[i]);
+                    salida.writeByte(nivel.tipo[i]);
+                    salida.writeInt(nivel.color[i].getRGB() & 0xFFFFFF);
+                    salida.writeShort(nivel.resistencia[i]);
+                }
+            }
+        }
+    }
+    
+    // Niveles al azar sobre una grilla de 10 x 12, para probar paquetes grandes
+    private static final class NivelesAlAzar implements FuenteNiveles {
+        private final int cantidad;
+        private final long semilla;
+        
+        NivelesAlAzar(int cantidad, long semilla) {
+            this.cantidad = cantidad;
+            this.semilla = semilla;
+        }
+        
+        public int cantidad() {
+            return cantidad;
+        }
+        
+        // Solo se usa para escribir paquetes; el paquete escrito tiene su propia huella
+        public long huella() {
+            return (long) cantidad << 32 | semilla & 0xFFFFFFFFL;
+        }
+        
+        public Nivel nivel(int numero) {
+            SplittableRandom azar = new SplittableRandom(semilla + numero);
+            boolean[] ocupado = new boolean[10 * 12];
+            int bloques = 0;
+            for (int i = 0; i < ocupado.length; i++) {
+                ocupado[i] = azar.nextInt(100) < 45;
+                bloques += ocupado[i] ? 1 : 0;
+            }
+            Nivel nivel = new Nivel(bloques);
+            for (int i = 0; i < ocupado.length; i++) {
+                if (ocupado[i]) {
+                    int col = i % 10;
+                    int fila = i / 10;
+                    nivel.agregar(col * 75 + 5, fila * 30 + 50, 70, 25, Color.getHSBColor(azar.nextFloat(), 0.8f, 1f),
+                                  azar.nextInt(3), 1 + azar.nextInt(5));
+                }
+            }
+            return nivel;
+        }
+    }
+    
+    // Arma un paquete y prueba abrirlo y leer niveles sueltos.
+    // Opciones: --salida <archivo>, --niveles <n> (al azar; sin esto, los diez generados),
+    // --semilla <n>
+    public static void main(String[] args) throws IOException {
+        String archivo = "niveles.arkp";
+        int niveles = 0;
+        long semilla = 1;
+        for (int i = 0; i < args.length - 1; i++) {
+            switch (args[i]) {
+                case "--salida": archivo = args[++i]; break;
+                case "--niveles": niveles = Integer.parseInt(args[++i]); break;
+                case "--semilla": semilla = Long.parseLong(args[++i]); break;
+                default:
+            }
+        }
+        
+        FuenteNiveles fuente = niveles > 0 ? new NivelesAlAzar(niveles, semilla) : NivelesGenerados.INSTANCIA;
+        long inicio = System.nanoTime();
+        escribir(archivo, fuente);
+        double escrito = (System.nanoTime() - inicio) / 1e6;
+        
+        inicio = System.nanoTime();
+        try (PaqueteNiveles paquete = new PaqueteNiveles(archivo)) {
+            double abierto = (System.nanoTime() - inicio) / 1e3;
+            inicio = System.nanoTime();
+            Nivel ultimo = paquete.nivel(paquete.cantidad());
+            double primero = (System.nanoTime() - inicio) / 1e3;
+            
+            SplittableRandom azar = new SplittableRandom(semilla);
+            int lecturas = 10_000;
+            inicio = System.nanoTime();
+            for (int i = 0; i < lecturas; i++) {
+                paquete.nivel(1 + azar.nextInt(paquete.cantidad()));
+            }
+            double promedio = (System.nanoTime() - inicio) / 1e3 / lecturas;
+            System.out.printf(Locale.ROOT, "%s: %d niveles, %d bytes; escrito en %.1f ms, abierto en %.1f us, "
+                + "último nivel (%d bloques) leído en %.1f us, después %.2f us por nivel al azar%n",
+                archivo, paquete.cantidad(), paquete.canal.size(), escrito, abierto, ultimo.size(), primero, promedio);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,220 @@
+package arkanoid;
+
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+// Partículas de golpes y roturas de bloques, solo visuales. Viven en el hilo de dibujo:
+// se crean a partir de los eventos de cada Instantanea y avanzan un paso por tick de la
+// simulación. Todo está en arreglos de primitivos de tamaño fijo usados como anillo,
+// en orden de creación; si se llena, las nuevas pisan a las más viejas.
+public class Particulas {
+    public static final int CAPACIDAD = 1 << 16;
+    private static final int MASCARA = CAPACIDAD - 1;
+    private static final int TAMANO = 2; // El camino rápido de dibujar(Lienzo) escribe 2x2
+    private static final float GRAVEDAD = 0.15f;
+    private static final int MAX_PASOS = 120; // Después de una pausa larga no hace falta simular todo
+    private static final int POR_ROTURA = 40;
+    private static final int POR_GOLPE = 8;
+    private static final int MAX_COLORES = 64;
+    
+    private final float[] x = new float[CAPACIDAD], y = new float[CAPACIDAD];
+    private final float[] vx = new float[CAPACIDAD], vy = new float[CAPACIDAD];
+    private final short[] vida = new short[CAPACIDAD]; // ticks que le quedan
+    private final byte[] color = new byte[CAPACIDAD];  // índice en la paleta
+    private int cola;     // la más vieja
+    private int cantidad;
+    
+    // Colores de las partículas (ARGB opaco); los bloques usan pocos, no hace falta liberar
+    private final int[] paleta = new int[MAX_COLORES];
+    private int coloresUsados;
+    
+    // Caja que ocupó el último dibujo: [cajaMinX, cajaMaxX) x [cajaMinY, cajaMaxY)
+    private int cajaMinX, cajaMinY, cajaMaxX, cajaMaxY;
+    
+    // Para Java2D: capa transparente donde se dibujan todas y que se pega con un solo drawImage
+    private BufferedImage capa;
+    private Lienzo lienzoCapa;
+    
+    private long ultimoTick = -1;
+    private long eventosLeidos;
+    private int semilla = 0x9E3779B9;
+    
+    // Pone al día las partículas con la captura: los pasos de los ticks que pasaron y los
+    // eventos nuevos. Se llama una vez por frame; si el tick no cambió no hace nada.
+    public void sincronizar(Instantanea estado) {
+        if (estado.tick < ultimoTick || estado.eventos.getTotal() < eventosLeidos) {
+            limpiar(); // Otra partida o reproducción
+        }
+        if (ultimoTick >= 0) {
+            long pasos = Math.min(estado.tick - ultimoTick, MAX_PASOS);
+            for (int i = 0; i < pasos; i++) {
+                avanzar();
+            }
+        }
+        ultimoTick = estado.tick;
+        
+        RegistroEventos eventos = estado.eventos;
+        for (long n = Math.max(eventosLeidos, eventos.primero()); n < eventos.getTotal(); n++) {
+            int i = RegistroEventos.indice(n);
+            if (eventos.tipo[i] == RegistroEventos.ROTURA) {
+                emitirRotura(eventos.x[i], eventos.y[i], eventos.width[i], eventos.height[i], eventos.rgb[i]);
+            } else if (eventos.tipo[i] == RegistroEventos.GOLPE) {
+                emitirGolpe(eventos.x[i], eventos.y[i], eventos.width[i], eventos.height[i]);
+            }
+        }
+        eventosLeidos = eventos.getTotal();
+    }
+    
+    public void limpiar() {
+        cola = 0;
+        cantidad = 0;
+        ultimoTick = -1;
+        eventosLeidos = 0;
+    }
+    
+    // El bloque se deshace en trozos de su color que caen
+    private void emitirRotura(int bx, int by, int ancho, int alto, int rgb) {
+        int c = indiceColor(rgb);
+        for (int k = 0; k < POR_ROTURA; k++) {
+            float px = bx + azar() * ancho;
+            float py = by + azar() * alto;
+            float velX = (px - (bx + ancho / 2f)) * 0.06f + (azar() - 0.5f) * 2f;
+            float velY = -azar() * 3f;
+            emitir(px, py, velX, velY, 30 + (int) (azar() * 30), c);
+        }
+    }
+    
+    // Chispas blancas desde el bloque golpeado
+    private void emitirGolpe(int bx, int by, int ancho, int alto) {
+        int c = indiceColor(0xFFFFFFFF);
+        for (int k = 0; k < POR_GOLPE; k++) {
+            float angulo = azar() * 6.2831855f;
+            float rapidez = 1f + azar() * 2.5f;
+            emitir(bx + azar() * ancho, by + alto, (float) Math.cos(angulo) * rapidez,
+                   (float) Math.sin(angulo) * rapidez, 10 + (int) (azar() * 10), c);
+        }
+    }
+    
+    private void emitir(float px, float py, float velX, float velY, int ticks, int c) {
+        if (cantidad == CAPACIDAD) {
+            cola = (cola + 1) & MASCARA; // Lleno: se descarta la más vieja
+            cantidad--;
+        }
+        int i = (cola + cantidad) & MASCARA;
+        x[i] = px;
+        y[i] = py;
+        vx[i] = velX;
+        vy[i] = velY;
+        vida[i] = (short) ticks;
+        color[i] = (byte) c;
+        cantidad++;
+    }
+    
+    // Un tick de todas; el anillo se recorre como uno o dos tramos contiguos
+    private void avanzar() {
+        int fin = cola + cantidad;
+        avanzar(cola, Math.min(fin, CAPACIDAD));
+        if (fin > CAPACIDAD) {
+            avanzar(0, fin - CAPACIDAD);
+        }
+        // Las que terminaron al principio del anillo dejan de contarse
+        while (cantidad > 0 && vida[cola] <= 0) {
+            cola = (cola + 1) & MASCARA;
+            cantidad--;
+        }
+    }
+    
+    private void avanzar(int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            x[i] += vx[i];
+            y[i] += vy[i];
+            vy[i] += GRAVEDAD;
+            vida[i]--;
+        }
+    }
+    
+    private int indiceColor(int rgb) {
+        rgb |= 0xFF000000;
+        for (int c = 0; c < coloresUsados; c++) {
+            if (paleta[c] == rgb) {
+                return c;
+            }
+        }
+        if (coloresUsados == MAX_COLORES) {
+            return 0;
+        }
+        paleta[coloresUsados] = rgb;
+        return coloresUsados++;
+    }
+    
+    // xorshift: los efectos no necesitan reproducirse y así no se toca el Random del Motor
+    private float azar() {
+        semilla ^= semilla << 13;
+        semilla ^= semilla >>> 17;
+        semilla ^= semilla << 5;
+        return (semilla >>> 8) * 0x1.0p-24f;
+    }
+    
+    // Java2D: miles de fillRect son demasiadas llamadas, así que se dibujan en una capa
+    // propia y se pega solo la caja que ocupan. De la capa se borra lo del frame anterior.
+    public void dibujar(Graphics g, double alfa) {
+        if (capa == null) {
+            capa = new BufferedImage(Motor.WIDTH, Motor.HEIGHT, BufferedImage.TYPE_INT_ARGB);
+            lienzoCapa = new Lienzo(((DataBufferInt) capa.getRaster().getDataBuffer()).getData(), Motor.WIDTH, Motor.HEIGHT);
+        }
+        lienzoCapa.rellenar(cajaMinX, cajaMinY, cajaMaxX - cajaMinX, cajaMaxY - cajaMinY, 0);
+        dibujar(lienzoCapa, alfa);
+        if (cajaMaxX > cajaMinX) {
+            g.drawImage(capa, cajaMinX, cajaMinY, cajaMaxX, cajaMaxY, cajaMinX, cajaMinY, cajaMaxX, cajaMaxY, null);
+        }
+    }
+    
+    // Raster: cada partícula son TAMANO x TAMANO píxeles escritos directo
+    public void dibujar(Lienzo lienzo, double alfa) {
+        float a = (float) alfa;
+        int[] pixeles = lienzo.getPixeles();
+        int ancho = lienzo.getAncho();
+        int maxXDentro = ancho - TAMANO;
+        int maxYDentro = lienzo.getAlto() - TAMANO;
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (int k = 0; k < cantidad; k++) {
+            int i = (cola + k) & MASCARA;
+            if (vida[i] > 0) {
+                int px = (int) Math.floor(x[i] + vx[i] * a);
+                int py = (int) Math.floor(y[i] + vy[i] * a);
+                int rgb = paleta[color[i]];
+                if (px >= 0 && py >= 0 && px <= maxXDentro && py <= maxYDentro) {
+                    int p = py * ancho + px;
+                    pixeles[p] = rgb;
+                    pixeles[p + 1] = rgb;
+                    pixeles[p + ancho] = rgb;
+                    pixeles[p + ancho + 1] = rgb;
+                } else {
+                    lienzo.rellenar(px, py, TAMANO, TAMANO, rgb); // Recortada contra el borde
+                }
+                minX = Math.min(minX, px);
+                minY = Math.min(minY, py);
+                maxX = Math.max(maxX, px);
+                maxY = Math.max(maxY, py);
+            }
+        }
+        if (minX > maxX) {
+            cajaMinX = cajaMinY = cajaMaxX = cajaMaxY = 0;
+            return;
+        }
+        cajaMinX = Math.max(minX, 0);
+        cajaMinY = Math.max(minY, 0);
+        cajaMaxX = Math.min(maxX + TAMANO, Motor.WIDTH);
+        cajaMaxY = Math.min(maxY + TAMANO, Motor.HEIGHT);
+    }
+    
+    public int getCajaX() { return cajaMinX; }
+    public int getCajaY() { return cajaMinY; }
+    public int getCajaAncho() { return Math.max(cajaMaxX - cajaMinX, 0); }
+    public int getCajaAlto() { return Math.max(cajaMaxY - cajaMinY, 0); }
+    
+    public int size() {
+        return cantidad;
+    }
+}
\ No newline at end of file
@@ -1,34 +1,67 @@
 package arkanoid;
 
-import java.awt.Color;
-import java.awt.Graphics;
-import java.util.ArrayList;
-import java.util.List;
-
 public class Pelota {
     public static final int SIZE = 16;
     private static final double VELOCIDAD_INICIAL = 7.0;
-    private static final double VELOCIDAD_MAXIMA = 8.0;
+    // Con la colisión continua la velocidad ya no está limitada por el tamaño de los bloques
+    private static final double VELOCIDAD_MAXIMA = 24.0;
+    private static final double RADIO = SIZE / 2.0;
+    // Tope de rebotes resueltos en un mismo tick (una pelota atrapada entre superficies)
+    private static final int MAX_CONTACTOS_POR_TICK = 16;
+    
+    // Tipo del primer contacto encontrado; los valores >= 0 son ids de bloque
+    private static final int SIN_CHOQUE = -1;
+    private static final int CHOQUE_PARED = -2;
+    private static final int CHOQUE_FONDO = -3;
+    private static final int CHOQUE_PALETA = -4;
     
-    private int x, y;
+    // Posición con decimales: el paso por tick no se trunca y el movimiento no queda escalonado
+    private double x, y;
+    private double xAnterior, yAnterior; // al inicio del último tick, para interpolar el dibujo
     private double xVel, yVel;
     private double speed;
-    private Game game;
-    private List<Bloque> bloquesGolpeadosEsteFrame;
+    private Motor motor;
+    
+    // Resultado de buscarPrimerContacto, reutilizado en cada tick
+    private final double[] normal = new double[2];
+    private int choque;
+    private double normalChoqueX, normalChoqueY;
+    
+    // Rebotes del último tick, para los sonidos
+    private int rebotesPared, rebotesPaleta;
     
-    public Pelota(Game game) {
-        this.game = game;
-        this.bloquesGolpeadosEsteFrame = new ArrayList<>();
+    // Campo contra el que se mueve en este tick (ver setCampo)
+    private int paletaX, paletaY, paletaAncho, paletaAlto, paletaVel;
+    private int[] bloquesX, bloquesY, bloquesAncho, bloquesAlto;
+    private int base;
+    private FuenteCandidatos candidatos;
+    
+    public Pelota(Motor motor) {
+        this.motor = motor;
         reset();
     }
+    
+    // Sin Motor: solo como núcleo de física para estados que viven en otro lado (MotorLote),
+    // que se cargan con cargar() antes de avanzar()
+    Pelota() {
+        this.motor = null;
+    }
 
     public void reset() {
-        x = Game.WIDTH / 2 - SIZE / 2;
-        y = Game.HEIGHT / 2 - SIZE / 2;
+        lanzar(motor.getAleatorio().nextDouble());
+    }
+    
+    // Saque desde el centro; "aleatorio" es el siguiente nextDouble() del juego
+    void lanzar(double aleatorio) {
+        x = Motor.WIDTH / 2 - SIZE / 2;
+        y = Motor.HEIGHT / 2 - SIZE / 2;
+        xAnterior = x;
+        yAnterior = y;
         
-        double angulo = Math.random() * Math.PI/2 + Math.PI/4;
-        xVel = Math.cos(angulo);
-        yVel = -Math.sin(angulo);
+        // StrictMath da el mismo resultado en cualquier máquina (grabaciones reproducibles)
+        double angulo = aleatorio * Math.PI/2 + Math.PI/4;
+        xVel = StrictMath.cos(angulo);
+        yVel = -StrictMath.sin(angulo);
         speed = VELOCIDAD_INICIAL;
     }
     
@@ -36,83 +69,202 @@ public class Pelota {
         speed = Math.min(speed + incremento, VELOCIDAD_MAXIMA);
     }
 
-    public void draw(Graphics g) {
-        g.setColor(Color.white);
-        g.fillOval(x, y, SIZE, SIZE);
+    void cargar(double x, double y, double xVel, double yVel, double speed) {
+        this.x = x;
+        this.y = y;
+        this.xVel = xVel;
+        this.yVel = yVel;
+        this.speed = speed;
+    }
+    
+    void setAnterior(double xAnterior, double yAnterior) {
+        this.xAnterior = xAnterior;
+        this.yAnterior = yAnterior;
+    }
+    
+    // Paleta y bloques contra los que se mueve en el próximo avanzar(). Los candidatos
+    // devuelven ids locales; el bloque id está en la posición base + id de los arreglos.
+    void setCampo(int paletaX, int paletaY, int paletaAncho, int paletaAlto, int paletaVel,
+                  int[] bloquesX, int[] bloquesY, int[] bloquesAncho, int[] bloquesAlto, int base,
+                  FuenteCandidatos candidatos) {
+        this.paletaX = paletaX;
+        this.paletaY = paletaY;
+        this.paletaAncho = paletaAncho;
+        this.paletaAlto = paletaAlto;
+        this.paletaVel = paletaVel;
+        this.bloquesX = bloquesX;
+        this.bloquesY = bloquesY;
+        this.bloquesAncho = bloquesAncho;
+        this.bloquesAlto = bloquesAlto;
+        this.base = base;
+        this.candidatos = candidatos;
     }
 
-    public void update(Paleta paleta, List<Bloque> bloques) {
-        bloquesGolpeadosEsteFrame.clear();
+    // Avanza un tick. Los golpes a bloques no se aplican acá sino que se anotan en golpes
+    // con el índice de esta pelota; devuelve true si la pelota se fue por abajo.
+    public boolean update(Paleta paleta, AlmacenBloques bloques, GrillaBloques grilla, Golpes golpes, int indice) {
+        setCampo(paleta.getX(), paleta.getY(), paleta.getWidth(), paleta.getHeight(), paleta.getVel(),
+                 bloques.x, bloques.y, bloques.width, bloques.height, 0, grilla);
+        return avanzar(golpes, indice);
+    }
+    
+    // Núcleo de la física de un tick, compartido con MotorLote para que los dos motores den
+    // exactamente el mismo resultado
+    boolean avanzar(Golpes golpes, int indice) {
+        xAnterior = x;
+        yAnterior = y;
+        rebotesPared = 0;
+        rebotesPaleta = 0;
         
-        // Guardar posición anterior para detectar colisiones
-        int prevX = x;
-        int prevY = y;
+        // La paleta se mueve después de la pelota y puede haberse metido debajo de ella
+        if (colisionConPaleta()) {
+            manejarColisionPaleta();
+            rebotesPaleta++;
+        }
         
-        // Movimiento
-        x += xVel * speed;
-        y += yVel * speed;
-
-        // Colisiones con bordes
-        if (x <= 0) {
-            x = 0;
-            xVel = Math.abs(xVel);
-        } else if (x + SIZE >= Game.WIDTH) {
-            x = Game.WIDTH - SIZE;
-            xVel = -Math.abs(xVel);
+        // Recorrido continuo: se avanza hasta el primer contacto del tick, se rebota y se
+        // sigue con lo que queda del desplazamiento. Así no atraviesa bloques a ninguna
+        // velocidad y cada tick cuesta lo mismo salvo por los contactos que realmente hay.
+        double restante = 1.0;
+        for (int contactos = 0; contactos < MAX_CONTACTOS_POR_TICK && restante > 0; contactos++) {
+            double centroX = x + RADIO;
+            double centroY = y + RADIO;
+            double dx = xVel * speed * restante;
+            double dy = yVel * speed * restante;
+            
+            double t = buscarPrimerContacto(centroX, centroY, dx, dy);
+            if (choque == SIN_CHOQUE) {
+                x += dx;
+                y += dy;
+                break;
+            }
+            
+            x += t * dx;
+            y += t * dy;
+            double instante = 1 - restante + t * restante; // dentro del tick, de 0 a 1
+            restante *= 1 - t;
+            
+            if (choque == CHOQUE_FONDO) {
+                return true; // Salir temprano para evitar más procesamiento
+            } else if (choque == CHOQUE_PALETA) {
+                manejarColisionPaleta();
+                rebotesPaleta++;
+            } else {
+                rebotar(normalChoqueX, normalChoqueY);
+                if (choque >= 0) {
+                    golpes.registrar(choque, instante, indice);
+                } else {
+                    rebotesPared++;
+                }
+            }
         }
+        return false;
+    }
+    
+    // Primer contacto del desplazamiento (dx, dy) desde el centro dado: paredes, paleta y los
+    // bloques candidatos del recorrido. Deja el tipo en "choque" (o el id del bloque) y la
+    // normal en normalChoqueX/Y. A igual tiempo ganan las paredes, después la paleta y entre
+    // bloques el de menor id, así no importa en qué orden lleguen los candidatos.
+    private double buscarPrimerContacto(double centroX, double centroY, double dx, double dy) {
+        double primero = Colisiones.SIN_CONTACTO;
+        choque = SIN_CHOQUE;
         
-        if (y <= 0) {
-            y = 0;
-            yVel = Math.abs(yVel);
-        } else if (y + SIZE >= Game.HEIGHT) {
-            game.perderVida();
-            return; // Salir temprano para evitar más procesamiento
+        // Paredes
+        if (dx < 0 && centroX + dx <= RADIO) {
+            primero = Math.max(0, (RADIO - centroX) / dx);
+            choque = CHOQUE_PARED;
+            normalChoqueX = 1;
+            normalChoqueY = 0;
+        } else if (dx > 0 && centroX + dx >= Motor.WIDTH - RADIO) {
+            primero = Math.max(0, (Motor.WIDTH - RADIO - centroX) / dx);
+            choque = CHOQUE_PARED;
+            normalChoqueX = -1;
+            normalChoqueY = 0;
+        }
+        if (dy < 0 && centroY + dy <= RADIO) {
+            double t = Math.max(0, (RADIO - centroY) / dy);
+            if (t < primero) {
+                primero = t;
+                choque = CHOQUE_PARED;
+                normalChoqueX = 0;
+                normalChoqueY = 1;
+            }
+        } else if (dy > 0 && centroY + dy >= Motor.HEIGHT - RADIO) {
+            double t = Math.max(0, (Motor.HEIGHT - RADIO - centroY) / dy);
+            if (t < primero) {
+                primero = t;
+                choque = CHOQUE_FONDO;
+            }
         }
         
-        // Colisión con la paleta (prioridad alta)
-        if (colisionConPaleta(paleta)) {
-            manejarColisionPaleta(paleta, prevX, prevY);
+        // Paleta
+        double t = Colisiones.circuloCaja(centroX, centroY, dx, dy, RADIO,
+                                          paletaX, paletaY, paletaX + paletaAncho, paletaY + paletaAlto, normal);
+        if (t < primero) {
+            primero = t;
+            choque = CHOQUE_PALETA;
         }
         
-        // Colisión con bloques
-        for (int i = 0; i < bloques.size(); i++) {
-            Bloque bloque = bloques.get(i);
-            if (!bloquesGolpeadosEsteFrame.contains(bloque) && 
-                colisionConBloque(bloque)) {
-                manejarColisionBloque(bloque, prevX, prevY);
+        // Bloques (cada bloque aparece una vez por consulta, no hace falta filtrar repetidos)
+        int cantidad = candidatos.consultar((int) Math.floor(Math.min(centroX, centroX + dx) - RADIO),
+                                            (int) Math.floor(Math.min(centroY, centroY + dy) - RADIO),
+                                            (int) Math.ceil(Math.max(centroX, centroX + dx) + RADIO),
+                                            (int) Math.ceil(Math.max(centroY, centroY + dy) + RADIO));
+        int[] ids = candidatos.resultado();
+        for (int i = 0; i < cantidad; i++) {
+            int id = ids[i];
+            int k = base + id;
+            t = Colisiones.circuloCaja(centroX, centroY, dx, dy, RADIO,
+                                       bloquesX[k], bloquesY[k], bloquesX[k] + bloquesAncho[k], bloquesY[k] + bloquesAlto[k], normal);
+            if (t < primero || (t == primero && choque >= 0 && id < choque)) {
+                primero = t;
+                choque = id;
+                normalChoqueX = normal[0];
+                normalChoqueY = normal[1];
             }
         }
+        return primero;
+    }
+    
+    // Invierte un solo eje, el dominante de la normal entre los que se acercan a la superficie.
+    // Un reflejo especular exacto en las esquinas dejaría la pelota casi horizontal.
+    private void rebotar(double nx, double ny) {
+        boolean invertirX = xVel * nx < 0 && (Math.abs(nx) >= Math.abs(ny) || yVel * ny >= 0);
+        if (invertirX) {
+            xVel = -xVel;
+        } else {
+            yVel = -yVel;
+        }
     }
     
-    private boolean colisionConPaleta(Paleta paleta) {
+    private boolean colisionConPaleta() {
         // Detección más precisa considerando la forma circular
-        int centroX = x + SIZE/2;
-        int centroY = y + SIZE/2;
-        int radio = SIZE/2;
+        double centroX = x + SIZE/2;
+        double centroY = y + SIZE/2;
+        double radio = SIZE/2;
         
         // Encontrar el punto más cercano en el rectángulo al centro del círculo
-        int closestX = clamp(centroX, paleta.getX(), paleta.getX() + paleta.getWidth());
-        int closestY = clamp(centroY, paleta.getY(), paleta.getY() + paleta.getHeight());
+        double closestX = clamp(centroX, paletaX, paletaX + paletaAncho);
+        double closestY = clamp(centroY, paletaY, paletaY + paletaAlto);
         
         // Calcular distancia entre el centro y el punto más cercano
-        int distanceX = centroX - closestX;
-        int distanceY = centroY - closestY;
+        double distanceX = centroX - closestX;
+        double distanceY = centroY - closestY;
         
         // Si la distancia es menor que el radio, hay colisión
         return (distanceX * distanceX + distanceY * distanceY) < (radio * radio);
     }
     
-    private int clamp(int value, int min, int max) {
+    private double clamp(double value, double min, double max) {
         return Math.max(min, Math.min(max, value));
     }
     
-    private void manejarColisionPaleta(Paleta paleta, int prevX, int prevY) {
+    private void manejarColisionPaleta() {
         // Método más preciso para determinar el punto de impacto
-        int centroPelotaX = x + SIZE/2;
-        int centroPelotaY = y + SIZE/2;
+        double centroPelotaX = x + SIZE/2;
         
         // Calcular punto de impacto relativo en la paleta (0 = izquierda, 1 = derecha)
-        double impactoRelativo = (centroPelotaX - paleta.getX()) / (double)paleta.getWidth();
+        double impactoRelativo = (centroPelotaX - paletaX) / (double)paletaAncho;
         impactoRelativo = Math.max(0, Math.min(1, impactoRelativo)); // Asegurar entre 0 y 1
         
         // Calcular nuevo ángulo basado en el punto de impacto
@@ -120,11 +272,10 @@ public class Pelota {
         double nuevoAngulo = Math.PI/3 * (2 * impactoRelativo - 1);
         
         // Aplicar nuevo vector de dirección
-        xVel = Math.sin(nuevoAngulo);
-        yVel = -Math.cos(nuevoAngulo); // Siempre hacia arriba
+        xVel = StrictMath.sin(nuevoAngulo);
+        yVel = -StrictMath.cos(nuevoAngulo); // Siempre hacia arriba
         
         // Influencia del movimiento de la paleta
-        int paletaVel = paleta.getVel();
         if (paletaVel != 0) {
             xVel += paletaVel * 0.02; // Influencia muy suave
         }
@@ -133,81 +284,12 @@ public class Pelota {
         normalizarVelocidad();
         
         // Ajustar posición para evitar colisiones múltiples
-        y = paleta.getY() - SIZE;
+        y = paletaY - SIZE;
         
         // Pequeño ajuste adicional
         y -= 2;
     }
     
-    private boolean colisionConBloque(Bloque bloque) {
-        // Detección de colisión círculo-rectángulo más precisa
-        int centroX = x + SIZE/2;
-        int centroY = y + SIZE/2;
-        int radio = SIZE/2;
-        
-        // Encontrar el punto más cercano en el rectángulo al centro del círculo
-        int closestX = clamp(centroX, bloque.x, bloque.x + bloque.width);
-        int closestY = clamp(centroY, bloque.y, bloque.y + bloque.height);
-        
-        // Calcular distancia entre el centro y el punto más cercano
-        int distanceX = centroX - closestX;
-        int distanceY = centroY - closestY;
-        
-        // Si la distancia es menor que el radio, hay colisión
-        return (distanceX * distanceX + distanceY * distanceY) < (radio * radio);
-    }
-    
-    private void manejarColisionBloque(Bloque bloque, int prevX, int prevY) {
-        // Determinar dirección de colisión basada en la posición anterior
-        boolean colisionHorizontal = false;
-        boolean colisionVertical = false;
-        
-        // Calcular penetración en cada eje
-        int penetracionX = calcularPenetracionX(bloque, prevX);
-        int penetracionY = calcularPenetracionY(bloque, prevY);
-        
-        // La colisión ocurre en el eje con menor penetración
-        if (Math.abs(penetracionX) < Math.abs(penetracionY)) {
-            colisionHorizontal = true;
-        } else {
-            colisionVertical = true;
-        }
-        
-        // Ajustar posición basada en la colisión
-        if (colisionHorizontal) {
-            x += penetracionX;
-            xVel *= -1;
-        }
-        
-        if (colisionVertical) {
-            y += penetracionY;
-            yVel *= -1;
-        }
-        
-        // Registrar bloque golpeado y procesar
-        bloquesGolpeadosEsteFrame.add(bloque);
-        if (bloque.golpear()) {
-            game.eliminarBloque(bloque);
-            game.incrementarPuntuacion(bloque.getPuntos());
-        }
-    }
-    
-    private int calcularPenetracionX(Bloque bloque, int prevX) {
-        if (xVel > 0) { // Moviéndose a la derecha
-            return bloque.x - (x + SIZE);
-        } else { // Moviéndose a la izquierda
-            return (bloque.x + bloque.width) - x;
-        }
-    }
-    
-    private int calcularPenetracionY(Bloque bloque, int prevY) {
-        if (yVel > 0) { // Moviéndose hacia abajo
-            return bloque.y - (y + SIZE);
-        } else { // Moviéndose hacia arriba
-            return (bloque.y + bloque.height) - y;
-        }
-    }
-    
     private void normalizarVelocidad() {
         double magnitud = Math.sqrt(xVel * xVel + yVel * yVel);
         
@@ -230,6 +312,13 @@ public class Pelota {
         }
     }
 
-    public int getX() { return x; }
-    public int getY() { return y; }
+    public double getX() { return x; }
+    public double getY() { return y; }
+    public double getXAnterior() { return xAnterior; }
+    public double getYAnterior() { return yAnterior; }
+    public double getXVel() { return xVel; }
+    public double getYVel() { return yVel; }
+    public double getSpeed() { return speed; }
+    public int getRebotesPared() { return rebotesPared; }
+    public int getRebotesPaleta() { return rebotesPaleta; }
 }
\ No newline at end of file
@@ -0,0 +1,266 @@
+package arkanoid;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// Poderes que sueltan los bloques bonus (tipo 2) al romperse: cae una cápsula y, si la
+// paleta la atrapa, la ensancha, le da un láser que dispara solo o divide las pelotas.
+// Cápsulas y disparos viven en arreglos de primitivos de tamaño fijo, sin objetos durante
+// la partida; si se llenan, lo nuevo no aparece. Los disparos buscan bloques en la misma
+// GrillaBloques que las pelotas y sus golpes van a Golpes junto con los de ellas, así se
+// aplican en el mismo orden fijo al final del tick.
+public class Poderes {
+    public static final int ENSANCHAR = 0;
+    public static final int LASER = 1;
+    public static final int DIVIDIR = 2;
+    private static final int TIPOS = 3;
+    private static final Color[] COLORES = { new Color(80, 160, 255), new Color(255, 70, 70), new Color(80, 220, 120) };
+
+    static final int TIPO_BONUS = 2; // ver Bloque
+
+    public static final int MAX_CAPSULAS = 16;
+    public static final int CAPSULA_ANCHO = 30;
+    public static final int CAPSULA_ALTO = 12;
+    public static final int CAIDA_CAPSULA = 2;
+
+    public static final int MAX_DISPAROS = 128;
+    public static final int DISPARO_ANCHO = 4;
+    public static final int DISPARO_ALTO = 12;
+    public static final int VELOCIDAD_DISPARO = 9;
+
+    private static final int DURACION = 600; // ticks: 10 segundos
+    private static final int CADENCIA_LASER = 12;
+    private static final int ANCHO_ENSANCHADA = Paleta.ANCHO * 3 / 2;
+    private static final int MAX_PELOTAS = 24;
+    private static final double ANGULO_DIVISION = Math.PI / 8;
+    // Índice de "pelota" de los disparos en Golpes: después de cualquier pelota real
+    private static final int ORIGEN_DISPAROS = 1 << 19;
+
+    static final int TAMANO_GUARDADO_FIJO = 2 * 3 + 2 + 2;
+    static final int POR_CAPSULA = 2 + 2 + 1;
+    static final int POR_DISPARO = 2 + 2;
+
+    final int[] capsulaX = new int[MAX_CAPSULAS], capsulaY = new int[MAX_CAPSULAS];
+    final byte[] capsulaTipo = new byte[MAX_CAPSULAS];
+    int capsulas;
+
+    final int[] disparoX = new int[MAX_DISPAROS], disparoY = new int[MAX_DISPAROS];
+    int disparos;
+
+    private int ticksAncho;
+    private int ticksLaser;
+    private int recarga;
+
+    // Con cada saque: los poderes no pasan de una vida o un nivel al siguiente
+    void reiniciar(Paleta paleta) {
+        capsulas = 0;
+        disparos = 0;
+        ticksAncho = 0;
+        ticksLaser = 0;
+        recarga = 0;
+        paleta.setWidth(Paleta.ANCHO);
+    }
+
+    // Desde Golpes, cuando se rompe un bloque
+    void alRomper(Motor motor, AlmacenBloques bloques, int id) {
+        if (bloques.tipo[id] != TIPO_BONUS || capsulas == MAX_CAPSULAS) {
+            return;
+        }
+        capsulaX[capsulas] = bloques.x[id] + bloques.width[id] / 2 - CAPSULA_ANCHO / 2;
+        capsulaY[capsulas] = bloques.y[id] + bloques.height[id] / 2 - CAPSULA_ALTO / 2;
+        capsulaTipo[capsulas] = (byte) motor.getAleatorio().nextInt(TIPOS);
+        capsulas++;
+    }
+
+    // Mientras las pelotas: cada disparo sube y golpea el primer bloque que encuentra en el
+    // camino, con el campo de bloques como estaba al empezar el tick
+    void moverDisparos(GrillaBloques grilla, AlmacenBloques bloques, Golpes golpes) {
+        for (int i = disparos - 1; i >= 0; i--) {
+            int x = disparoX[i];
+            int y = disparoY[i];
+            int n = grilla.consultar(x, y - VELOCIDAD_DISPARO, x + DISPARO_ANCHO, y + DISPARO_ALTO);
+            int[] candidatos = grilla.resultado();
+            int golpeado = -1;
+            int bordeGolpeado = Integer.MIN_VALUE;
+            for (int k = 0; k < n; k++) {
+                int id = candidatos[k];
+                int borde = bloques.y[id] + bloques.height[id];
+                if (bloques.x[id] < x + DISPARO_ANCHO && bloques.x[id] + bloques.width[id] > x
+                        && bloques.y[id] < y + DISPARO_ALTO && borde > y - VELOCIDAD_DISPARO
+                        && (borde > bordeGolpeado || borde == bordeGolpeado && id < golpeado)) {
+                    golpeado = id;
+                    bordeGolpeado = borde;
+                }
+            }
+            if (golpeado >= 0) {
+                double instante = Math.max(0, Math.min(1, (y - bordeGolpeado) / (double) VELOCIDAD_DISPARO));
+                golpes.registrar(golpeado, instante, ORIGEN_DISPAROS + i);
+                quitarDisparo(i);
+            } else if (y + DISPARO_ALTO - VELOCIDAD_DISPARO < 0) {
+                quitarDisparo(i);
+            } else {
+                disparoY[i] = y - VELOCIDAD_DISPARO;
+            }
+        }
+    }
+
+    // Después de mover la paleta: caen las cápsulas, corren los tiempos y dispara el láser
+    void avanzar(Motor motor) {
+        Paleta paleta = motor.getPaleta();
+        int paletaY = paleta.getY();
+        for (int i = capsulas - 1; i >= 0; i--) {
+            int y = capsulaY[i] += CAIDA_CAPSULA;
+            if (y > Motor.HEIGHT) {
+                quitarCapsula(i);
+            } else if (y + CAPSULA_ALTO >= paletaY && y <= paletaY + paleta.getHeight()
+                    && capsulaX[i] + CAPSULA_ANCHO >= paleta.getX() && capsulaX[i] <= paleta.getX() + paleta.getWidth()) {
+                int tipo = capsulaTipo[i];
+                quitarCapsula(i);
+                activar(motor, tipo);
+            }
+        }
+
+        if (ticksAncho > 0 && --ticksAncho == 0) {
+            paleta.setWidth(Paleta.ANCHO);
+        }
+        if (ticksLaser > 0) {
+            ticksLaser--;
+            if (--recarga <= 0) {
+                disparar(paleta.getX() + 8, paletaY);
+                disparar(paleta.getX() + paleta.getWidth() - 8 - DISPARO_ANCHO, paletaY);
+                recarga = CADENCIA_LASER;
+            }
+        }
+    }
+
+    private void activar(Motor motor, int tipo) {
+        switch (tipo) {
+            case ENSANCHAR:
+                ticksAncho = DURACION;
+                motor.getPaleta().setWidth(ANCHO_ENSANCHADA);
+                break;
+            case LASER:
+                ticksLaser = DURACION;
+                recarga = 0;
+                break;
+            default:
+                dividir(motor.getPelotas());
+        }
+    }
+
+    // Cada pelota en juego suma dos más que salen del mismo punto, abiertas hacia los costados
+    private void dividir(PoolPelotas pelotas) {
+        int originales = pelotas.size();
+        double cos = StrictMath.cos(ANGULO_DIVISION);
+        double sin = StrictMath.sin(ANGULO_DIVISION);
+        for (int i = 0; i < originales; i++) {
+            for (int lado = -1; lado <= 1; lado += 2) {
+                if (pelotas.size() >= MAX_PELOTAS) {
+                    return;
+                }
+                Pelota original = pelotas.get(i);
+                double vx = original.getXVel() * cos - original.getYVel() * sin * lado;
+                double vy = original.getXVel() * sin * lado + original.getYVel() * cos;
+                Pelota nueva = pelotas.lanzar();
+                nueva.cargar(original.getX(), original.getY(), vx, vy, original.getSpeed());
+                nueva.setAnterior(original.getXAnterior(), original.getYAnterior());
+            }
+        }
+    }
+
+    private void disparar(int x, int paletaY) {
+        if (disparos < MAX_DISPAROS) {
+            disparoX[disparos] = x;
+            disparoY[disparos] = paletaY - DISPARO_ALTO;
+            disparos++;
+        }
+    }
+
+    // O(1): el último ocupa el hueco
+    private void quitarCapsula(int i) {
+        capsulas--;
+        capsulaX[i] = capsulaX[capsulas];
+        capsulaY[i] = capsulaY[capsulas];
+        capsulaTipo[i] = capsulaTipo[capsulas];
+    }
+
+    private void quitarDisparo(int i) {
+        disparos--;
+        disparoX[i] = disparoX[disparos];
+        disparoY[i] = disparoY[disparos];
+    }
+
+    public static Color color(int tipo) {
+        return COLORES[tipo];
+    }
+
+    public int getCapsulas() { return capsulas; }
+    public int getDisparos() { return disparos; }
+    public int getTicksAncho() { return ticksAncho; }
+    public int getTicksLaser() { return ticksLaser; }
+
+    long mezclar(long h) {
+        h = Motor.mezclar(h, ticksAncho);
+        h = Motor.mezclar(h, ticksLaser);
+        h = Motor.mezclar(h, recarga);
+        h = Motor.mezclar(h, capsulas);
+        for (int i = 0; i < capsulas; i++) {
+            h = Motor.mezclar(h, (long) capsulaX[i] << 32 | capsulaY[i] & 0xFFFFFFFFL);
+            h = Motor.mezclar(h, capsulaTipo[i]);
+        }
+        h = Motor.mezclar(h, disparos);
+        for (int i = 0; i < disparos; i++) {
+            h = Motor.mezclar(h, (long) disparoX[i] << 32 | disparoY[i] & 0xFFFFFFFFL);
+        }
+        return h;
+    }
+
+    // Para Guardado: tiempos (short), cantidad de cápsulas (short) y por cada una x, y (short)
+    // y tipo (byte), cantidad de disparos (short) y por cada uno x, y (short)
+    int tamanoGuardado() {
+        return TAMANO_GUARDADO_FIJO + capsulas * POR_CAPSULA + disparos * POR_DISPARO;
+    }
+
+    void escribir(ByteBuffer destino) {
+        destino.putShort((short) ticksAncho);
+        destino.putShort((short) ticksLaser);
+        destino.putShort((short) recarga);
+        destino.putShort((short) capsulas);
+        for (int i = 0; i < capsulas; i++) {
+            destino.putShort((short) capsulaX[i]);
+            destino.putShort((short) capsulaY[i]);
+            destino.put(capsulaTipo[i]);
+        }
+        destino.putShort((short) disparos);
+        for (int i = 0; i < disparos; i++) {
+            destino.putShort((short) disparoX[i]);
+            destino.putShort((short) disparoY[i]);
+        }
+    }
+
+    // El ancho de la paleta sale del tiempo de ensanchado que queda
+    void leer(ByteBuffer origen, Paleta paleta) throws IOException {
+        ticksAncho = origen.getShort();
+        ticksLaser = origen.getShort();
+        recarga = origen.getShort();
+        capsulas = origen.getShort();
+        if (capsulas < 0 || capsulas > MAX_CAPSULAS) {
+            throw new IOException("Cantidad de cápsulas inválida: " + capsulas);
+        }
+        for (int i = 0; i < capsulas; i++) {
+            capsulaX[i] = origen.getShort();
+            capsulaY[i] = origen.getShort();
+            capsulaTipo[i] = origen.get();
+        }
+        disparos = origen.getShort();
+        if (disparos < 0 || disparos > MAX_DISPAROS) {
+            throw new IOException("Cantidad de disparos inválida: " + disparos);
+        }
+        for (int i = 0; i < disparos; i++) {
+            disparoX[i] = origen.getShort();
+            disparoY[i] = origen.getShort();
+        }
+        paleta.restaurarAncho(ticksAncho > 0 ? ANCHO_ENSANCHADA : Paleta.ANCHO);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,6 @@
+package arkanoid;
+
+// Decide la entrada de cada tick (bits de Entrada) en partidas sin jugador
+public interface Politica {
+    int decidir(Motor motor);
+}
\ No newline at end of file
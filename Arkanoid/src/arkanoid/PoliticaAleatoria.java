@@ -0,0 +1,24 @@
+package arkanoid;
+
+import java.util.Random;
+
+// Elige una dirección al azar y la mantiene unos ticks, como quien aprieta teclas sin mirar
+public class PoliticaAleatoria implements Politica {
+    private static final int[] ENTRADAS = {Entrada.NINGUNA, Entrada.IZQUIERDA, Entrada.DERECHA};
+    
+    private final Random aleatorio;
+    private int entrada = Entrada.NINGUNA;
+    private int restantes = 0;
+    
+    public PoliticaAleatoria(long semilla) {
+        this.aleatorio = new Random(semilla);
+    }
+    
+    public int decidir(Motor motor) {
+        if (restantes-- <= 0) {
+            entrada = ENTRADAS[aleatorio.nextInt(ENTRADAS.length)];
+            restantes = 5 + aleatorio.nextInt(55);
+        }
+        return entrada;
+    }
+}
\ No newline at end of file
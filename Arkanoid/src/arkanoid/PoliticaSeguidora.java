@@ -0,0 +1,48 @@
+package arkanoid;
+
+import java.util.Random;
+
+// Sigue a la pelota más baja de las que vienen bajando. En cada tick reacciona con
+// probabilidad "reaccion" y si no repite lo que venía haciendo, lo que la hace errar
+// de vez en cuando como un jugador de verdad.
+public class PoliticaSeguidora implements Politica {
+    private static final int ZONA_MUERTA = 6;
+    
+    private final Random aleatorio;
+    private final double reaccion;
+    private int entrada = Entrada.NINGUNA;
+    
+    public PoliticaSeguidora(long semilla, double reaccion) {
+        this.aleatorio = new Random(semilla);
+        this.reaccion = reaccion;
+    }
+    
+    public int decidir(Motor motor) {
+        if (aleatorio.nextDouble() >= reaccion) {
+            return entrada;
+        }
+        
+        PoolPelotas pelotas = motor.getPelotas();
+        Pelota objetivo = null;
+        for (int i = 0; i < pelotas.size(); i++) {
+            Pelota pelota = pelotas.get(i);
+            if (pelota.getYVel() > 0 && (objetivo == null || pelota.getY() > objetivo.getY())) {
+                objetivo = pelota;
+            }
+        }
+        if (objetivo == null) {
+            objetivo = motor.getPelota();
+        }
+        
+        Paleta paleta = motor.getPaleta();
+        double diferencia = objetivo.getX() + Pelota.SIZE / 2.0 - (paleta.getX() + paleta.getWidth() / 2.0);
+        if (diferencia < -ZONA_MUERTA) {
+            entrada = Entrada.IZQUIERDA;
+        } else if (diferencia > ZONA_MUERTA) {
+            entrada = Entrada.DERECHA;
+        } else {
+            entrada = Entrada.NINGUNA;
+        }
+        return entrada;
+    }
+}
\ No newline at end of file
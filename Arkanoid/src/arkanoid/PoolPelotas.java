@@ -0,0 +1,54 @@
+package arkanoid;
+
+import java.util.Arrays;
+
+// Pelotas en juego. Las que se caen vuelven al pool y se reutilizan en el siguiente
+// lanzamiento, así el modo multibola no crea objetos durante la partida.
+public class PoolPelotas {
+    private final Motor motor;
+    private Pelota[] pelotas = new Pelota[4];
+    private int activas;
+
+    public PoolPelotas(Motor motor) {
+        this.motor = motor;
+    }
+
+    // Pone en juego una pelota desde el centro con una dirección al azar
+    public Pelota lanzar() {
+        if (activas == pelotas.length) {
+            pelotas = Arrays.copyOf(pelotas, activas * 2);
+        }
+        Pelota pelota = pelotas[activas];
+        if (pelota == null) {
+            pelota = new Pelota(motor);
+            pelotas[activas] = pelota;
+        } else {
+            pelota.reset();
+        }
+        activas++;
+        return pelota;
+    }
+
+    // O(1): la última pelota activa ocupa el lugar de la que se quita
+    public void liberar(int indice) {
+        Pelota pelota = pelotas[indice];
+        pelotas[indice] = pelotas[--activas];
+        pelotas[activas] = pelota;
+    }
+
+    public void liberarTodas() {
+        activas = 0;
+    }
+
+    public Pelota get(int indice) {
+        return pelotas[indice];
+    }
+
+    public int size() {
+        return activas;
+    }
+
+    public boolean isEmpty() {
+        return activas == 0;
+    }
+}
\ No newline at end of file
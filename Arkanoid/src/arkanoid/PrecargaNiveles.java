@@ -0,0 +1,61 @@
+package arkanoid;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Envuelve otra fuente y decodifica el nivel siguiente en un hilo aparte mientras se juega
+// el actual: cuando el Motor pasa de nivel, el Nivel ya está listo y el cambio no cuesta
+// más que cargar los bloques. Si se pide otro nivel (cargarNivel, un guardado) se
+// decodifica en el momento.
+public class PrecargaNiveles implements FuenteNiveles {
+    private final FuenteNiveles fuente;
+    private final ExecutorService hilo = Executors.newSingleThreadExecutor(tarea -> {
+        Thread t = new Thread(tarea, "arkanoid-niveles");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+    
+    private int numeroPrecargado;
+    private Future<Nivel> precargado;
+    
+    public PrecargaNiveles(FuenteNiveles fuente) {
+        this.fuente = fuente;
+    }
+    
+    public int cantidad() {
+        return fuente.cantidad();
+    }
+    
+    public long huella() {
+        return fuente.huella();
+    }
+    
+    // Solo el hilo de simulación
+    public Nivel nivel(int numero) {
+        Nivel nivel = null;
+        if (precargado != null && numeroPrecargado == numero) {
+            try {
+                nivel = precargado.get(); // normalmente ya terminó hace rato
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("No se pudo leer el nivel " + numero, e.getCause());
+            }
+        }
+        if (nivel == null) {
+            nivel = fuente.nivel(numero);
+        }
+        
+        if (numero < fuente.cantidad()) {
+            int siguiente = numero + 1;
+            numeroPrecargado = siguiente;
+            precargado = hilo.submit(() -> fuente.nivel(siguiente));
+        } else {
+            precargado = null;
+        }
+        return nivel;
+    }
+}
\ No newline at end of file
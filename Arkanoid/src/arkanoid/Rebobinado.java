@@ -0,0 +1,81 @@
+package arkanoid;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+// Los últimos estados del Motor, uno por tick, en un anillo de buffers que se reutilizan.
+// guardar() se llama antes de cada paso y retroceder() vuelve al estado más reciente y lo
+// saca del anillo: llamándolo en cada tick la partida corre hacia atrás.
+public class Rebobinado {
+    private final ByteBuffer[] estados;
+    private int siguiente; // slot que se escribe en el próximo guardar()
+    private int cantidad;
+    
+    public Rebobinado(int capacidad) {
+        estados = new ByteBuffer[capacidad];
+        for (int i = 0; i < capacidad; i++) {
+            estados[i] = ByteBuffer.allocate(4096);
+        }
+    }
+    
+    // Si el anillo está lleno se pisa el estado más viejo
+    public void guardar(Motor motor) {
+        int tamano = Guardado.tamano(motor);
+        ByteBuffer estado = estados[siguiente];
+        if (estado.capacity() < tamano) {
+            estado = ByteBuffer.allocate(Math.max(tamano, estado.capacity() * 2));
+            estados[siguiente] = estado;
+        }
+        estado.clear();
+        Guardado.escribir(motor, estado);
+        estado.flip();
+        
+        siguiente = (siguiente + 1) % estados.length;
+        cantidad = Math.min(cantidad + 1, estados.length);
+    }
+    
+    // false si no queda nada guardado
+    public boolean retroceder(Motor motor) {
+        if (cantidad == 0) {
+            return false;
+        }
+        siguiente = (siguiente + estados.length - 1) % estados.length;
+        cantidad--;
+        ByteBuffer estado = estados[siguiente];
+        try {
+            Guardado.leer(estado.duplicate(), motor);
+        } catch (IOException e) {
+            // Los escribió guardar() con el mismo motor: no puede pasar
+            throw new UncheckedIOException(e);
+        }
+        return true;
+    }
+    
+    // Un tick de quien maneja la partida (Game, Reproductor), así REBOBINAR hace lo mismo en
+    // vivo y al reproducir: retrocede, o guarda el estado y avanza. true si el motor avanzó.
+    public boolean paso(Motor motor, int entrada) {
+        if ((entrada & Entrada.REBOBINAR) != 0) {
+            retroceder(motor);
+            return false;
+        }
+        // Fuera de juego el estado no cambia: no hace falta llenar el anillo de copias
+        if (motor.isEnJuego() || (entrada & Entrada.INICIAR) != 0) {
+            guardar(motor);
+        }
+        motor.paso(entrada);
+        return true;
+    }
+    
+    public void limpiar() {
+        cantidad = 0;
+    }
+    
+    public int size() {
+        return cantidad;
+    }
+    
+    public int getCapacidad() {
+        return estados.length;
+    }
+}
\ No newline at end of file
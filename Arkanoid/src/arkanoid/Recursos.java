@@ -0,0 +1,25 @@
+package arkanoid;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+
+// Fuentes, colores y trazos compartidos por todo el dibujo, creados una sola vez
+public final class Recursos {
+    public static final Font FUENTE_TITULO = new Font("Roboto", Font.BOLD, 60);
+    public static final Font FUENTE_MENSAJE = new Font("Roboto", Font.PLAIN, 30);
+    public static final Font FUENTE_HUD = new Font("Roboto", Font.BOLD, 20);
+    public static final Font FUENTE_BLOQUE = new Font("Arial", Font.BOLD, 14);
+    public static final Font FUENTE_OVERLAY = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    
+    public static final Color COLOR_BIENVENIDA = new Color(0, 0, 51);
+    public static final Color COLOR_FONDO = new Color(0, 0, 80);
+    public static final Color COLOR_PALETA = new Color(100, 100, 255);
+    public static final Color COLOR_DISPARO = new Color(255, 230, 120);
+    public static final Color COLOR_OVERLAY = new Color(0, 0, 0, 170);
+    
+    public static final BasicStroke TRAZO_BORDE = new BasicStroke(3);
+    
+    private Recursos() {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package arkanoid;
+
+// Últimos golpes y roturas de bloques y rebotes de las pelotas, en un anillo de tamaño fijo. El Motor anota y
+// nunca borra; quien lee recuerda hasta qué número de evento ya procesó (getTotal) y
+// toma los que siguen, mientras no se los haya pisado el anillo. Son solo para efectos
+// visuales: no forman parte del estado del juego ni del checksum.
+public class RegistroEventos {
+    public static final int GOLPE = 0;
+    public static final int ROTURA = 1;
+    public static final int REBOTE_PARED = 2;
+    public static final int REBOTE_PALETA = 3;
+    public static final int CAPACIDAD = 256;
+    private static final int MASCARA = CAPACIDAD - 1;
+    
+    // Un evento por posición (numero & MASCARA); guarda el rectángulo y el color del
+    // bloque porque el id puede pertenecer a otro nivel cuando se lo lee. Los rebotes
+    // guardan solo la posición de la pelota.
+    public final int[] tipo = new int[CAPACIDAD];
+    public final int[] x = new int[CAPACIDAD], y = new int[CAPACIDAD];
+    public final int[] width = new int[CAPACIDAD], height = new int[CAPACIDAD];
+    public final int[] rgb = new int[CAPACIDAD];
+    private long total;
+    
+    public void registrar(int tipo, AlmacenBloques bloques, int id) {
+        int i = (int) (total & MASCARA);
+        this.tipo[i] = tipo;
+        x[i] = bloques.x[id];
+        y[i] = bloques.y[id];
+        width[i] = bloques.width[id];
+        height[i] = bloques.height[id];
+        rgb[i] = bloques.colorOriginal[id];
+        total++;
+    }
+    
+    public void registrar(int tipo, double pelotaX, double pelotaY) {
+        int i = (int) (total & MASCARA);
+        this.tipo[i] = tipo;
+        x[i] = (int) pelotaX;
+        y[i] = (int) pelotaY;
+        width[i] = Pelota.SIZE;
+        height[i] = Pelota.SIZE;
+        rgb[i] = 0;
+        total++;
+    }
+    
+    // Copia solo los eventos que este registro todavía no tiene
+    public void copiarDe(RegistroEventos otro) {
+        for (long n = Math.max(total, otro.primero()); n < otro.total; n++) {
+            int i = (int) (n & MASCARA);
+            tipo[i] = otro.tipo[i];
+            x[i] = otro.x[i];
+            y[i] = otro.y[i];
+            width[i] = otro.width[i];
+            height[i] = otro.height[i];
+            rgb[i] = otro.rgb[i];
+        }
+        total = otro.total;
+    }
+    
+    // Número del evento más viejo que todavía está en el anillo
+    public long primero() {
+        return Math.max(0, total - CAPACIDAD);
+    }
+    
+    // Cantidad de eventos anotados desde el principio (el número del próximo)
+    public long getTotal() {
+        return total;
+    }
+    
+    public static int indice(long numero) {
+        return (int) (numero & MASCARA);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package arkanoid;
+
+import java.awt.Graphics;
+import java.awt.GraphicsConfiguration;
+
+// Forma de dibujar un frame: Escena (llamadas de Java2D) o EscenaRaster (int[] propio).
+// Se elige al arrancar con -Darkanoid.render=java2d|raster
+public interface Renderizador {
+    // alfa entre 0 y 1: posición de la paleta y la pelota entre el tick anterior y el actual
+    void draw(Graphics g, Instantanea estado, double alfa);
+    
+    default void draw(Graphics g, Instantanea estado) {
+        draw(g, estado, 1.0);
+    }
+    
+    // gc puede ser null para dibujar en una BufferedImage
+    static Renderizador crear(String nombre, GraphicsConfiguration gc) {
+        switch (nombre) {
+            case "java2d": return new Escena(gc);
+            case "raster": return new EscenaRaster();
+            default: throw new IllegalArgumentException("Renderizador desconocido: " + nombre);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+package arkanoid;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+// Lee una grabación de Grabador y devuelve la entrada tick por tick
+public class Reproductor implements FuenteEntrada {
+    private static final int MAX_TICKS_REBOBINADO = 1 << 16; // cada tick guardado ocupa unos KB
+    
+    private final long semilla;
+    private final int pelotasPorSaque;
+    private final int opciones;
+    private final long huellaNiveles;
+    private final int ticksRebobinado;
+    private final byte[] entradas;
+    private final long[] repeticiones;
+    private final int tramos;
+    
+    private int tramoActual = 0;
+    private long restantes;
+    
+    public Reproductor(String archivo) throws IOException {
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(new FileInputStream(archivo)))) {
+            if (entrada.readInt() != Grabador.MAGIA) {
+                throw new IOException("No es una grabación de Arkanoid: " + archivo);
+            }
+            short version = entrada.readShort();
+            if (version != Grabador.VERSION) {
+                throw new IOException("Versión de grabación no soportada: " + version);
+            }
+            semilla = entrada.readLong();
+            pelotasPorSaque = entrada.readShort();
+            opciones = entrada.readByte();
+            huellaNiveles = entrada.readLong();
+            ticksRebobinado = entrada.readInt();
+            if (ticksRebobinado <= 0 || ticksRebobinado > MAX_TICKS_REBOBINADO) {
+                throw new IOException("Capacidad de rebobinado inválida: " + ticksRebobinado);
+            }
+            
+            byte[] bytes = new byte[64];
+            long[] reps = new long[64];
+            int n = 0;
+            while (true) {
+                int valor = entrada.read();
+                if (valor < 0) {
+                    break;
+                }
+                if (n == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, n * 2);
+                    reps = Arrays.copyOf(reps, n * 2);
+                }
+                bytes[n] = (byte) valor;
+                reps[n] = leerVarint(entrada);
+                n++;
+            }
+            entradas = bytes;
+            repeticiones = reps;
+            tramos = n;
+        }
+        restantes = tramos > 0 ? repeticiones[0] : 0;
+    }
+    
+    private static long leerVarint(DataInputStream entrada) throws IOException {
+        long valor = 0;
+        int desplazamiento = 0;
+        int b;
+        do {
+            b = entrada.read();
+            if (b < 0) {
+                throw new EOFException("Grabación truncada");
+            }
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            desplazamiento += 7;
+        } while ((b & 0x80) != 0);
+        return valor;
+    }
+    
+    public int siguienteTick() {
+        while (restantes == 0) {
+            if (++tramoActual >= tramos) {
+                return FIN;
+            }
+            restantes = repeticiones[tramoActual];
+        }
+        restantes--;
+        return entradas[tramoActual];
+    }
+    
+    public long getSemilla() {
+        return semilla;
+    }
+    
+    public int getPelotasPorSaque() {
+        return pelotasPorSaque;
+    }
+    
+    public int getOpciones() {
+        return opciones;
+    }
+    
+    // Motor nuevo con las mismas opciones, semilla y pelotas que la partida grabada. Los
+    // niveles no van en la grabación: tienen que ser los mismos con que se grabó
+    public Motor nuevoMotor(FuenteNiveles niveles) throws IOException {
+        Motor motor = Motor.crear(semilla, pelotasPorSaque, niveles, opciones);
+        if (motor.getNiveles().huella() != huellaNiveles) {
+            throw new IOException(String.format("La grabación es de otros niveles (huella %016x, se pasaron %016x)",
+                huellaNiveles, motor.getNiveles().huella()));
+        }
+        return motor;
+    }
+    
+    // Anillo del mismo largo que el de la partida grabada: retroceder más allá lo vacía antes
+    public Rebobinado nuevoRebobinado() {
+        return new Rebobinado(ticksRebobinado);
+    }
+    
+    // Reproduce la grabación completa sin límite de velocidad y muestra el checksum final.
+    // Opciones: --niveles <paquete de PaqueteNiveles> (si se grabó con uno)
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Uso: Reproductor <grabacion> [--niveles <paquete>]");
+            System.exit(1);
+        }
+        String archivoNiveles = null;
+        for (int i = 1; i < args.length - 1; i++) {
+            if (args[i].equals("--niveles")) {
+                archivoNiveles = args[++i];
+            }
+        }
+        Reproductor reproductor = new Reproductor(args[0]);
+        FuenteNiveles niveles = archivoNiveles != null ? new PaqueteNiveles(archivoNiveles) : NivelesGenerados.INSTANCIA;
+        Motor motor = reproductor.nuevoMotor(niveles);
+        Rebobinado rebobinado = reproductor.nuevoRebobinado();
+        
+        long inicio = System.nanoTime();
+        long ticks = 0;
+        int entrada;
+        while ((entrada = reproductor.siguienteTick()) != FIN) {
+            rebobinado.paso(motor, entrada);
+            ticks++;
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        
+        System.out.printf("ticks=%d tiempo=%.3fs (%.0f ticks/s)%n", ticks, segundos, ticks / segundos);
+        System.out.printf("nivel=%d vidas=%d puntos=%d checksum=%016x%n",
+            motor.getNivelActual(), motor.getVidas(), motor.getPuntuacion(), motor.checksum());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package arkanoid;
+
+// Marca el ritmo del hilo de dibujo, independiente de los ticks de la simulación.
+// Arranca a la frecuencia del monitor y, si se pierden frames, baja a un divisor de esa
+// frecuencia (144 -> 72 -> 48...) para que cada frame dure lo mismo; cuando sobra tiempo
+// vuelve a subir. Nunca espera a la simulación: si un frame se atrasa, se descarta.
+public class RitmoDibujo {
+    private static final long NS_POR_SEGUNDO = 1_000_000_000L;
+    private static final int FPS_MINIMO = 30;
+    // Frames perdidos por ventana a partir de los cuales se baja la frecuencia (10 %)
+    private static final double TOLERANCIA_PERDIDOS = 0.10;
+    // Para subir, el frame más lento de la ventana tiene que entrar en esta fracción del presupuesto nuevo
+    private static final double MARGEN_SUBIDA = 0.6;
+
+    private final int fpsMonitor;
+    private int divisor = 1;
+    private TemporizadorHibrido temporizador;
+    private long nsPorFrame;
+
+    // Ventana actual: fpsObjetivo frames, alrededor de un segundo
+    private int frames;
+    private int perdidos;
+    private long duracionMaxima;
+
+    public RitmoDibujo(int fpsMonitor) {
+        if (fpsMonitor <= 0) {
+            throw new IllegalArgumentException("fpsMonitor debe ser positivo: " + fpsMonitor);
+        }
+        this.fpsMonitor = fpsMonitor;
+        cambiarFrecuencia();
+    }
+
+    // Espera hasta el próximo frame; si el anterior se atrasó más de un frame, el temporizador
+    // (con un tick como máximo) vuelve a contar desde ahora en vez de recuperar
+    public void esperarSiguienteFrame() {
+        temporizador.esperarSiguienteTick();
+    }
+
+    // Duración del trabajo del frame (dibujo y show); cierra la ventana y ajusta la frecuencia
+    public void registrar(long duracionNs) {
+        duracionMaxima = Math.max(duracionMaxima, duracionNs);
+        if (duracionNs > nsPorFrame) {
+            perdidos++;
+        }
+        if (++frames < getFpsObjetivo()) {
+            return;
+        }
+
+        if (perdidos > frames * TOLERANCIA_PERDIDOS && fpsMonitor / (divisor + 1) >= FPS_MINIMO) {
+            divisor++;
+            cambiarFrecuencia();
+        } else if (divisor > 1 && duracionMaxima < NS_POR_SEGUNDO / (fpsMonitor / (divisor - 1)) * MARGEN_SUBIDA) {
+            divisor--;
+            cambiarFrecuencia();
+        }
+        frames = 0;
+        perdidos = 0;
+        duracionMaxima = 0;
+    }
+
+    private void cambiarFrecuencia() {
+        int fps = getFpsObjetivo();
+        nsPorFrame = NS_POR_SEGUNDO / fps;
+        temporizador = new TemporizadorHibrido(fps, 1);
+        temporizador.iniciar();
+    }
+
+    public int getFpsObjetivo() {
+        return fpsMonitor / divisor;
+    }
+
+    public int getFpsMonitor() {
+        return fpsMonitor;
+    }
+}
\ No newline at end of file
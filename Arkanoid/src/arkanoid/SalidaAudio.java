@@ -0,0 +1,17 @@
+package arkanoid;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// Destino de los bloques que arma el Mezclador: la placa de sonido, un archivo WAV o nada
+public interface SalidaAudio extends Closeable {
+    // datos en FormatoAudio.FORMATO
+    void escribir(byte[] datos, int largo) throws IOException;
+    
+    // true si escribir espera a que haya lugar (la placa marca el ritmo); si no, el
+    // mezclador se tiene que frenar solo para ir a tiempo real
+    boolean marcaElRitmo();
+    
+    // Frames ya escritos que todavía no sonaron, para estimar la latencia
+    int getFramesEnCola();
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package arkanoid;
+
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+// La placa de sonido, con un buffer chico: poca latencia a cambio de que el mezclador
+// no se pueda atrasar (corre en su propio hilo con prioridad alta)
+public class SalidaLinea implements SalidaAudio {
+    private final SourceDataLine linea;
+    
+    public SalidaLinea(int framesBuffer) throws LineUnavailableException {
+        linea = AudioSystem.getSourceDataLine(FormatoAudio.FORMATO);
+        linea.open(FormatoAudio.FORMATO, framesBuffer * FormatoAudio.BYTES_POR_FRAME);
+        linea.start();
+    }
+    
+    public void escribir(byte[] datos, int largo) {
+        linea.write(datos, 0, largo);
+    }
+    
+    public boolean marcaElRitmo() {
+        return true;
+    }
+    
+    public int getFramesEnCola() {
+        return (linea.getBufferSize() - linea.available()) / FormatoAudio.BYTES_POR_FRAME;
+    }
+    
+    public void close() {
+        linea.stop();
+        linea.close();
+    }
+}
\ No newline at end of file
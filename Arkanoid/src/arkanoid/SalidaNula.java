@@ -0,0 +1,25 @@
+package arkanoid;
+
+// Descarta el audio; para medir el mezclador en máquinas sin placa de sonido
+public class SalidaNula implements SalidaAudio {
+    private long bytes;
+    
+    public void escribir(byte[] datos, int largo) {
+        bytes += largo;
+    }
+    
+    public boolean marcaElRitmo() {
+        return false;
+    }
+    
+    public int getFramesEnCola() {
+        return 0;
+    }
+    
+    public long getFrames() {
+        return bytes / FormatoAudio.BYTES_POR_FRAME;
+    }
+    
+    public void close() {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package arkanoid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+// Guarda el audio mezclado en un WAV (PCM 16 bits). Los tamaños de la cabecera se
+// completan al cerrar.
+public class SalidaWav implements SalidaAudio {
+    private static final int CABECERA = 44;
+    
+    private final FileChannel canal;
+    private long bytesDatos;
+    
+    public SalidaWav(String archivo) throws IOException {
+        canal = FileChannel.open(Paths.get(archivo), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                 StandardOpenOption.TRUNCATE_EXISTING);
+        escribirCabecera();
+        canal.position(CABECERA);
+    }
+    
+    public void escribir(byte[] datos, int largo) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(datos, 0, largo);
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        bytesDatos += largo;
+    }
+    
+    public boolean marcaElRitmo() {
+        return false;
+    }
+    
+    public int getFramesEnCola() {
+        return 0;
+    }
+    
+    private void escribirCabecera() throws IOException {
+        ByteBuffer c = ByteBuffer.allocate(CABECERA).order(ByteOrder.LITTLE_ENDIAN);
+        c.putInt(0x46464952);                        // "RIFF"
+        c.putInt((int) (36 + bytesDatos));
+        c.putInt(0x45564157);                        // "WAVE"
+        c.putInt(0x20746D66);                        // "fmt "
+        c.putInt(16);
+        c.putShort((short) 1);                       // PCM
+        c.putShort((short) FormatoAudio.CANALES);
+        c.putInt(FormatoAudio.FRECUENCIA);
+        c.putInt(FormatoAudio.FRECUENCIA * FormatoAudio.BYTES_POR_FRAME);
+        c.putShort((short) FormatoAudio.BYTES_POR_FRAME);
+        c.putShort((short) 16);
+        c.putInt(0x61746164);                        // "data"
+        c.putInt((int) bytesDatos);
+        c.flip();
+        canal.write(c, 0);
+    }
+    
+    public void close() throws IOException {
+        if (!canal.isOpen()) {
+            return;
+        }
+        escribirCabecera();
+        canal.close();
+    }
+}
\ No newline at end of file
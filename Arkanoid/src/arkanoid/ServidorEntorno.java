@@ -0,0 +1,180 @@
+package arkanoid;
+
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+// Sirve un EntornoLote por la entrada y salida estándar o por un socket Unix, con un
+// protocolo binario little-endian pensado para leerse directo con numpy.frombuffer.
+// Al conectarse el servidor manda un saludo: "ARKG" (int), versión (short), partidas (int),
+// bytes del mapa de bloques por partida (int) y tamaño de cada respuesta (int).
+// Pedidos, un byte de operación y sus datos:
+//   REINICIAR  semilla (long)                     -> respuesta
+//   PASO       una acción (byte) por partida      -> respuesta
+//   CERRAR                                        -> corta la conexión
+// La respuesta es el buffer de EntornoLote tal cual; no se copia ni se arma nada por paso.
+//   java -cp target/classes arkanoid.ServidorEntorno --partidas 256 --socket /tmp/arkanoid.sock
+public class ServidorEntorno {
+    static final int MAGIA = 0x41524B47; // "ARKG"
+    static final short VERSION = 1;
+    static final int TAMANO_SALUDO = 4 + 2 + 4 + 4 + 4;
+
+    static final byte REINICIAR = 1;
+    static final byte PASO = 2;
+    static final byte CERRAR = 3;
+
+    private final EntornoLote entorno;
+    private final ByteBuffer operacion = ByteBuffer.allocateDirect(1);
+    private final ByteBuffer semilla = ByteBuffer.allocateDirect(8).order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer acciones;
+    private final ByteBuffer saludo = ByteBuffer.allocateDirect(TAMANO_SALUDO).order(ByteOrder.LITTLE_ENDIAN);
+
+    public ServidorEntorno(EntornoLote entorno) {
+        this.entorno = entorno;
+        acciones = ByteBuffer.allocateDirect(entorno.size());
+    }
+
+    // Atiende una conexión hasta que el cliente pide CERRAR o corta
+    public void atender(ReadableByteChannel entrada, WritableByteChannel salida) throws IOException {
+        saludo.clear();
+        saludo.putInt(MAGIA).putShort(VERSION).putInt(entorno.size())
+              .putInt(entorno.getBytesMapa()).putInt(entorno.getTamanoSalida());
+        escribir(salida, saludo.flip());
+
+        while (leer(entrada, operacion.clear())) {
+            switch (operacion.get(0)) {
+                case REINICIAR:
+                    if (!leer(entrada, semilla.clear())) {
+                        return;
+                    }
+                    escribir(salida, entorno.reiniciar(semilla.getLong(0)));
+                    break;
+                case PASO:
+                    if (!leer(entrada, acciones.clear())) {
+                        return;
+                    }
+                    escribir(salida, entorno.paso(acciones.flip()));
+                    break;
+                case CERRAR:
+                    return;
+                default:
+                    throw new IOException("Operación desconocida: " + operacion.get(0));
+            }
+        }
+    }
+
+    // Llena el buffer; false si la conexión se cerró antes de empezar
+    private static boolean leer(ReadableByteChannel canal, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (canal.read(buffer) < 0) {
+                if (buffer.position() == 0) {
+                    return false;
+                }
+                throw new IOException("Pedido truncado");
+            }
+        }
+        return true;
+    }
+
+    private static void escribir(WritableByteChannel canal, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+    }
+
+    // Un cliente por vez; al irse uno se espera al siguiente con el mismo entorno
+    public void servirSocket(Path ruta) throws IOException {
+        Files.deleteIfExists(ruta);
+        try (ServerSocketChannel canal = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            canal.bind(UnixDomainSocketAddress.of(ruta));
+            System.err.println("Esperando clientes en " + ruta);
+            while (true) {
+                try (SocketChannel cliente = canal.accept()) {
+                    atender(cliente, cliente);
+                } catch (IOException e) {
+                    e.printStackTrace(); // el cliente se fue a mitad de un pedido
+                }
+            }
+        } finally {
+            Files.deleteIfExists(ruta);
+        }
+    }
+
+    // Con la salida estándar como canal de datos, todo lo demás va a System.err
+    public void servirStdio() throws IOException {
+        try (ReadableByteChannel entrada = new FileInputStream(FileDescriptor.in).getChannel();
+             WritableByteChannel salida = new FileOutputStream(FileDescriptor.out).getChannel()) {
+            atender(entrada, salida);
+        }
+    }
+
+    // Opciones: --partidas <n>, --limite <ticks por partida>, --socket <ruta> (si no, stdio),
+    // --vectorial (con la Vector API), --medir <pasos> (solo mide el entorno, sin protocolo)
+    public static void main(String[] args) throws IOException {
+        int partidas = 256;
+        int limite = Game.TICKS_POR_SEGUNDO * 60 * 5;
+        String socket = null;
+        boolean vectorial = false;
+        int medir = 0;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--partidas": partidas = Integer.parseInt(args[++i]); break;
+                case "--limite": limite = Integer.parseInt(args[++i]); break;
+                case "--socket": socket = args[++i]; break;
+                case "--vectorial": vectorial = true; break;
+                case "--medir": medir = Integer.parseInt(args[++i]); break;
+                default:
+            }
+        }
+
+        EntornoLote entorno = new EntornoLote(partidas, limite, vectorial);
+        if (medir > 0) {
+            medir(entorno, medir);
+        } else if (socket != null) {
+            new ServidorEntorno(entorno).servirSocket(Path.of(socket));
+        } else {
+            new ServidorEntorno(entorno).servirStdio();
+        }
+    }
+
+    // Pasos con un jugador que sigue la pelota, leído de la misma observación que recibe un bot
+    private static void medir(EntornoLote entorno, int pasos) {
+        int partidas = entorno.size();
+        ByteBuffer acciones = ByteBuffer.allocateDirect(partidas);
+        ByteBuffer observacion = entorno.reiniciar(0);
+        double puntos = 0;
+        long terminadas = 0;
+        long inicio = System.nanoTime();
+        for (int paso = 0; paso < pasos; paso++) {
+            for (int g = 0; g < partidas; g++) {
+                int o = g * EntornoLote.VALORES_OBSERVACION * 4;
+                acciones.put(g, (byte) MotorLote.seguir((int) observacion.getFloat(o),
+                    observacion.getFloat(o + 4), g, paso));
+            }
+            observacion = entorno.paso(acciones);
+            int inicioRecompensa = partidas * EntornoLote.VALORES_OBSERVACION * 4;
+            for (int g = 0; g < partidas; g++) {
+                puntos += observacion.getFloat(inicioRecompensa + g * 4);
+                if (observacion.get(inicioRecompensa + partidas * 4 + g) != EntornoLote.SIGUE) {
+                    terminadas++;
+                }
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        System.out.printf(Locale.ROOT, "%d partidas x %d pasos (%s) en %.2fs: %.0f pasos/s, %d terminadas, %.0f puntos%n",
+            partidas, pasos, entorno.isVectorial() ? "vectorial" : "escalar", segundos,
+            (double) partidas * pasos / segundos, terminadas, puntos);
+    }
+}
\ No newline at end of file
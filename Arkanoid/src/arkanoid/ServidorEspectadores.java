@@ -0,0 +1,311 @@
+package arkanoid;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+
+// Transmite la partida por TCP a cualquier cantidad de espectadores (Espectador).
+// La simulación solo copia el estado a un TripleBuffer y despierta al hilo del servidor;
+// todo lo demás pasa en ese hilo, con un único Selector. Cada espectador confirma los
+// ticks que recibe y el envío siguiente va como delta contra el último confirmado. Los
+// espectadores con la misma base comparten la misma codificación, que se arma una sola
+// vez por tick. Uno que no da abasto se saltea ticks en vez de frenar a los demás.
+// Mensajes: largo (int) y un EstadoRed codificado; de vuelta, ticks confirmados (long).
+public class ServidorEspectadores implements Runnable, Closeable {
+    // Ticks que se recuerdan para usar de base; más atrás se manda todo completo
+    static final int HISTORIAL = 64;
+    private static final int MAX_CODIFICACIONES = 8;
+    
+    private final ServerSocketChannel canal;
+    private final Selector selector;
+    private final TripleBuffer<EstadoRed> estados = new TripleBuffer<>(EstadoRed::new);
+    private final EstadoRed[] historial = new EstadoRed[HISTORIAL];
+    private final List<Cliente> clientes = new ArrayList<>();
+    
+    // Codificaciones del tick actual, una por base distinta
+    private final long[] basesCodificadas = new long[MAX_CODIFICACIONES];
+    private final ByteBuffer[] codificadas = new ByteBuffer[MAX_CODIFICACIONES];
+    private int cantidadCodificadas;
+    
+    private volatile boolean activo = true;
+    private final Thread hilo;
+    
+    // Estadísticas; solo las escribe el hilo del servidor
+    private volatile long mensajes, bytes, completos, salteados;
+    
+    private static final class Cliente {
+        final SocketChannel canal;
+        final ByteBuffer confirmaciones = ByteBuffer.allocate(256);
+        ByteBuffer pendiente = ByteBuffer.allocate(4096); // lo que no entró en el socket
+        long confirmado = -1;
+        long enviado = -1;
+        
+        Cliente(SocketChannel canal) {
+            this.canal = canal;
+            pendiente.flip();
+        }
+    }
+    
+    public ServidorEspectadores(int puerto) throws IOException {
+        for (int i = 0; i < HISTORIAL; i++) {
+            historial[i] = new EstadoRed();
+        }
+        for (int i = 0; i < MAX_CODIFICACIONES; i++) {
+            codificadas[i] = ByteBuffer.allocate(4096);
+        }
+        selector = Selector.open();
+        canal = ServerSocketChannel.open();
+        canal.bind(new InetSocketAddress(puerto));
+        canal.configureBlocking(false);
+        canal.register(selector, SelectionKey.OP_ACCEPT);
+        hilo = new Thread(this, "arkanoid-espectadores");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+    
+    // Hilo de simulación: una copia y un wakeup, nada de red
+    public void publicar(Motor motor, long tick) {
+        estados.paraEscribir().capturar(motor, tick);
+        estados.publicar();
+        selector.wakeup();
+    }
+    
+    public void run() {
+        try {
+            while (activo) {
+                selector.select();
+                Iterator<SelectionKey> claves = selector.selectedKeys().iterator();
+                while (claves.hasNext()) {
+                    SelectionKey clave = claves.next();
+                    claves.remove();
+                    atender(clave);
+                }
+                if (estados.actualizar()) {
+                    EstadoRed estado = estados.paraLeer();
+                    historial[indice(estado.tick)].copiarDe(estado);
+                    difundir(estado.tick);
+                }
+            }
+        } catch (IOException e) {
+            if (activo) {
+                e.printStackTrace();
+            }
+        }
+    }
+    
+    private void atender(SelectionKey clave) throws IOException {
+        if (!clave.isValid()) {
+            return;
+        }
+        if (clave.isAcceptable()) {
+            SocketChannel nuevo = canal.accept();
+            if (nuevo == null) {
+                return;
+            }
+            nuevo.configureBlocking(false);
+            nuevo.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Cliente cliente = new Cliente(nuevo);
+            nuevo.register(selector, SelectionKey.OP_READ, cliente);
+            clientes.add(cliente);
+            return;
+        }
+        Cliente cliente = (Cliente) clave.attachment();
+        try {
+            if (clave.isReadable()) {
+                leerConfirmaciones(cliente);
+            }
+            if (clave.isValid() && clave.isWritable()) {
+                vaciarPendiente(cliente);
+            }
+        } catch (IOException e) {
+            desconectar(cliente); // el espectador se fue: no es un error del servidor
+        }
+    }
+    
+    private void leerConfirmaciones(Cliente cliente) throws IOException {
+        ByteBuffer buffer = cliente.confirmaciones;
+        if (cliente.canal.read(buffer) < 0) {
+            desconectar(cliente);
+            return;
+        }
+        buffer.flip();
+        while (buffer.remaining() >= 8) {
+            cliente.confirmado = Math.max(cliente.confirmado, buffer.getLong());
+        }
+        buffer.compact();
+    }
+    
+    // Un mensaje por espectador con el estado del tick, contra su última base confirmada
+    private void difundir(long tick) {
+        EstadoRed actual = historial[indice(tick)];
+        cantidadCodificadas = 0;
+        for (int i = clientes.size() - 1; i >= 0; i--) {
+            Cliente cliente = clientes.get(i);
+            if (cliente.enviado >= tick) {
+                continue;
+            }
+            try {
+                if (cliente.pendiente.hasRemaining() && !vaciarPendiente(cliente)) {
+                    salteados++;
+                    continue;
+                }
+                long base = baseValida(cliente.confirmado, tick) ? cliente.confirmado : -1;
+                ByteBuffer mensaje = codificacion(actual, base).duplicate();
+                cliente.canal.write(mensaje);
+                if (mensaje.hasRemaining()) {
+                    guardarPendiente(cliente, mensaje);
+                }
+                cliente.enviado = tick;
+                mensajes++;
+                bytes += mensaje.limit();
+            } catch (IOException e) {
+                desconectar(cliente);
+            }
+        }
+    }
+    
+    private boolean baseValida(long base, long tick) {
+        return base >= 0 && tick - base < HISTORIAL && historial[indice(base)].tick == base;
+    }
+    
+    // La misma base da los mismos bytes: se codifica una vez por tick y se comparte
+    private ByteBuffer codificacion(EstadoRed actual, long base) {
+        for (int i = 0; i < cantidadCodificadas; i++) {
+            if (basesCodificadas[i] == base) {
+                return codificadas[i];
+            }
+        }
+        int i = cantidadCodificadas < MAX_CODIFICACIONES ? cantidadCodificadas++ : MAX_CODIFICACIONES - 1;
+        int tamano = 4 + actual.tamanoMaximo();
+        if (codificadas[i].capacity() < tamano) {
+            codificadas[i] = ByteBuffer.allocate(Math.max(tamano, codificadas[i].capacity() * 2));
+        }
+        ByteBuffer buffer = codificadas[i];
+        buffer.clear();
+        buffer.putInt(0);
+        actual.codificar(base >= 0 ? historial[indice(base)] : null, buffer);
+        buffer.putInt(0, buffer.position() - 4);
+        buffer.flip();
+        basesCodificadas[i] = base;
+        if (base < 0) {
+            completos++;
+        }
+        return buffer;
+    }
+    
+    // El buffer compartido se pisa en el próximo tick: lo que falta se copia
+    private void guardarPendiente(Cliente cliente, ByteBuffer resto) {
+        if (cliente.pendiente.capacity() < resto.remaining()) {
+            cliente.pendiente = ByteBuffer.allocate(resto.remaining());
+        }
+        cliente.pendiente.clear();
+        cliente.pendiente.put(resto);
+        cliente.pendiente.flip();
+        cliente.canal.keyFor(selector).interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+    }
+    
+    // true si ya no queda nada pendiente
+    private boolean vaciarPendiente(Cliente cliente) throws IOException {
+        cliente.canal.write(cliente.pendiente);
+        if (cliente.pendiente.hasRemaining()) {
+            return false;
+        }
+        cliente.canal.keyFor(selector).interestOps(SelectionKey.OP_READ);
+        return true;
+    }
+    
+    private void desconectar(Cliente cliente) {
+        clientes.remove(cliente);
+        try {
+            cliente.canal.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+    
+    private static int indice(long tick) {
+        return (int) Math.floorMod(tick, (long) HISTORIAL);
+    }
+    
+    public int getClientes() { return clientes.size(); }
+    public long getMensajes() { return mensajes; }
+    public long getBytes() { return bytes; }
+    public long getCompletos() { return completos; }
+    public long getSalteados() { return salteados; }
+    
+    public void close() throws IOException {
+        activo = false;
+        selector.wakeup();
+        try {
+            hilo.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Cliente cliente : clientes) {
+            cliente.canal.close();
+        }
+        canal.close();
+        selector.close();
+    }
+    
+    // Partida sin ventana con la política seguidora a TICKS_POR_SEGUNDO, para probar con
+    // muchos espectadores; cada 5 s informa cuánto le cuesta cada tick a la simulación.
+    // Opciones: --puerto <n>, --segundos <n>, --semilla <n>, --pelotas <n>
+    public static void main(String[] args) throws IOException {
+        int puerto = 7777;
+        double segundos = 60;
+        long semilla = 1;
+        int pelotas = 1;
+        for (int i = 0; i < args.length - 1; i++) {
+            switch (args[i]) {
+                case "--puerto": puerto = Integer.parseInt(args[++i]); break;
+                case "--segundos": segundos = Double.parseDouble(args[++i]); break;
+                case "--semilla": semilla = Long.parseLong(args[++i]); break;
+                case "--pelotas": pelotas = Integer.parseInt(args[++i]); break;
+                default:
+            }
+        }
+        
+        ServidorEspectadores servidor = new ServidorEspectadores(puerto);
+        Temporizador temporizador = new TemporizadorHibrido(Game.TICKS_POR_SEGUNDO, 1);
+        Motor motor = new Motor(semilla, pelotas);
+        Politica jugador = SimuladorLotes.crearPolitica("seguidora", semilla);
+        Histograma costo = new Histograma();
+        long tick = 0;
+        long ticksTotales = (long) (segundos * Game.TICKS_POR_SEGUNDO);
+        temporizador.iniciar();
+        while (tick < ticksTotales) {
+            temporizador.esperarSiguienteTick();
+            long inicio = System.nanoTime();
+            if (!motor.isEnJuego()) {
+                motor.reiniciar();
+                motor.iniciar();
+            }
+            motor.paso(jugador.decidir(motor));
+            servidor.publicar(motor, tick);
+            costo.registrar(System.nanoTime() - inicio);
+            tick++;
+            
+            if (tick % (5 * Game.TICKS_POR_SEGUNDO) == 0) {
+                System.out.printf(Locale.ROOT,
+                    "tick %d: %d espectadores, %d mensajes (%d completos, %d salteados), %.1f bytes/mensaje, "
+                    + "tick p50 %.1f us, p99 %.1f us, máximo %.1f us%n",
+                    tick, servidor.getClientes(), servidor.getMensajes(), servidor.getCompletos(),
+                    servidor.getSalteados(), servidor.getBytes() / (double) Math.max(1, servidor.getMensajes()),
+                    costo.percentil(0.50) / 1e3, costo.percentil(0.99) / 1e3, costo.getMaximo() / 1e3);
+                costo.limpiar();
+            }
+        }
+        servidor.close();
+    }
+}
\ No newline at end of file
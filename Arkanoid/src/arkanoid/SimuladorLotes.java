@@ -0,0 +1,238 @@
+package arkanoid;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Juega miles de partidas completas sin ventana, repartidas entre todos los núcleos con
+// un ForkJoinPool, y resume por nivel el tiempo para superarlo, las vidas perdidas y los
+// puntos. Cada partida usa la semilla base + su número, así el resultado es el mismo sin
+// importar cuántos hilos se usen.
+//   java -cp target/classes arkanoid.SimuladorLotes --partidas 10000 --politica seguidora
+public class SimuladorLotes {
+    private static final int MAX_TICKS_POR_PARTIDA = Game.TICKS_POR_SEGUNDO * 60 * 20; // 20 minutos de juego
+    private static final double REACCION_SEGUIDORA = 0.25;
+
+    // Lo que pasó en cada nivel de una partida; el índice es el número de nivel
+    public static final class ResultadoPartida {
+        public final int[] ticksNivel = new int[Motor.NIVEL_MAXIMO + 1]; // -1 si no lo superó
+        public final int[] vidasPerdidas = new int[Motor.NIVEL_MAXIMO + 1];
+        public final int[] puntos = new int[Motor.NIVEL_MAXIMO + 1];
+        public int nivelAlcanzado;
+        public boolean gano;
+        public boolean agotoTiempo;
+        public long ticks;
+    }
+
+    private final int partidas;
+    private final long semillaBase;
+    private final String politica;
+    private final int pelotas;
+
+    public SimuladorLotes(int partidas, long semillaBase, String politica, int pelotas) {
+        this.partidas = partidas;
+        this.semillaBase = semillaBase;
+        this.politica = politica;
+        this.pelotas = pelotas;
+        crearPolitica(politica, 0); // Falla acá y no en medio del lote si el nombre no existe
+    }
+
+    public ResultadoPartida[] ejecutar(int hilos) {
+        ResultadoPartida[] resultados = new ResultadoPartida[partidas];
+        ForkJoinPool pool = new ForkJoinPool(hilos);
+        try {
+            pool.invoke(new Tarea(resultados, 0, partidas));
+        } finally {
+            pool.shutdown();
+        }
+        return resultados;
+    }
+
+    // Divide el rango de partidas a la mitad hasta que queda un bloque chico
+    private final class Tarea extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int UMBRAL = 8;
+
+        private final ResultadoPartida[] resultados;
+        private final int desde;
+        private final int hasta;
+
+        Tarea(ResultadoPartida[] resultados, int desde, int hasta) {
+            this.resultados = resultados;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= UMBRAL) {
+                for (int i = desde; i < hasta; i++) {
+                    resultados[i] = jugar(semillaBase + i);
+                }
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new Tarea(resultados, desde, medio), new Tarea(resultados, medio, hasta));
+        }
+    }
+
+    public ResultadoPartida jugar(long semilla) {
+        Motor motor = new Motor(semilla, pelotas);
+        Politica jugador = crearPolitica(politica, ~semilla);
+        ResultadoPartida resultado = new ResultadoPartida();
+        Arrays.fill(resultado.ticksNivel, -1);
+
+        int nivel = 1;
+        long inicioNivel = 0;
+        int vidasInicioNivel = motor.getVidas();
+        int puntosInicioNivel = 0;
+        long tick = 0;
+        while (tick < MAX_TICKS_POR_PARTIDA) {
+            int entrada = jugador.decidir(motor);
+            motor.paso(tick == 0 ? entrada | Entrada.INICIAR : entrada);
+            tick++;
+
+            if (motor.getNivelActual() > nivel) {
+                resultado.ticksNivel[nivel] = (int) (tick - inicioNivel);
+                resultado.vidasPerdidas[nivel] = vidasInicioNivel - motor.getVidas();
+                resultado.puntos[nivel] = motor.getPuntuacion() - puntosInicioNivel;
+                nivel++;
+                inicioNivel = tick;
+                vidasInicioNivel = motor.getVidas();
+                puntosInicioNivel = motor.getPuntuacion();
+            }
+            if (!motor.isEnJuego()) {
+                break;
+            }
+        }
+
+        resultado.gano = nivel > Motor.NIVEL_MAXIMO;
+        resultado.agotoTiempo = motor.isEnJuego();
+        resultado.nivelAlcanzado = Math.min(nivel, Motor.NIVEL_MAXIMO);
+        if (!resultado.gano) {
+            // El nivel en el que terminó la partida cuenta aunque no se haya superado
+            resultado.vidasPerdidas[nivel] = vidasInicioNivel - motor.getVidas();
+            resultado.puntos[nivel] = motor.getPuntuacion() - puntosInicioNivel;
+        }
+        resultado.ticks = tick;
+        return resultado;
+    }
+
+    public static Politica crearPolitica(String nombre, long semilla) {
+        switch (nombre) {
+            case "seguidora": return new PoliticaSeguidora(semilla, REACCION_SEGUIDORA);
+            case "aleatoria": return new PoliticaAleatoria(semilla);
+            default: throw new IllegalArgumentException("Política desconocida: " + nombre);
+        }
+    }
+
+    // Una línea por nivel: nivel,llegaron,superaron,tiempo p50/p90/p99 (s),vidas media/p90,puntos p50/p90
+    public static String[] resumirPorNivel(ResultadoPartida[] resultados) {
+        String[] lineas = new String[Motor.NIVEL_MAXIMO];
+        for (int nivel = 1; nivel <= Motor.NIVEL_MAXIMO; nivel++) {
+            int[] tiempos = new int[resultados.length];
+            int[] vidas = new int[resultados.length];
+            int[] puntos = new int[resultados.length];
+            int llegaron = 0;
+            int superaron = 0;
+            long sumaVidas = 0;
+            for (ResultadoPartida r : resultados) {
+                if (r.nivelAlcanzado < nivel) {
+                    continue;
+                }
+                vidas[llegaron] = r.vidasPerdidas[nivel];
+                puntos[llegaron] = r.puntos[nivel];
+                sumaVidas += r.vidasPerdidas[nivel];
+                llegaron++;
+                if (r.ticksNivel[nivel] >= 0) {
+                    tiempos[superaron++] = r.ticksNivel[nivel];
+                }
+            }
+            Arrays.sort(tiempos, 0, superaron);
+            Arrays.sort(vidas, 0, llegaron);
+            Arrays.sort(puntos, 0, llegaron);
+
+            double segundosPorTick = 1.0 / Game.TICKS_POR_SEGUNDO;
+            lineas[nivel - 1] = String.format(Locale.ROOT, "%d,%d,%d,%.1f,%.1f,%.1f,%.2f,%d,%d,%d",
+                nivel, llegaron, superaron,
+                percentil(tiempos, superaron, 0.50) * segundosPorTick,
+                percentil(tiempos, superaron, 0.90) * segundosPorTick,
+                percentil(tiempos, superaron, 0.99) * segundosPorTick,
+                llegaron > 0 ? sumaVidas / (double) llegaron : 0,
+                percentil(vidas, llegaron, 0.90),
+                percentil(puntos, llegaron, 0.50),
+                percentil(puntos, llegaron, 0.90));
+        }
+        return lineas;
+    }
+
+    // Sobre los primeros n valores ya ordenados
+    private static int percentil(int[] ordenados, int n, double p) {
+        if (n == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(p * n) - 1;
+        return ordenados[Math.max(0, Math.min(n - 1, indice))];
+    }
+
+    // Opciones: --partidas <n>, --semilla <n>, --politica seguidora|aleatoria,
+    // --pelotas <n>, --hilos <n>, --csv <archivo>
+    public static void main(String[] args) throws IOException {
+        int partidas = 1000;
+        long semilla = 1;
+        String politica = "seguidora";
+        int pelotas = 1;
+        int hilos = Runtime.getRuntime().availableProcessors();
+        String archivoCsv = null;
+        for (int i = 0; i < args.length - 1; i++) {
+            switch (args[i]) {
+                case "--partidas": partidas = Integer.parseInt(args[++i]); break;
+                case "--semilla": semilla = Long.parseLong(args[++i]); break;
+                case "--politica": politica = args[++i]; break;
+                case "--pelotas": pelotas = Integer.parseInt(args[++i]); break;
+                case "--hilos": hilos = Integer.parseInt(args[++i]); break;
+                case "--csv": archivoCsv = args[++i]; break;
+                default:
+            }
+        }
+
+        SimuladorLotes simulador = new SimuladorLotes(partidas, semilla, politica, pelotas);
+        long inicio = System.nanoTime();
+        ResultadoPartida[] resultados = simulador.ejecutar(hilos);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        long ticks = 0;
+        int ganadas = 0;
+        int sinTiempo = 0;
+        for (ResultadoPartida r : resultados) {
+            ticks += r.ticks;
+            ganadas += r.gano ? 1 : 0;
+            sinTiempo += r.agotoTiempo ? 1 : 0;
+        }
+        System.out.printf("%d partidas (%s, %d pelotas) en %.2fs con %d hilos: %.0f ticks/s%n",
+            partidas, politica, pelotas, segundos, hilos, ticks / segundos);
+        System.out.printf("ganadas %d, cortadas por tiempo %d%n", ganadas, sinTiempo);
+
+        String encabezado = "nivel,llegaron,superaron,tiempoP50,tiempoP90,tiempoP99,vidasMedia,vidasP90,puntosP50,puntosP90";
+        String[] lineas = resumirPorNivel(resultados);
+        System.out.println(encabezado);
+        for (String linea : lineas) {
+            System.out.println(linea);
+        }
+
+        if (archivoCsv != null) {
+            try (PrintWriter salida = new PrintWriter(Files.newBufferedWriter(Paths.get(archivoCsv), StandardCharsets.UTF_8))) {
+                salida.println(encabezado);
+                for (String linea : lineas) {
+                    salida.println(linea);
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
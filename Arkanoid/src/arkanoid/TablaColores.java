@@ -0,0 +1,79 @@
+package arkanoid;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+// Colores de daño precalculados. Cada combinación (color base, resistencia máxima)
+// ocupa un grupo de resistenciaMaxima + 1 entradas consecutivas, una por resistencia
+// restante; al golpear un bloque solo cambia el índice dentro del grupo. Con resistencias
+// mayores a TONOS el grupo tiene TONOS + 1 tonos y cada resistencia usa el más cercano por
+// debajo: con 8 bits por canal no se distinguen más.
+public class TablaColores {
+    static final int TONOS = 255;
+    
+    private Color[] colores = new Color[32];
+    private int[] claveRgb = new int[8];
+    private int[] claveMaxima = new int[8];
+    private int[] inicioGrupo = new int[8];
+    private int grupos;
+    private int usados;
+    
+    public void limpiar() {
+        Arrays.fill(colores, 0, usados, null);
+        grupos = 0;
+        usados = 0;
+    }
+    
+    public void copiarDe(TablaColores otra) {
+        if (colores.length < otra.usados) {
+            colores = new Color[otra.colores.length];
+        }
+        System.arraycopy(otra.colores, 0, colores, 0, otra.usados);
+        Arrays.fill(colores, otra.usados, Math.max(usados, otra.usados), null);
+        usados = otra.usados;
+        // Las claves solo hacen falta para registrar; una copia es de solo lectura
+        grupos = 0;
+    }
+    
+    // Devuelve el inicio del grupo para (rgbOriginal, resistenciaMaxima), creándolo si hace falta.
+    // Solo se llama al armar el nivel, así que una búsqueda lineal alcanza.
+    public int registrar(int rgbOriginal, int resistenciaMaxima) {
+        for (int i = 0; i < grupos; i++) {
+            if (claveRgb[i] == rgbOriginal && claveMaxima[i] == resistenciaMaxima) {
+                return inicioGrupo[i];
+            }
+        }
+        
+        if (grupos == claveRgb.length) {
+            claveRgb = Arrays.copyOf(claveRgb, grupos * 2);
+            claveMaxima = Arrays.copyOf(claveMaxima, grupos * 2);
+            inicioGrupo = Arrays.copyOf(inicioGrupo, grupos * 2);
+        }
+        int tamano = Math.min(Math.max(resistenciaMaxima, 0), TONOS) + 1;
+        if (usados + tamano > colores.length) {
+            colores = Arrays.copyOf(colores, Math.max(colores.length * 2, usados + tamano));
+        }
+        
+        int inicio = usados;
+        Color original = new Color(rgbOriginal);
+        for (int tono = 0; tono < tamano; tono++) {
+            int resistencia = resistenciaMaxima <= TONOS ? tono : (int) ((long) tono * resistenciaMaxima / TONOS);
+            colores[inicio + tono] = resistenciaMaxima > 1
+                ? new Color(Bloque.colorDanado(rgbOriginal, resistencia, resistenciaMaxima))
+                : original;
+        }
+        
+        claveRgb[grupos] = rgbOriginal;
+        claveMaxima[grupos] = resistenciaMaxima;
+        inicioGrupo[grupos] = inicio;
+        grupos++;
+        usados += tamano;
+        return inicio;
+    }
+    
+    // resistencia tiene que estar entre 0 y resistenciaMaxima
+    public Color get(int inicio, int resistencia, int resistenciaMaxima) {
+        int tono = resistenciaMaxima <= TONOS ? resistencia : (int) ((long) resistencia * TONOS / resistenciaMaxima);
+        return colores[inicio + tono];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package arkanoid;
+
+public interface Temporizador {
+    // Prepara el reloj interno; se llama una vez antes del primer tick
+    void iniciar();
+    
+    // Bloquea hasta el próximo tick y devuelve cuántos ticks hay que simular (>= 1)
+    int esperarSiguienteTick();
+    
+    // Retraso medio (ms) entre el instante programado de cada tick y el real, último segundo
+    double getJitterMs();
+    
+    // Peor retraso (ms) observado en el último segundo
+    double getJitterMaximoMs();
+    
+    // Tiempo de CPU (ms) consumido por el hilo del juego en el último segundo
+    double getCpuMsPorSegundo();
+}
\ No newline at end of file
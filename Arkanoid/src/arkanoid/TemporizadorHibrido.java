@@ -0,0 +1,106 @@
+package arkanoid;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.locks.LockSupport;
+
+public class TemporizadorHibrido implements Temporizador {
+    private static final long NS_POR_SEGUNDO = 1_000_000_000L;
+    // Tramo final que se espera activamente; parkNanos no es tan preciso
+    private static final long MARGEN_SPIN_NS = 500_000L;
+    
+    private final long nsPorTick;
+    private final int maxTicksPorFrame;
+    private long proximoTick;
+    
+    // Métricas de la ventana actual (1 segundo)
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private final boolean medirCpu;
+    private long inicioVentana;
+    private long cpuInicioVentana;
+    private long retrasoAcumulado;
+    private long retrasoMaximo;
+    private int muestras;
+    
+    private volatile double jitterMs;
+    private volatile double jitterMaximoMs;
+    private volatile double cpuMsPorSegundo;
+    
+    public TemporizadorHibrido(int ticksPorSegundo, int maxTicksPorFrame) {
+        if (ticksPorSegundo <= 0) {
+            throw new IllegalArgumentException("ticksPorSegundo debe ser positivo: " + ticksPorSegundo);
+        }
+        this.nsPorTick = NS_POR_SEGUNDO / ticksPorSegundo;
+        this.maxTicksPorFrame = Math.max(1, maxTicksPorFrame);
+        this.medirCpu = threadBean.isCurrentThreadCpuTimeSupported();
+    }
+    
+    public void iniciar() {
+        long ahora = System.nanoTime();
+        proximoTick = ahora + nsPorTick;
+        inicioVentana = ahora;
+        cpuInicioVentana = tiempoCpu();
+        retrasoAcumulado = 0;
+        retrasoMaximo = 0;
+        muestras = 0;
+    }
+    
+    public int esperarSiguienteTick() {
+        long restante = proximoTick - System.nanoTime();
+        
+        // Dormir la mayor parte de la espera sin ocupar el núcleo
+        while (restante > MARGEN_SPIN_NS) {
+            LockSupport.parkNanos(restante - MARGEN_SPIN_NS);
+            restante = proximoTick - System.nanoTime();
+        }
+        
+        // Último fragmento en espera activa para reducir el jitter
+        long ahora = System.nanoTime();
+        while (ahora < proximoTick) {
+            Thread.onSpinWait();
+            ahora = System.nanoTime();
+        }
+        
+        long retraso = ahora - proximoTick;
+        int ticks = (int) Math.min(retraso / nsPorTick + 1, Integer.MAX_VALUE);
+        
+        if (ticks > maxTicksPorFrame) {
+            // Demasiado atrasados: descartar el tiempo perdido en vez de intentar recuperarlo
+            ticks = maxTicksPorFrame;
+            proximoTick = ahora + nsPorTick;
+        } else {
+            proximoTick += ticks * nsPorTick;
+        }
+        
+        registrarMuestra(ahora, retraso);
+        return ticks;
+    }
+    
+    private void registrarMuestra(long ahora, long retraso) {
+        retrasoAcumulado += retraso;
+        retrasoMaximo = Math.max(retrasoMaximo, retraso);
+        muestras++;
+        
+        long transcurrido = ahora - inicioVentana;
+        if (transcurrido >= NS_POR_SEGUNDO) {
+            long cpu = tiempoCpu();
+            jitterMs = retrasoAcumulado / (double) muestras / 1_000_000.0;
+            jitterMaximoMs = retrasoMaximo / 1_000_000.0;
+            cpuMsPorSegundo = (cpu - cpuInicioVentana) / 1_000_000.0 * NS_POR_SEGUNDO / transcurrido;
+            
+            inicioVentana = ahora;
+            cpuInicioVentana = cpu;
+            retrasoAcumulado = 0;
+            retrasoMaximo = 0;
+            muestras = 0;
+        }
+    }
+    
+    private long tiempoCpu() {
+        return medirCpu ? threadBean.getCurrentThreadCpuTime() : 0;
+    }
+    
+    public double getJitterMs() { return jitterMs; }
+    public double getJitterMaximoMs() { return jitterMaximoMs; }
+    public double getCpuMsPorSegundo() { return cpuMsPorSegundo; }
+}
\ No newline at end of file
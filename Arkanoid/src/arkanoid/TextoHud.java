@@ -0,0 +1,32 @@
+package arkanoid;
+
+import java.awt.Graphics;
+
+// Texto del HUD con un valor numérico; el String solo se rearma cuando el valor cambia
+public class TextoHud {
+    private final String prefijo;
+    private final int x, y;
+    private int valor;
+    private String texto;
+    
+    public TextoHud(String prefijo, int x, int y) {
+        this.prefijo = prefijo;
+        this.x = x;
+        this.y = y;
+    }
+    
+    public void draw(Graphics g, int valorActual) {
+        g.drawString(texto(valorActual), x, y);
+    }
+    
+    public String texto(int valorActual) {
+        if (texto == null || valorActual != valor) {
+            valor = valorActual;
+            texto = prefijo + valorActual;
+        }
+        return texto;
+    }
+    
+    public int getX() { return x; }
+    public int getY() { return y; }
+}
\ No newline at end of file
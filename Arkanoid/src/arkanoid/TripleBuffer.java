@@ -0,0 +1,49 @@
+package arkanoid;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Triple buffer sin locks para un escritor y un lector.
+// El escritor llena su slot y lo publica intercambiándolo con el del medio;
+// el lector toma el del medio solo si hay algo nuevo. Ninguno espera al otro.
+public class TripleBuffer<T> {
+    private static final int NUEVO = 4;
+    private static final int INDICE = 3;
+    
+    private final Object[] slots = new Object[3];
+    private int escritura = 0;
+    private final AtomicInteger medio = new AtomicInteger(1);
+    private int lectura = 2;
+    
+    public TripleBuffer(Supplier<T> fabrica) {
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = fabrica.get();
+        }
+    }
+    
+    // Solo el escritor
+    @SuppressWarnings("unchecked")
+    public T paraEscribir() {
+        return (T) slots[escritura];
+    }
+    
+    // Solo el escritor
+    public void publicar() {
+        escritura = medio.getAndSet(escritura | NUEVO) & INDICE;
+    }
+    
+    // Solo el lector: toma la última publicación; false si no había nada nuevo
+    public boolean actualizar() {
+        if ((medio.get() & NUEVO) == 0) {
+            return false;
+        }
+        lectura = medio.getAndSet(lectura) & INDICE;
+        return true;
+    }
+    
+    // Solo el lector
+    @SuppressWarnings("unchecked")
+    public T paraLeer() {
+        return (T) slots[lectura];
+    }
+}
\ No newline at end of file
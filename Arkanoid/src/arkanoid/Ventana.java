@@ -1,13 +1,14 @@
 package arkanoid;
 
+import java.awt.Canvas;
 import javax.swing.JFrame;
 
 public class Ventana {
-    public Ventana(String title, Game game) {
+    public Ventana(String title, Canvas canvas) {
         JFrame frame = new JFrame(title);
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         frame.setResizable(false);
-        frame.add(game);
+        frame.add(canvas);
         frame.pack();
         frame.setLocationRelativeTo(null);
         frame.setVisible(true);